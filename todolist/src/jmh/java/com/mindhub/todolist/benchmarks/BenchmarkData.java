@@ -0,0 +1,53 @@
+package com.mindhub.todolist.benchmarks;
+
+import com.mindhub.todolist.TodolistApplication;
+import com.mindhub.todolist.dtos.TaskEntityDTO;
+import com.mindhub.todolist.models.TaskEntity;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+// Deterministic fixtures shared by the benchmarks, so runs of different builds see the same data
+final class BenchmarkData {
+
+    private static final TaskEntity.TaskStatus[] STATUSES = TaskEntity.TaskStatus.values();
+
+    private BenchmarkData() {
+    }
+
+    static final String JWT_SECRET = Base64.getEncoder().encodeToString(
+            "a-benchmark-secret-that-is-long-enough-for-hs256".getBytes());
+
+    // The whole application on the in-memory database, quiet and on a random port
+    static ConfigurableApplicationContext startApplication() {
+        return new SpringApplicationBuilder(TodolistApplication.class)
+                .properties("server.port=0",
+                            "jwt.secret=" + JWT_SECRET,
+                            "logging.level.root=WARN",
+                            "logging.level.org.springframework.security=WARN",
+                            "logging.level.org.springframework.web=WARN")
+                .run();
+    }
+
+    static TaskEntity task(long id) {
+        TaskEntity task = new TaskEntity("Task " + id, "Description of task number " + id, status(id));
+        ReflectionTestUtils.setField(task, "id", id);
+        return task;
+    }
+
+    static List<TaskEntityDTO> taskDTOs(int count) {
+        List<TaskEntityDTO> tasks = new ArrayList<>(count);
+        for (long id = 1; id <= count; id++) {
+            tasks.add(new TaskEntityDTO(id, "Task " + id, "Description of task number " + id, status(id), id % 5));
+        }
+        return tasks;
+    }
+
+    static TaskEntity.TaskStatus status(long id) {
+        return STATUSES[(int) (id % STATUSES.length)];
+    }
+}
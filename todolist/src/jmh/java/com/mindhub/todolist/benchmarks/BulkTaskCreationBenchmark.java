@@ -0,0 +1,69 @@
+package com.mindhub.todolist.benchmarks;
+
+import com.mindhub.todolist.dtos.BulkTaskResultDTO;
+import com.mindhub.todolist.dtos.NewTaskEntityDTO;
+import com.mindhub.todolist.services.TaskEntityService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Creating the same number of tasks through the bulk path behind POST /api/users/tasks/bulk
+// (chunked transactions, JDBC batch inserts) and through createNewTask once per task, as a client
+// without the bulk endpoint would. Both go through the service proxies and the task change listeners.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BulkTaskCreationBenchmark {
+
+    @Param({"100", "1000"})
+    public int tasks;
+
+    private ConfigurableApplicationContext context;
+    private TaskEntityService taskService;
+    private List<NewTaskEntityDTO> newTasks;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkData.startApplication();
+        taskService = context.getBean(TaskEntityService.class);
+        newTasks = new ArrayList<>(tasks);
+        for (int i = 0; i < tasks; i++) {
+            newTasks.add(new NewTaskEntityDTO("Task " + i, "Description of task number " + i, BenchmarkData.status(i)));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<BulkTaskResultDTO> createNewTasks_Bulk() {
+        return taskService.createNewTasks(newTasks);
+    }
+
+    @Benchmark
+    public void createNewTask_OneByOne(Blackhole blackhole) {
+        for (NewTaskEntityDTO newTask : newTasks) {
+            blackhole.consume(taskService.createNewTask(newTask));
+        }
+    }
+}
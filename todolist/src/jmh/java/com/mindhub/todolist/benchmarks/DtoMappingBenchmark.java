@@ -0,0 +1,56 @@
+package com.mindhub.todolist.benchmarks;
+
+import com.mindhub.todolist.dtos.TaskEntityDTO;
+import com.mindhub.todolist.dtos.UserEntityDTO;
+import com.mindhub.todolist.models.TaskEntity;
+import com.mindhub.todolist.models.UserEntity;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+// Entity to DTO mapping, on detached entities so only the copying is measured
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DtoMappingBenchmark {
+
+    @Param({"0", "10", "100"})
+    public int tasksPerUser;
+
+    private TaskEntity task;
+    private UserEntity user;
+
+    @Setup
+    public void setUp() {
+        task = BenchmarkData.task(1);
+        user = new UserEntity("johndoe", "password", "johndoe@example.com");
+        ReflectionTestUtils.setField(user, "id", 1L);
+        for (int i = 0; i < tasksPerUser; i++) {
+            user.addTask(BenchmarkData.task(i + 1));
+        }
+    }
+
+    @Benchmark
+    public TaskEntityDTO taskEntityDTO() {
+        return new TaskEntityDTO(task);
+    }
+
+    @Benchmark
+    public UserEntityDTO userEntityDTO() {
+        return new UserEntityDTO(user);
+    }
+}
@@ -0,0 +1,96 @@
+package com.mindhub.todolist.benchmarks;
+
+import com.mindhub.todolist.config.JwtUtils;
+import com.mindhub.todolist.config.SecurityUser;
+import com.mindhub.todolist.config.VerifiedTokenCache;
+import com.mindhub.todolist.models.RoleType;
+import com.mindhub.todolist.models.UserEntity;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.crypto.SecretKey;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+// Token issue and check as done on every login and every authenticated request. validateToken is
+// measured with the verified-token cache (the steady state for a client reusing its token) and
+// without it (first request with a token, or a cache that is too small). validateToken_ThreeParses
+// is the check as it was before tokens were verified once: the filter's extractUsername, then
+// validateToken parsing the token twice more, each parse with a newly built parser.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtBenchmark {
+
+    private JwtUtils cachingJwtUtils;
+    private JwtUtils verifyingJwtUtils;
+    private SecretKey secretKey;
+    private SecurityUser user;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        cachingJwtUtils = jwtUtils(new VerifiedTokenCache(10_000));
+        verifyingJwtUtils = jwtUtils(new VerifiedTokenCache(0));
+        secretKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(BenchmarkData.JWT_SECRET));
+
+        UserEntity entity = new UserEntity("johndoe", "password", "johndoe@example.com");
+        entity.setRole(RoleType.USER);
+        ReflectionTestUtils.setField(entity, "id", 42L);
+        user = new SecurityUser(entity);
+        token = cachingJwtUtils.generateToken(user);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return cachingJwtUtils.generateToken(user);
+    }
+
+    @Benchmark
+    public boolean validateToken_Cached() {
+        return cachingJwtUtils.validateToken(token, "johndoe@example.com");
+    }
+
+    @Benchmark
+    public boolean validateToken_Uncached() {
+        return verifyingJwtUtils.validateToken(token, "johndoe@example.com");
+    }
+
+    @Benchmark
+    public boolean validateToken_ThreeParses() {
+        String username = parseClaims(token).getSubject();
+        return parseClaims(token).getSubject().equals(username)
+                && !parseClaims(token).getExpiration().before(new Date());
+    }
+
+    private Claims parseClaims(String token) {
+        return Jwts.parser()
+                .verifyWith(secretKey)
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+    }
+
+    private static JwtUtils jwtUtils(VerifiedTokenCache verifiedTokens) {
+        JwtUtils jwtUtils = new JwtUtils(BenchmarkData.JWT_SECRET, verifiedTokens);
+        ReflectionTestUtils.setField(jwtUtils, "expiration", TimeUnit.HOURS.toMillis(1));
+        ReflectionTestUtils.setField(jwtUtils, "selfContained", true);
+        return jwtUtils;
+    }
+}
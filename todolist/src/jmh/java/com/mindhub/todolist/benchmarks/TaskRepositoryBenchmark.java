@@ -0,0 +1,99 @@
+package com.mindhub.todolist.benchmarks;
+
+import com.mindhub.todolist.models.TaskEntity;
+import com.mindhub.todolist.models.UserEntity;
+import com.mindhub.todolist.repositories.TaskEntityRepository;
+import com.mindhub.todolist.repositories.UserEntityRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// TaskEntityRepository finders against the in-memory H2 database, with the Flyway schema and the
+// application's Hibernate settings (second-level cache included). Each call runs in its own
+// read-only transaction, as it does when a service calls it outside one.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskRepositoryBenchmark {
+
+    private static final int USERS = 10;
+    private static final int CHUNK = 1000;
+
+    @Param({"1000", "10000"})
+    public int tasks;
+
+    private ConfigurableApplicationContext context;
+    private TaskEntityRepository taskRepository;
+    private UserEntity user;
+    private String title;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkData.startApplication();
+        taskRepository = context.getBean(TaskEntityRepository.class);
+        UserEntityRepository userRepository = context.getBean(UserEntityRepository.class);
+        TransactionTemplate transactionTemplate = context.getBean(TransactionTemplate.class);
+
+        List<UserEntity> users = new ArrayList<>();
+        for (int i = 0; i < USERS; i++) {
+            users.add(userRepository.save(new UserEntity("user" + i, "password", "user" + i + "@example.com")));
+        }
+        for (int from = 0; from < tasks; from += CHUNK) {
+            int start = from;
+            transactionTemplate.executeWithoutResult(status -> {
+                List<TaskEntity> chunk = new ArrayList<>(CHUNK);
+                for (int i = start; i < Math.min(start + CHUNK, tasks); i++) {
+                    TaskEntity task = new TaskEntity("Task " + i, "Description of task number " + i, BenchmarkData.status(i));
+                    task.setUserEntity(users.get(i % USERS));
+                    chunk.add(task);
+                }
+                taskRepository.saveAll(chunk);
+            });
+        }
+        user = users.get(USERS / 2);
+        title = "Task " + tasks / 2;
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<TaskEntity> findByStatus() {
+        return taskRepository.findByStatus(TaskEntity.TaskStatus.PENDING);
+    }
+
+    @Benchmark
+    public List<TaskEntity> findByUserEntityAndStatus() {
+        return taskRepository.findByUserEntityAndStatus(user, TaskEntity.TaskStatus.PENDING);
+    }
+
+    @Benchmark
+    public List<TaskEntity> findByTitle() {
+        return taskRepository.findByTitle(title);
+    }
+
+    @Benchmark
+    public Long countByStatus() {
+        return taskRepository.countByStatus(TaskEntity.TaskStatus.PENDING);
+    }
+}
@@ -0,0 +1,67 @@
+package com.mindhub.todolist.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// Latencies of one operation. Response time runs from when the request was due to be sent, so a
+// request held back by a stalled app or a busy generator is charged the wait (the coordinated
+// omission correction). Service time runs from when it was actually sent, the gap between the two
+// is queueing.
+final class EndpointStats {
+
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private final Operation operation;
+    private final Recorder responseTimes = new Recorder(SIGNIFICANT_DIGITS);
+    private final Recorder serviceTimes = new Recorder(SIGNIFICANT_DIGITS);
+    private final LongAdder dropped = new LongAdder();
+    // Status code, or -1 when no response came back at all
+    private final Map<Integer, LongAdder> errors = new ConcurrentHashMap<>();
+
+    EndpointStats(Operation operation) {
+        this.operation = operation;
+    }
+
+    void recordSuccess(long dueNanos, long sentNanos, long doneNanos) {
+        responseTimes.recordValue(doneNanos - dueNanos);
+        serviceTimes.recordValue(doneNanos - sentNanos);
+    }
+
+    // Failed calls are timed too: an error that took 30s to come back still held a client for 30s
+    void recordError(int status, long dueNanos, long sentNanos, long doneNanos) {
+        recordSuccess(dueNanos, sentNanos, doneNanos);
+        errors.computeIfAbsent(status, key -> new LongAdder()).increment();
+    }
+
+    void recordDropped() {
+        dropped.increment();
+    }
+
+    // Drops what was recorded so far, at the end of the warmup
+    void reset() {
+        responseTimes.getIntervalHistogram();
+        serviceTimes.getIntervalHistogram();
+        dropped.reset();
+        errors.clear();
+    }
+
+    Snapshot snapshot() {
+        Map<Integer, Long> errorCounts = new TreeMap<>();
+        errors.forEach((status, count) -> errorCounts.put(status, count.sum()));
+        return new Snapshot(operation, responseTimes.getIntervalHistogram(), serviceTimes.getIntervalHistogram(),
+                            dropped.sum(), errorCounts);
+    }
+
+    record Snapshot(Operation operation, Histogram responseTimes, Histogram serviceTimes, long dropped,
+                    Map<Integer, Long> errors) {
+
+        long errorCount() {
+            return errors.values().stream().mapToLong(Long::longValue).sum();
+        }
+    }
+}
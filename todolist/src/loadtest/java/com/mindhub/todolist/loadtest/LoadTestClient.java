@@ -0,0 +1,134 @@
+package com.mindhub.todolist.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// HTTP calls against the app: setup calls (register, login, seeding) retry while the app sheds
+// them with 429/503, the measured calls are only built here and sent by the runner
+final class LoadTestClient {
+
+    private static final int SETUP_ATTEMPTS = 30;
+
+    private final HttpClient http;
+    private final URI baseUrl;
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    LoadTestClient(HttpClient http, URI baseUrl) {
+        this.http = http;
+        this.baseUrl = baseUrl;
+    }
+
+    void register(String username, String email, String password) throws IOException, InterruptedException {
+        HttpResponse<String> response = sendSetup(post("/api/auth/register", null,
+                Map.of("username", username, "email", email, "password", password)));
+        if (response.statusCode() != 200 && response.statusCode() != 409) {
+            throw new IllegalStateException("Registering " + email + " failed: " + response.statusCode() + " " + response.body());
+        }
+    }
+
+    String login(String email, String password) throws IOException, InterruptedException {
+        HttpResponse<String> response = sendSetup(post("/api/auth/login", null,
+                Map.of("email", email, "password", password)));
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Logging in " + email + " failed: " + response.statusCode() + " " + response.body());
+        }
+        return response.body();
+    }
+
+    List<Long> createTasks(String token, String prefix, int count) throws IOException, InterruptedException {
+        List<Map<String, Object>> tasks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            tasks.add(task(prefix + " " + i, "PENDING"));
+        }
+        HttpResponse<String> response = sendSetup(post("/api/users/tasks/bulk", token, tasks));
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Seeding tasks failed: " + response.statusCode() + " " + response.body());
+        }
+        List<Long> ids = new ArrayList<>(count);
+        for (JsonNode result : mapper.readTree(response.body())) {
+            if (result.hasNonNull("id")) {
+                ids.add(result.get("id").asLong());
+            }
+        }
+        return ids;
+    }
+
+    HttpRequest createTask(String token, long n) {
+        return post("/api/users/tasks", token, task("Load task " + n, "PENDING"));
+    }
+
+    HttpRequest updateTask(String token, long id, long n) {
+        Map<String, Object> task = task("Load task " + n, n % 2 == 0 ? "IN_PROCESS" : "COMPLETED");
+        task.put("id", id);
+        return json(request("/api/users/tasks/" + id, token), task, "PUT");
+    }
+
+    HttpRequest assignTask(String token, long id) {
+        return request("/api/users/" + id + "/assign", token)
+                .PUT(HttpRequest.BodyPublishers.noBody())
+                .build();
+    }
+
+    HttpRequest listTasks(String token) {
+        return request("/api/admin/tasks?size=50", token).GET().build();
+    }
+
+    HttpRequest listUsers(String token) {
+        return request("/api/admin/users?size=50", token).GET().build();
+    }
+
+    private HttpResponse<String> sendSetup(HttpRequest request) throws IOException, InterruptedException {
+        for (int attempt = 1; ; attempt++) {
+            HttpResponse<String> response = http.send(request, HttpResponse.BodyHandlers.ofString());
+            int status = response.statusCode();
+            if ((status != 429 && status != 503) || attempt == SETUP_ATTEMPTS) {
+                return response;
+            }
+            long waitSeconds = response.headers().firstValueAsLong("Retry-After").orElse(1);
+            TimeUnit.SECONDS.sleep(Math.max(1, waitSeconds));
+        }
+    }
+
+    private Map<String, Object> task(String title, String status) {
+        Map<String, Object> task = new LinkedHashMap<>();
+        task.put("title", title);
+        task.put("description", "Created by the load test");
+        task.put("status", status);
+        return task;
+    }
+
+    private HttpRequest post(String path, String token, Object body) {
+        return json(request(path, token), body, "POST");
+    }
+
+    private HttpRequest json(HttpRequest.Builder builder, Object body, String method) {
+        try {
+            return builder.header("Content-Type", "application/json")
+                    .method(method, HttpRequest.BodyPublishers.ofByteArray(mapper.writeValueAsBytes(body)))
+                    .build();
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Can't write request body", e);
+        }
+    }
+
+    private HttpRequest.Builder request(String path, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(baseUrl.resolve(path))
+                .timeout(Duration.ofSeconds(60));
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder;
+    }
+}
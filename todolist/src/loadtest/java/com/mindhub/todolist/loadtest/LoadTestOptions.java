@@ -0,0 +1,91 @@
+package com.mindhub.todolist.loadtest;
+
+import org.springframework.boot.convert.DurationStyle;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+// --name=value arguments of the load test, see usage() for the list
+final class LoadTestOptions {
+
+    private static final String DEFAULT_MIX = "create:30,update:30,assign:10,list-tasks:20,list-users:10";
+
+    final URI baseUrl;
+    final double rate;
+    final Duration duration;
+    final Duration warmup;
+    final int users;
+    final int seedTasks;
+    final Map<Operation, Integer> mix;
+    final String adminEmail;
+    final String adminPassword;
+    final int maxInFlight;
+    final Path histogramDir;
+
+    private LoadTestOptions(Map<String, String> values) {
+        baseUrl = URI.create(values.getOrDefault("base-url", "http://localhost:8080"));
+        rate = Double.parseDouble(values.getOrDefault("rate", "100"));
+        duration = DurationStyle.detectAndParse(values.getOrDefault("duration", "60s"));
+        warmup = DurationStyle.detectAndParse(values.getOrDefault("warmup", "10s"));
+        users = Integer.parseInt(values.getOrDefault("users", "20"));
+        seedTasks = Integer.parseInt(values.getOrDefault("seed-tasks", "50"));
+        mix = parseMix(values.getOrDefault("mix", DEFAULT_MIX));
+        adminEmail = values.get("admin-email");
+        adminPassword = values.get("admin-password");
+        maxInFlight = Integer.parseInt(values.getOrDefault("max-in-flight", "5000"));
+        histogramDir = values.containsKey("histogram-dir") ? Path.of(values.get("histogram-dir")) : null;
+        if (rate <= 0 || users < 1 || seedTasks < 1 || maxInFlight < 1) {
+            throw new IllegalArgumentException("rate, users, seed-tasks and max-in-flight must be positive");
+        }
+    }
+
+    static LoadTestOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            int equals = arg.indexOf('=');
+            if (!arg.startsWith("--") || equals < 0) {
+                throw new IllegalArgumentException("Expected --name=value but got '" + arg + "'\n" + usage());
+            }
+            values.put(arg.substring(2, equals), arg.substring(equals + 1));
+        }
+        return new LoadTestOptions(values);
+    }
+
+    private static Map<Operation, Integer> parseMix(String mix) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Expected operation:weight in --mix but got '" + entry + "'");
+            }
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight > 0) {
+                weights.put(Operation.fromKey(parts[0].trim()), weight);
+            }
+        }
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("--mix needs at least one operation with a positive weight");
+        }
+        return weights;
+    }
+
+    static String usage() {
+        return """
+                Options (all optional):
+                  --base-url=http://localhost:8080   app under test
+                  --rate=100                         requests per second, sent on schedule whatever the response times
+                  --duration=60s                     measured run, after the warmup
+                  --warmup=10s                       load sent but not recorded
+                  --users=20                         users registered and logged in for the run
+                  --seed-tasks=50                    tasks created per user before the run, targets of update and assign
+                  --mix=%s
+                  --admin-email=, --admin-password=  an ADMIN account, needed for list-tasks and list-users
+                  --max-in-flight=5000               requests past this many outstanding are counted as dropped
+                  --histogram-dir=                   writes each endpoint's percentile distribution (ms) there
+                """.formatted(DEFAULT_MIX);
+    }
+}
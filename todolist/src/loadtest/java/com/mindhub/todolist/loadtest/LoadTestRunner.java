@@ -0,0 +1,242 @@
+package com.mindhub.todolist.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model load against a running app: requests go out on a fixed schedule at --rate per second
+ * however long the responses take, each on its own virtual thread, the way independent clients
+ * arrive in production. Users are registered, logged in and given seed tasks before the warmup.
+ * Prints p50/p99/p99.9 response and service times and throughput per endpoint.
+ */
+public final class LoadTestRunner {
+
+    private final LoadTestOptions options;
+    private final HttpClient http;
+    private final LoadTestClient client;
+    private final Map<Operation, EndpointStats> stats = new EnumMap<>(Operation.class);
+    private final Operation[] operations;
+    private final int[] cumulativeWeights;
+
+    private final List<String> tokens = new ArrayList<>();
+    private final List<Long> taskIds = new ArrayList<>();
+    private String adminToken;
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicLong maxScheduleLagNanos = new AtomicLong();
+
+    private LoadTestRunner(LoadTestOptions options) {
+        this.options = options;
+        this.http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        this.client = new LoadTestClient(http, options.baseUrl);
+        this.operations = options.mix.keySet().toArray(new Operation[0]);
+        this.cumulativeWeights = new int[operations.length];
+        int total = 0;
+        for (int i = 0; i < operations.length; i++) {
+            total += options.mix.get(operations[i]);
+            cumulativeWeights[i] = total;
+            stats.put(operations[i], new EndpointStats(operations[i]));
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (List.of(args).contains("--help")) {
+            System.out.println(LoadTestOptions.usage());
+            return;
+        }
+        LoadTestOptions options;
+        try {
+            options = LoadTestOptions.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(LoadTestOptions.usage());
+            System.exit(2);
+            return;
+        }
+        if (options.mix.keySet().stream().anyMatch(Operation::isAdmin) && options.adminEmail == null) {
+            System.err.println("list-tasks and list-users need --admin-email and --admin-password, or a weight of 0 in --mix");
+            System.exit(2);
+            return;
+        }
+        new LoadTestRunner(options).run();
+    }
+
+    private void run() throws Exception {
+        setUp();
+
+        System.out.printf("Sending %.1f req/s for %s (+%s warmup) against %s%n",
+                          options.rate, options.duration, options.warmup, options.baseUrl);
+        long start = System.nanoTime();
+        long measureFrom = start + options.warmup.toNanos();
+        long end = measureFrom + options.duration.toNanos();
+        Semaphore inFlight = new Semaphore(options.maxInFlight);
+        boolean warm = options.warmup.isZero();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long i = 0; ; i++) {
+                // Computed from the start each time, so rounding never makes the schedule drift
+                long due = start + (long) (i * 1_000_000_000L / options.rate);
+                if (due >= end) {
+                    break;
+                }
+                if (!warm && due >= measureFrom) {
+                    stats.values().forEach(EndpointStats::reset);
+                    warm = true;
+                }
+                long wait;
+                while ((wait = due - System.nanoTime()) > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                maxScheduleLagNanos.accumulateAndGet(System.nanoTime() - due, Math::max);
+
+                Operation operation = nextOperation();
+                if (!inFlight.tryAcquire()) {
+                    stats.get(operation).recordDropped();
+                    continue;
+                }
+                executor.execute(() -> {
+                    try {
+                        send(operation, due);
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            }
+            // Closing the executor waits for the requests still in flight
+        }
+        long elapsed = System.nanoTime() - measureFrom;
+        report(elapsed, System.out);
+    }
+
+    private void setUp() throws IOException, InterruptedException {
+        String runId = Long.toString(System.currentTimeMillis(), 36);
+        String password = "load-test-" + runId;
+        System.out.printf("Registering %d users and seeding %d tasks each%n", options.users, options.seedTasks);
+        for (int i = 0; i < options.users; i++) {
+            String email = "load-" + runId + "-" + i + "@example.com";
+            client.register("load-" + runId + "-" + i, email, password);
+            String token = client.login(email, password);
+            tokens.add(token);
+            taskIds.addAll(client.createTasks(token, "Seed " + runId + "-" + i, options.seedTasks));
+        }
+        if (taskIds.isEmpty()) {
+            throw new IllegalStateException("No seed task was created");
+        }
+        if (options.adminEmail != null) {
+            adminToken = client.login(options.adminEmail, options.adminPassword);
+        }
+    }
+
+    private Operation nextOperation() {
+        int pick = ThreadLocalRandom.current().nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (pick < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+        return operations[operations.length - 1];
+    }
+
+    private void send(Operation operation, long due) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String token = tokens.get(random.nextInt(tokens.size()));
+        long taskId = taskIds.get(random.nextInt(taskIds.size()));
+        HttpRequest request = switch (operation) {
+            case CREATE_TASK -> client.createTask(token, sequence.incrementAndGet());
+            case UPDATE_TASK -> client.updateTask(token, taskId, sequence.incrementAndGet());
+            case ASSIGN_TASK -> client.assignTask(token, taskId);
+            case LIST_TASKS -> client.listTasks(adminToken);
+            case LIST_USERS -> client.listUsers(adminToken);
+        };
+        EndpointStats endpoint = stats.get(operation);
+        long sent = System.nanoTime();
+        try {
+            HttpResponse<Void> response = http.send(request, HttpResponse.BodyHandlers.discarding());
+            long done = System.nanoTime();
+            if (response.statusCode() / 100 == 2) {
+                endpoint.recordSuccess(due, sent, done);
+            } else {
+                endpoint.recordError(response.statusCode(), due, sent, done);
+            }
+        } catch (IOException e) {
+            endpoint.recordError(-1, due, sent, System.nanoTime());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void report(long elapsedNanos, PrintStream out) throws IOException {
+        double seconds = elapsedNanos / 1e9;
+        List<EndpointStats.Snapshot> snapshots = stats.values().stream().map(EndpointStats::snapshot).toList();
+        Histogram allResponses = new Histogram(3);
+        Histogram allServices = new Histogram(3);
+        long errors = 0;
+        long dropped = 0;
+
+        out.printf("%nMeasured %.1fs, latencies in ms%n", seconds);
+        out.printf("%-28s %9s %8s %8s %9s | %9s %9s %9s %9s | %9s %9s %9s%n",
+                   "endpoint", "count", "errors", "dropped", "req/s",
+                   "resp p50", "resp p99", "resp p999", "resp max", "svc p50", "svc p99", "svc p999");
+        for (EndpointStats.Snapshot snapshot : snapshots) {
+            printRow(out, snapshot.operation().getEndpoint(), snapshot.responseTimes(), snapshot.serviceTimes(),
+                     snapshot.errorCount(), snapshot.dropped(), seconds);
+            allResponses.add(snapshot.responseTimes());
+            allServices.add(snapshot.serviceTimes());
+            errors += snapshot.errorCount();
+            dropped += snapshot.dropped();
+        }
+        printRow(out, "all", allResponses, allServices, errors, dropped, seconds);
+
+        for (EndpointStats.Snapshot snapshot : snapshots) {
+            if (!snapshot.errors().isEmpty()) {
+                out.printf("%s errors by status (-1 = no response): %s%n", snapshot.operation().getEndpoint(), snapshot.errors());
+            }
+        }
+        double lagMillis = maxScheduleLagNanos.get() / 1e6;
+        if (lagMillis > 10) {
+            out.printf("The generator fell behind its schedule by up to %.1fms, the client machine may be saturated%n", lagMillis);
+        }
+
+        if (options.histogramDir != null) {
+            Files.createDirectories(options.histogramDir);
+            for (EndpointStats.Snapshot snapshot : snapshots) {
+                try (PrintStream file = new PrintStream(Files.newOutputStream(
+                        options.histogramDir.resolve(snapshot.operation().getKey() + ".hgrm")))) {
+                    snapshot.responseTimes().outputPercentileDistribution(file, 1e6);
+                }
+            }
+            out.println("Percentile distributions written to " + options.histogramDir.toAbsolutePath());
+        }
+    }
+
+    private static void printRow(PrintStream out, String name, Histogram responses, Histogram services,
+                                 long errors, long dropped, double seconds) {
+        out.printf("%-28s %9d %8d %8d %9.1f | %9.2f %9.2f %9.2f %9.2f | %9.2f %9.2f %9.2f%n",
+                   name, responses.getTotalCount(), errors, dropped, responses.getTotalCount() / seconds,
+                   millis(responses, 50), millis(responses, 99), millis(responses, 99.9), responses.getMaxValue() / 1e6,
+                   millis(services, 50), millis(services, 99), millis(services, 99.9));
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1e6;
+    }
+}
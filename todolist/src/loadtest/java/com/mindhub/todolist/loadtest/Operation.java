@@ -0,0 +1,39 @@
+package com.mindhub.todolist.loadtest;
+
+// The calls the load test mixes, keyed by the name used in --mix
+enum Operation {
+    CREATE_TASK("create", "POST /api/users/tasks"),
+    UPDATE_TASK("update", "PUT /api/users/tasks/{id}"),
+    ASSIGN_TASK("assign", "PUT /api/users/{id}/assign"),
+    LIST_TASKS("list-tasks", "GET /api/admin/tasks"),
+    LIST_USERS("list-users", "GET /api/admin/users");
+
+    private final String key;
+    private final String endpoint;
+
+    Operation(String key, String endpoint) {
+        this.key = key;
+        this.endpoint = endpoint;
+    }
+
+    String getKey() {
+        return key;
+    }
+
+    String getEndpoint() {
+        return endpoint;
+    }
+
+    boolean isAdmin() {
+        return this == LIST_TASKS || this == LIST_USERS;
+    }
+
+    static Operation fromKey(String key) {
+        for (Operation operation : values()) {
+            if (operation.key.equals(key)) {
+                return operation;
+            }
+        }
+        throw new IllegalArgumentException("Unknown operation '" + key + "' in --mix");
+    }
+}
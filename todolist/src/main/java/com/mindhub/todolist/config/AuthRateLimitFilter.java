@@ -0,0 +1,43 @@
+package com.mindhub.todolist.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+// Per-IP limit in front of /api/auth/**. Rejected requests are answered here, before the body is
+// parsed or anything reaches the hashing pool.
+@Component
+public class AuthRateLimitFilter extends OncePerRequestFilter {
+
+    @Autowired
+    private AuthRateLimiter rateLimiter;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith("/api/auth/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        // The remote address, not X-Forwarded-For: a client could send a new header value on every request
+        long retryAfter = rateLimiter.tryAcquireForIp(request.getRemoteAddr());
+        if (retryAfter > 0) {
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfter));
+            response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+            response.getWriter().write("Too many requests, please retry later");
+            return;
+        }
+        chain.doFilter(request, response);
+    }
+}
@@ -0,0 +1,57 @@
+package com.mindhub.todolist.config;
+
+import com.mindhub.todolist.dtos.RateLimitStatsDTO;
+import com.mindhub.todolist.exceptions.TooManyRequestsException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+// Throttles /api/auth/** per client IP (checked by AuthRateLimitFilter before the body is read)
+// and per email (checked by AuthController before any BCrypt work is queued)
+@Component
+public class AuthRateLimiter {
+
+    private final boolean enabled;
+    private final TokenBucketLimiter byIp;
+    private final TokenBucketLimiter byEmail;
+
+    public AuthRateLimiter(@Value("${todolist.security.rate-limit.enabled:true}") boolean enabled,
+                           @Value("${todolist.security.rate-limit.ip.capacity:20}") int ipCapacity,
+                           @Value("${todolist.security.rate-limit.ip.refill-interval:1s}") Duration ipRefillInterval,
+                           @Value("${todolist.security.rate-limit.email.capacity:5}") int emailCapacity,
+                           @Value("${todolist.security.rate-limit.email.refill-interval:30s}") Duration emailRefillInterval,
+                           @Value("${todolist.security.rate-limit.max-keys:100000}") int maxKeys) {
+        this.enabled = enabled;
+        this.byIp = new TokenBucketLimiter(ipCapacity, ipRefillInterval, maxKeys);
+        this.byEmail = new TokenBucketLimiter(emailCapacity, emailRefillInterval, maxKeys);
+    }
+
+    // 0 when the request may go on, otherwise the seconds to put in Retry-After
+    public long tryAcquireForIp(String ip) {
+        return enabled ? toRetryAfterSeconds(byIp.tryAcquire(ip)) : 0;
+    }
+
+    public void checkEmail(String email) {
+        if (!enabled || email == null) {
+            return;
+        }
+        long retryAfter = toRetryAfterSeconds(byEmail.tryAcquire(email.trim().toLowerCase(Locale.ROOT)));
+        if (retryAfter > 0) {
+            throw new TooManyRequestsException("Too many attempts for this account, please retry later", retryAfter);
+        }
+    }
+
+    public List<RateLimitStatsDTO> getStats() {
+        return List.of(
+                new RateLimitStatsDTO("ip", byIp.getAllowed(), byIp.getRejected(), byIp.trackedKeys()),
+                new RateLimitStatsDTO("email", byEmail.getAllowed(), byEmail.getRejected(), byEmail.trackedKeys()));
+    }
+
+    private static long toRetryAfterSeconds(long waitNanos) {
+        return waitNanos == 0 ? 0 : Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+    }
+}
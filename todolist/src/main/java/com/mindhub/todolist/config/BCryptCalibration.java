@@ -0,0 +1,43 @@
+package com.mindhub.todolist.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+
+// Picks the highest BCrypt cost whose hash still fits the target latency on this machine
+public final class BCryptCalibration {
+
+    private static final Logger log = LoggerFactory.getLogger(BCryptCalibration.class);
+
+    static final int MIN_STRENGTH = 10; // BCryptPasswordEncoder's default, never go below it
+    static final int MAX_STRENGTH = 16;
+    private static final String SAMPLE = "calibration-password";
+
+    private BCryptCalibration() {
+    }
+
+    public static int calibrate(Duration target) {
+        new BCryptPasswordEncoder(4).encode(SAMPLE); // Warm up the JIT before timing
+        int strength = MIN_STRENGTH;
+        long elapsed = time(strength);
+        while (strength < MAX_STRENGTH) {
+            long next = time(strength + 1);
+            if (next > target.toNanos()) {
+                break;
+            }
+            strength++;
+            elapsed = next;
+        }
+        log.info("BCrypt strength calibrated to {} ({} ms per hash, target {} ms)",
+                strength, elapsed / 1_000_000, target.toMillis());
+        return strength;
+    }
+
+    private static long time(int strength) {
+        long start = System.nanoTime();
+        new BCryptPasswordEncoder(strength).encode(SAMPLE);
+        return System.nanoTime() - start;
+    }
+}
@@ -1,33 +1,41 @@
 package com.mindhub.todolist.config;
 
+import com.mindhub.todolist.events.UserChangedEvent;
 import com.mindhub.todolist.models.UserEntity;
 import com.mindhub.todolist.repositories.UserEntityRepository;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.core.authority.AuthorityUtils;
-import org.springframework.security.core.userdetails.User;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
-import java.util.ArrayList;
-
 @Service
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
     @Autowired
     private UserEntityRepository userRepository;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
         UserEntity userEntity = userRepository.findByEmail(username)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found with username: " + username));
-        return new User(userEntity.getEmail(),
-                userEntity.getPassword(),
-                AuthorityUtils.createAuthorityList(
-                userEntity
-                .getRole()
-                .toString()
-        ));
+        return new SecurityUser(userEntity);
+    }
+
+    // Called by the authentication provider after a successful login when the stored hash
+    // uses a lower BCrypt cost than the current encoder
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        UserEntity userEntity = userRepository.findByEmail(user.getUsername())
+                .orElseThrow(() -> new UsernameNotFoundException("User not found with username: " + user.getUsername()));
+        userEntity.setPassword(newPassword);
+        userRepository.save(userEntity);
+        eventPublisher.publishEvent(new UserChangedEvent(userEntity.getId(), userEntity.getEmail()));
+        return new SecurityUser(userEntity);
     }
 }
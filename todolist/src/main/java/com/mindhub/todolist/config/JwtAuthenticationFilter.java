@@ -1,11 +1,20 @@
 package com.mindhub.todolist.config;
 
+import com.mindhub.todolist.models.AuthenticatedUser;
+import com.mindhub.todolist.timing.RequestTiming;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
+import org.springframework.security.web.context.RequestAttributeSecurityContextRepository;
+import org.springframework.security.web.context.SecurityContextRepository;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
@@ -15,6 +24,9 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 
 import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
@@ -25,6 +37,21 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     @Autowired
     private UserDetailsService userDetailsService;
 
+    @Autowired
+    private UserDetailsCache userDetailsCache;
+
+    @Autowired
+    private TokenVersions tokenVersions;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final Map<String, Timer> verificationTimers = new ConcurrentHashMap<>();
+
+    // The authentication is also kept on the request, so the async dispatch that finishes a streamed
+    // export is authorized as the same user without verifying the token again
+    private final SecurityContextRepository securityContextRepository = new RequestAttributeSecurityContextRepository();
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
             throws ServletException, IOException {
@@ -37,27 +64,75 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
 
         String header = request.getHeader("Authorization");
-        String token = null;
-        String username = null;
+        Claims claims = null;
+        long start = System.nanoTime();
+        String outcome = null;
 
         if (header != null && header.startsWith("Bearer ")) {
-            token = header.substring(7);
+            String token = header.substring(7);
             try {
-                username = jwtUtils.extractUsername(token);
+                // Signature and expiration are checked once here, everything below reuses the claims
+                claims = jwtUtils.verify(token);
+            } catch (ExpiredJwtException e) {
+                outcome = "expired";
+                logger.error("Error extracting username from token", e);
             } catch (Exception e) {
+                outcome = "invalid";
                 logger.error("Error extracting username from token", e);
             }
+            RequestTiming.record(RequestTiming.Phase.JWT, System.nanoTime() - start);
         }
 
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-            if (jwtUtils.validateToken(token, userDetails.getUsername())) {
+        if (claims != null && claims.getSubject() != null
+                && SecurityContextHolder.getContext().getAuthentication() == null) {
+            long lookupStart = System.nanoTime();
+            long sqlAtStart = RequestTiming.sqlNanos();
+            AuthenticatedUser principal = resolvePrincipal(claims);
+            RequestTiming.recordSince(RequestTiming.Phase.USER, lookupStart, sqlAtStart);
+            if (principal != null) {
                 UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
-                        userDetails, null, userDetails.getAuthorities());
+                        principal, null, AuthorityUtils.createAuthorityList(principal.role().toString()));
                 authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                 SecurityContextHolder.getContext().setAuthentication(authentication);
+                securityContextRepository.saveContext(SecurityContextHolder.getContext(), request, response);
+                outcome = "authenticated";
+            } else {
+                outcome = "revoked";
             }
         }
+        if (outcome != null) {
+            verificationTimer(outcome).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
         chain.doFilter(request, response);
     }
+
+    // Verification plus principal lookup, tagged authenticated, expired, invalid (bad signature or
+    // malformed) or revoked (valid token for a changed or deleted user)
+    private Timer verificationTimer(String outcome) {
+        return verificationTimers.computeIfAbsent(outcome, key -> Timer.builder("todolist.jwt.verification")
+                .description("Time to verify a bearer token and resolve its user")
+                .tag("outcome", key)
+                .register(meterRegistry));
+    }
+
+    private AuthenticatedUser resolvePrincipal(Claims claims) {
+        AuthenticatedUser principal = jwtUtils.toPrincipal(claims);
+        if (principal != null) {
+            // Role/email changes and deletes bump the version, so older tokens stop working
+            return tokenVersions.isCurrent(principal.id(), jwtUtils.extractTokenVersion(claims)) ? principal : null;
+        }
+
+        // Subject-only token: the user has to be loaded to know its role
+        String username = claims.getSubject();
+        UserDetails userDetails = userDetailsCache.getUserFromCache(username);
+        if (userDetails == null) {
+            userDetails = userDetailsService.loadUserByUsername(username);
+            userDetailsCache.putUserInCache(userDetails);
+        }
+        if (!jwtUtils.validateToken(claims, userDetails.getUsername())
+                || !(userDetails instanceof SecurityUser securityUser)) {
+            return null;
+        }
+        return securityUser.toAuthenticatedUser();
+    }
 }
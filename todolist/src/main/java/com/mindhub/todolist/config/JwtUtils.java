@@ -1,5 +1,8 @@
 package com.mindhub.todolist.config;
+import com.mindhub.todolist.models.AuthenticatedUser;
+import com.mindhub.todolist.models.RoleType;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
@@ -14,11 +17,28 @@ public class JwtUtils {
 
     private final SecretKey secretKey;
 
+    // Immutable and thread-safe, built once instead of per parse
+    private final JwtParser parser;
+
+    private final VerifiedTokenCache verifiedTokens;
+
+    static final String USER_ID_CLAIM = "uid";
+    static final String ROLE_CLAIM = "role";
+    static final String VERSION_CLAIM = "ver";
+
     @Value("${jwt.expiration}")
     private long expiration;
 
-    public JwtUtils(@Value("${jwt.secret}") String secret) {
+    // Self-contained tokens carry id, role and token version so requests don't reload the user
+    @Value("${jwt.self-contained:true}")
+    private boolean selfContained;
+
+    public JwtUtils(@Value("${jwt.secret}") String secret, VerifiedTokenCache verifiedTokens) {
         this.secretKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secret));
+        this.parser = Jwts.parser()
+                .verifyWith(secretKey)
+                .build();
+        this.verifiedTokens = verifiedTokens;
     }
 
     public String generateToken(String username) {
@@ -30,25 +50,65 @@ public class JwtUtils {
                 .compact();
     }
 
+    public String generateToken(SecurityUser user) {
+        if (!selfContained) {
+            return generateToken(user.getUsername());
+        }
+        return Jwts.builder()
+                .subject(user.getUsername())
+                .claim(USER_ID_CLAIM, user.getId())
+                .claim(ROLE_CLAIM, user.getRole().name())
+                .claim(VERSION_CLAIM, user.getTokenVersion())
+                .issuedAt(new Date())
+                .expiration(new Date(System.currentTimeMillis() + expiration))
+                .signWith(secretKey)
+                .compact();
+    }
+
+    /**
+     * Builds the principal straight from the claims of a self-contained token, or returns null when
+     * the token only has a subject (issued before, or with self-contained tokens turned off).
+     */
+    public AuthenticatedUser toPrincipal(Claims claims) {
+        Long userId = claims.get(USER_ID_CLAIM, Long.class);
+        String role = claims.get(ROLE_CLAIM, String.class);
+        if (!selfContained || userId == null || role == null) {
+            return null;
+        }
+        return new AuthenticatedUser(userId, claims.getSubject(), RoleType.valueOf(role));
+    }
+
+    public Integer extractTokenVersion(Claims claims) {
+        return claims.get(VERSION_CLAIM, Integer.class);
+    }
+
+    /**
+     * Verifies the signature and expiration once and returns the claims. Throws a
+     * {@link io.jsonwebtoken.JwtException} (or IllegalArgumentException for a blank token) when invalid.
+     */
+    public Claims verify(String token) {
+        Claims claims = verifiedTokens.get(token);
+        if (claims == null) {
+            // The parser also rejects expired tokens
+            claims = parser.parseSignedClaims(token).getPayload();
+            verifiedTokens.put(token, claims);
+        }
+        return claims;
+    }
+
     public String extractUsername(String token) {
-        return parseClaims(token).getSubject();
+        return verify(token).getSubject();
     }
 
-    public boolean validateToken(String token, String username) {
-        final String tokenUsername = extractUsername(token);
-        return (tokenUsername.equals(username) && !isTokenExpired(token));
+    public boolean validateToken(Claims claims, String username) {
+        return claims.getSubject().equals(username) && !isTokenExpired(claims);
     }
 
-    private Claims parseClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(secretKey)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+    public boolean validateToken(String token, String username) {
+        return validateToken(verify(token), username);
     }
 
-    private boolean isTokenExpired(String token) {
-        return parseClaims(token).getExpiration().before(new Date());
+    private boolean isTokenExpired(Claims claims) {
+        return claims.getExpiration().before(new Date());
     }
 }
-
@@ -0,0 +1,38 @@
+package com.mindhub.todolist.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// Meters Boot doesn't bind by itself. Boot already covers HTTP requests, repositories
+// (spring.data.repository.invocations), Hibernate statistics and the Hikari pool; @Timed on the
+// service impls needs the aspect, and the password hashing pool is bound here.
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+
+    @Bean
+    public MeterBinder passwordHashingMetrics(PasswordHashingExecutor passwordHashing) {
+        return registry -> {
+            Gauge.builder("todolist.password.hashing.active", passwordHashing, PasswordHashingExecutor::getActive)
+                    .description("Hashing pool threads busy")
+                    .register(registry);
+            Gauge.builder("todolist.password.hashing.queued", passwordHashing, PasswordHashingExecutor::getQueued)
+                    .description("Logins and registrations waiting for a hashing thread")
+                    .register(registry);
+            FunctionCounter.builder("todolist.password.hashing.completed", passwordHashing, PasswordHashingExecutor::getCompleted)
+                    .register(registry);
+            FunctionCounter.builder("todolist.password.hashing.rejected", passwordHashing, PasswordHashingExecutor::getRejected)
+                    .description("Logins and registrations turned away with a 503 because the queue was full")
+                    .register(registry);
+        };
+    }
+}
@@ -1,6 +1,9 @@
 package com.mindhub.todolist.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -19,6 +22,7 @@ import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
+import java.time.Duration;
 import java.util.Arrays;
 
 @Configuration
@@ -28,9 +32,16 @@ public class SecurityConfig {
     @Autowired
     private JwtAuthenticationFilter jwtAuthenticationFilter;
 
+    @Autowired
+    private AuthRateLimitFilter authRateLimitFilter;
+
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder(); // Define the password encoder bean
+    public PasswordEncoder passwordEncoder(@Value("${todolist.security.bcrypt.strength:0}") int strength,
+                                           @Value("${todolist.security.bcrypt.target:250ms}") Duration target,
+                                           MeterRegistry meterRegistry) {
+        // A fixed strength skips the startup benchmark; hashes with a lower cost are upgraded on login
+        return new TimedPasswordEncoder(
+                new BCryptPasswordEncoder(strength > 0 ? strength : BCryptCalibration.calibrate(target)), meterRegistry);
     }
 
     @Bean
@@ -48,6 +59,8 @@ public class SecurityConfig {
                                                             "/swagger-ui.html",
                                                             "/h2-console/**").permitAll()
                                 .requestMatchers( "/api/auth/**", "/index.html" ).permitAll() // Allow public access to specific endpoints
+                                // Served on the management port, which only listens on loopback
+                                .requestMatchers(EndpointRequest.toAnyEndpoint()).permitAll()
                                 .requestMatchers("/api/users/**").hasAnyAuthority("USER", "ADMIN")
                                 .requestMatchers("/api/admin/**").hasAuthority("ADMIN")
                                 .anyRequest().denyAll() // All other requests must be authenticated
@@ -60,6 +73,7 @@ public class SecurityConfig {
                 .sessionManagement(sessionManagement ->
                         sessionManagement.sessionCreationPolicy(SessionCreationPolicy.STATELESS)
                 )
+                .addFilterBefore(authRateLimitFilter, UsernamePasswordAuthenticationFilter.class) // Throttle /api/auth/** first
                 .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class); // Apply JWT filter
 
         return http.build();
@@ -0,0 +1,40 @@
+package com.mindhub.todolist.config;
+
+import com.mindhub.todolist.models.AuthenticatedUser;
+import com.mindhub.todolist.models.RoleType;
+import com.mindhub.todolist.models.UserEntity;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.userdetails.User;
+
+// UserDetails that also carries what the token claims are built from
+public class SecurityUser extends User {
+
+    private final Long id;
+    private final RoleType role;
+    private final int tokenVersion;
+
+    public SecurityUser(UserEntity userEntity) {
+        super(userEntity.getEmail(),
+              userEntity.getPassword(),
+              AuthorityUtils.createAuthorityList(userEntity.getRole().toString()));
+        this.id = userEntity.getId();
+        this.role = userEntity.getRole();
+        this.tokenVersion = userEntity.getTokenVersion();
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public RoleType getRole() {
+        return role;
+    }
+
+    public int getTokenVersion() {
+        return tokenVersion;
+    }
+
+    public AuthenticatedUser toAuthenticatedUser() {
+        return new AuthenticatedUser(id, getUsername(), role);
+    }
+}
@@ -0,0 +1,133 @@
+package com.mindhub.todolist.config;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+// Token buckets keyed by client (IP, email). Keys are spread over lock stripes so concurrent
+// requests rarely wait on each other, and each stripe is a bounded LRU. A bucket left idle long
+// enough to be full again is the same as a new one, so it is dropped instead of kept around.
+public class TokenBucketLimiter {
+
+    private static final int STRIPES = 16;
+
+    private final int capacity;
+    private final double tokensPerNano;
+    private final long idleNanos;
+    private final LongSupplier clock;
+    private final Stripe[] stripes = new Stripe[STRIPES];
+
+    private final LongAdder allowed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    public TokenBucketLimiter(int capacity, Duration refillInterval, int maxKeys) {
+        this(capacity, refillInterval, maxKeys, System::nanoTime);
+    }
+
+    TokenBucketLimiter(int capacity, Duration refillInterval, int maxKeys, LongSupplier clock) {
+        if (capacity < 1 || refillInterval.isNegative() || refillInterval.isZero()) {
+            throw new IllegalArgumentException("Capacity and refill interval must be positive");
+        }
+        this.capacity = capacity;
+        this.tokensPerNano = 1.0 / refillInterval.toNanos();
+        this.idleNanos = refillInterval.toNanos() * capacity;
+        this.clock = clock;
+        int maxKeysPerStripe = Math.max(1, maxKeys / STRIPES);
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe(maxKeysPerStripe);
+        }
+    }
+
+    // 0 when a token was taken, otherwise the nanos until the next token is available
+    public long tryAcquire(String key) {
+        long now = clock.getAsLong();
+        Stripe stripe = stripeFor(key);
+        long waitNanos;
+        stripe.lock.lock();
+        try {
+            stripe.evictIdle(now);
+            Bucket bucket = stripe.buckets.get(key);
+            if (bucket == null) {
+                bucket = new Bucket(capacity, now);
+                stripe.buckets.put(key, bucket);
+            } else {
+                bucket.tokens = Math.min(capacity, bucket.tokens + (now - bucket.updatedAt) * tokensPerNano);
+                bucket.updatedAt = now;
+            }
+            if (bucket.tokens >= 1) {
+                bucket.tokens -= 1;
+                allowed.increment();
+                return 0;
+            }
+            waitNanos = (long) Math.ceil((1 - bucket.tokens) / tokensPerNano);
+        } finally {
+            stripe.lock.unlock();
+        }
+        rejected.increment();
+        return waitNanos;
+    }
+
+    public int trackedKeys() {
+        long now = clock.getAsLong();
+        int total = 0;
+        for (Stripe stripe : stripes) {
+            stripe.lock.lock();
+            try {
+                stripe.evictIdle(now);
+                total += stripe.buckets.size();
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+        return total;
+    }
+
+    public long getAllowed() {
+        return allowed.sum();
+    }
+
+    public long getRejected() {
+        return rejected.sum();
+    }
+
+    private Stripe stripeFor(String key) {
+        int hash = key.hashCode();
+        return stripes[(hash ^ (hash >>> 16)) & (STRIPES - 1)];
+    }
+
+    private final class Stripe {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final LinkedHashMap<String, Bucket> buckets;
+
+        private Stripe(int maxKeys) {
+            // Access order: the eldest bucket is the one used least recently
+            this.buckets = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Bucket> eldest) {
+                    return size() > maxKeys;
+                }
+            };
+        }
+
+        private void evictIdle(long now) {
+            Iterator<Bucket> iterator = buckets.values().iterator();
+            while (iterator.hasNext() && now - iterator.next().updatedAt >= idleNanos) {
+                iterator.remove();
+            }
+        }
+    }
+
+    private static final class Bucket {
+        private double tokens;
+        private long updatedAt;
+
+        private Bucket(double tokens, long updatedAt) {
+            this.tokens = tokens;
+            this.updatedAt = updatedAt;
+        }
+    }
+}
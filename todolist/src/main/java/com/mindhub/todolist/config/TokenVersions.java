@@ -0,0 +1,59 @@
+package com.mindhub.todolist.config;
+
+import com.mindhub.todolist.events.UserChangedEvent;
+import com.mindhub.todolist.repositories.UserEntityRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Current token version per user id, read once from the database and dropped when the user changes
+@Component
+public class TokenVersions {
+
+    private static final int REVOKED = -1; // User no longer exists, ids are never reused
+
+    private final Map<Long, Integer> versions = new ConcurrentHashMap<>();
+    private final AtomicLong invalidations = new AtomicLong();
+    private final int maxEntries;
+
+    @Autowired
+    private UserEntityRepository userRepository;
+
+    public TokenVersions(@Value("${jwt.token-versions.max-entries:100000}") int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    public boolean isCurrent(Long userId, Integer tokenVersion) {
+        if (userId == null || tokenVersion == null) {
+            return false;
+        }
+        Integer current = versions.get(userId);
+        if (current == null) {
+            if (versions.size() >= maxEntries) {
+                // Everything is reloadable, so starting over is the simplest bound
+                versions.clear();
+            }
+            // Queried outside computeIfAbsent: its bin lock would pin a virtual thread for the whole query.
+            // A change published while the query ran may have been missed, so that result isn't kept.
+            long seen = invalidations.get();
+            current = userRepository.findTokenVersionById(userId).orElse(REVOKED);
+            if (invalidations.get() == seen) {
+                versions.putIfAbsent(userId, current);
+            }
+        }
+        return current != REVOKED && current.equals(tokenVersion);
+    }
+
+    @EventListener
+    public void onUserChanged(UserChangedEvent event) {
+        if (event.userId() != null) {
+            invalidations.incrementAndGet();
+            versions.remove(event.userId());
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.mindhub.todolist.config;
+
+import com.mindhub.todolist.events.UserChangedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.security.core.userdetails.UserCache;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Bounded LRU of resolved UserDetails keyed by email, so authenticated requests skip the user lookup
+@Component
+public class UserDetailsCache implements UserCache {
+
+    private final int maxEntries;
+    private final long ttlNanos;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LinkedHashMap<String, Entry> entries;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder puts = new LongAdder();
+
+    public UserDetailsCache(@Value("${todolist.security.user-cache.max-entries:10000}") int maxEntries,
+                            @Value("${todolist.security.user-cache.ttl:5m}") Duration ttl) {
+        this.maxEntries = maxEntries;
+        this.ttlNanos = ttl.toNanos();
+        // Access order: the eldest entry is the least recently used one
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, UserDetailsCache.Entry> eldest) {
+                return size() > UserDetailsCache.this.maxEntries;
+            }
+        };
+    }
+
+    @Override
+    public UserDetails getUserFromCache(String username) {
+        long now = System.nanoTime();
+        lock.lock();
+        try {
+            Entry entry = entries.get(username);
+            if (entry != null && now - entry.storedAt() < ttlNanos) {
+                hits.increment();
+                return entry.user();
+            }
+            if (entry != null) {
+                entries.remove(username);
+            }
+        } finally {
+            lock.unlock();
+        }
+        misses.increment();
+        return null;
+    }
+
+    @Override
+    public void putUserInCache(UserDetails user) {
+        if (maxEntries < 1) {
+            return;
+        }
+        lock.lock();
+        try {
+            entries.put(user.getUsername(), new Entry(user, System.nanoTime()));
+        } finally {
+            lock.unlock();
+        }
+        puts.increment();
+    }
+
+    @Override
+    public void removeUserFromCache(String username) {
+        if (username == null) {
+            return;
+        }
+        lock.lock();
+        try {
+            entries.remove(username);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @EventListener
+    public void onUserChanged(UserChangedEvent event) {
+        removeUserFromCache(event.email());
+    }
+
+    public void clear() {
+        lock.lock();
+        try {
+            entries.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getPuts() {
+        return puts.sum();
+    }
+
+    private record Entry(UserDetails user, long storedAt) {
+    }
+}
@@ -1,10 +1,28 @@
 package com.mindhub.todolist.controllers;
 
+import com.mindhub.todolist.config.AuthRateLimiter;
+import com.mindhub.todolist.config.PasswordHashingExecutor;
+import com.mindhub.todolist.encoding.EncodingStats;
+import com.mindhub.todolist.dtos.BulkOperationResultDTO;
+import com.mindhub.todolist.dtos.CacheRegionStatsDTO;
+import com.mindhub.todolist.dtos.CursorPageDTO;
+import com.mindhub.todolist.dtos.EncodingStatsDTO;
+import com.mindhub.todolist.dtos.HashingPoolStatsDTO;
+import com.mindhub.todolist.dtos.RateLimitStatsDTO;
 import com.mindhub.todolist.dtos.TaskEntityDTO;
+import com.mindhub.todolist.dtos.TaskFilterDTO;
+import com.mindhub.todolist.dtos.TaskSearchHitDTO;
+import com.mindhub.todolist.dtos.TaskStatsDTO;
 import com.mindhub.todolist.dtos.UserEntityDTO;
 import com.mindhub.todolist.exceptions.TaskNotFoundException;
 import com.mindhub.todolist.exceptions.UnauthorizedUserException;
 import com.mindhub.todolist.exceptions.UserNotFoundException;
+import com.mindhub.todolist.models.AuthenticatedUser;
+import com.mindhub.todolist.models.ExportFormat;
+import com.mindhub.todolist.models.RoleType;
+import com.mindhub.todolist.models.TaskEntity;
+import com.mindhub.todolist.services.CacheStatsService;
+import com.mindhub.todolist.services.ExportService;
 import com.mindhub.todolist.services.impl.TaskEntityServiceImpl;
 import com.mindhub.todolist.services.impl.UserEntityServiceImpl;
 import io.swagger.v3.oas.annotations.Operation;
@@ -13,12 +31,17 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -31,12 +54,28 @@ public class AdminController {
     @Autowired
     private TaskEntityServiceImpl taskService;
 
+    @Autowired
+    private ExportService exportService;
+
+    @Autowired
+    private CacheStatsService cacheStatsService;
+
+    @Autowired
+    private PasswordHashingExecutor passwordHashing;
+
+    @Autowired
+    private AuthRateLimiter authRateLimiter;
+
+    @Autowired
+    private EncodingStats encodingStats;
+
     public AdminController(UserEntityServiceImpl userService, TaskEntityServiceImpl taskService) {
         this.userService = userService;
         this.taskService = taskService;
     }
 
-    @Operation(summary = "Get All Users", description = "Retrieves all users.")
+    @Operation(summary = "Get All Users", description = "Retrieves users one page at a time. " +
+            "Pass the returned nextCursor to fetch the following page.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Retrieved all users.",
                     content = @Content(mediaType = "application/json",
@@ -50,10 +89,17 @@ public class AdminController {
     })
     @GetMapping("/users") // Get All Users
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<List<UserEntityDTO>> getAllUsers() {
+    public ResponseEntity<CursorPageDTO<UserEntityDTO>> getAllUsers(@RequestParam(required = false) String cursor,
+                                                                   @RequestParam(required = false) Integer size,
+                                                                   @RequestParam(required = false) RoleType role,
+                                                                   WebRequest request) {
         try {
-            List<UserEntityDTO> userDTOS = userService.getAllUsersDTO();
-            return ResponseEntity.ok(userDTOS);
+            String etag = ETags.list("users", userService.getUsersRevision());
+            if (request.checkNotModified(etag)) {
+                return null; // 304
+            }
+            CursorPageDTO<UserEntityDTO> userDTOS = userService.getUsersPage(cursor, size, role);
+            return ResponseEntity.ok().eTag(etag).body(userDTOS);
         } catch (AccessDeniedException e) {
             throw new UnauthorizedUserException("You don't have permission to access this route");        }
     }
@@ -63,22 +109,29 @@ public class AdminController {
             @ApiResponse(responseCode = "200", description = "User ID was found.",
                     content = @Content(mediaType = "application/json",
                             schema = @Schema(implementation = UserEntityDTO.class))),
+            @ApiResponse(responseCode = "304", description = "User unchanged since the ETag sent in If-None-Match."),
             @ApiResponse(responseCode = "400", description = "User's ID could not be found.",
                     content = @Content(mediaType = "application/json",
                             schema = @Schema(implementation = UserEntityDTO.class)))
     })
     @GetMapping("/users/{id}") // Get User By ID
-    public ResponseEntity<?> getUserById(Authentication authentication, @PathVariable Long id) throws UserNotFoundException {
+    public ResponseEntity<?> getUserById(Authentication authentication, @PathVariable Long id, WebRequest request) throws UserNotFoundException {
         authentication.getName();
         try {
+            // Read before loading: if the user changes in between, the tag is older than the body, never newer
+            String etag = ETags.user(id, userService.getUserRevision(id));
+            if (request.checkNotModified(etag)) {
+                return null; // 304
+            }
             UserEntityDTO user = userService.getUserDTOById(id);
-            return ResponseEntity.ok(user);
+            return ResponseEntity.ok().eTag(etag).body(user);
         } catch (UserNotFoundException e){
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body("User with ID " + id + " not found.");
         }
     }
 
-    @Operation(summary = "Get All Tasks", description = "Retrieves all tasks from users.")
+    @Operation(summary = "Get All Tasks", description = "Retrieves tasks from users one page at a time. " +
+            "Pass the returned nextCursor to fetch the following page.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Retrieved all tasks.",
                     content = @Content(mediaType = "application/json",
@@ -88,9 +141,43 @@ public class AdminController {
                             schema = @Schema(implementation = TaskEntityDTO.class)))
     })
     @GetMapping("/tasks")
-    public List<TaskEntityDTO> getAllTasks () {
-        List<TaskEntityDTO> taskDTO = taskService.getAllTasksDTO();
-        return ResponseEntity.ok(taskDTO).getBody();
+    public ResponseEntity<CursorPageDTO<TaskEntityDTO>> getAllTasks(@RequestParam(required = false) String cursor,
+                                                                    @RequestParam(required = false) Integer size,
+                                                                    @RequestParam(required = false) TaskEntity.TaskStatus status,
+                                                                    WebRequest request) {
+        String revision = taskService.getTasksRevision();
+        String etag = revision != null ? ETags.list("tasks", revision) : null;
+        if (etag != null && request.checkNotModified(etag)) {
+            return null; // 304
+        }
+        CursorPageDTO<TaskEntityDTO> taskDTO = taskService.getTasksPage(cursor, size, status);
+        return etag != null ? ResponseEntity.ok().eTag(etag).body(taskDTO) : ResponseEntity.ok(taskDTO);
+    }
+
+    @Operation(summary = "Get Task Stats", description = "Task counts for every status, globally and per user.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Task counts.",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = TaskStatsDTO.class)))
+    })
+    @GetMapping("/tasks/stats") // Get Task Stats
+    public ResponseEntity<TaskStatsDTO> getTaskStats() {
+        return ResponseEntity.ok(taskService.getTaskStats());
+    }
+
+    @Operation(summary = "Search Tasks", description = "Full-text search over task titles and descriptions, best matches first.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Matching tasks.",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = TaskSearchHitDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Missing search query.")
+    })
+    @GetMapping("/tasks/search") // Search Tasks
+    public ResponseEntity<List<TaskSearchHitDTO>> searchTasks(@RequestParam String q,
+                                                              @RequestParam(required = false) TaskEntity.TaskStatus status,
+                                                              @RequestParam(required = false) Long ownerId,
+                                                              @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(taskService.searchTasks(q, status, ownerId, limit));
     }
 
     @Operation(summary = "Get Task ID", description = "Retrieves the id of a task.")
@@ -98,15 +185,24 @@ public class AdminController {
             @ApiResponse(responseCode = "200", description = "Task ID was found.",
                     content = @Content(mediaType = "application/json",
                             schema = @Schema(implementation = TaskEntityDTO.class))),
+            @ApiResponse(responseCode = "304", description = "Task unchanged since the ETag sent in If-None-Match."),
             @ApiResponse(responseCode = "400", description = "Task's ID could not be found.",
                     content = @Content(mediaType = "application/json",
                             schema = @Schema(implementation = TaskEntityDTO.class)))
     })
     @GetMapping("tasks/{id}") // Get Task by ID
-    public ResponseEntity<TaskEntityDTO> getTaskDTOByID(@PathVariable Long id) throws TaskNotFoundException {
+    public ResponseEntity<TaskEntityDTO> getTaskDTOByID(@PathVariable Long id, WebRequest request) throws TaskNotFoundException {
         try {
+            // A version lookup is all a matching If-None-Match costs, the task isn't loaded or serialized
+            Long version = taskService.getTaskVersion(id);
+            if (version != null && request.checkNotModified(ETags.task(id, version))) {
+                return null; // 304
+            }
             TaskEntityDTO taskDTO = taskService.getTaskDTOById(id);
-            return ResponseEntity.ok(taskDTO);
+            if (version == null) {
+                return ResponseEntity.ok(taskDTO);
+            }
+            return ResponseEntity.ok().eTag(ETags.task(id, taskDTO.getVersion())).body(taskDTO);
         } catch (TaskNotFoundException e) {
             throw new TaskNotFoundException("Task was not found");
         }
@@ -122,12 +218,12 @@ public class AdminController {
                             schema = @Schema(implementation = TaskEntityDTO.class)))
     })
     @PutMapping("/{id}/assign/{userId}") // Assign Task by ID
-    public ResponseEntity<TaskEntityDTO> assignTaskById(@PathVariable Long id, Authentication authentication) throws
+    public ResponseEntity<TaskEntityDTO> assignTaskById(@PathVariable Long id, @AuthenticationPrincipal AuthenticatedUser principal) throws
             TaskNotFoundException,
             UserNotFoundException {
         TaskEntityDTO assignedTask = null;
         try {
-            assignedTask = taskService.assignTaskById(authentication, id);
+            assignedTask = taskService.assignTaskById(principal, id);
         } catch (TaskNotFoundException e) {
             throw new TaskNotFoundException("Task was not found");
         } catch (UserNotFoundException e) {
@@ -136,6 +232,64 @@ public class AdminController {
         return ResponseEntity.ok(assignedTask);
     }
 
+    @Operation(summary = "Update Tasks Status", description = "Moves every task matching the filter to a new status in one statement.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Tasks were updated.",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = BulkOperationResultDTO.class))),
+            @ApiResponse(responseCode = "400", description = "No filter was given.")
+    })
+    @PutMapping("/tasks/status/{newStatus}") // Update Tasks Status By Filter
+    public ResponseEntity<BulkOperationResultDTO> updateTasksStatus(@PathVariable TaskEntity.TaskStatus newStatus,
+                                                                    @RequestParam(required = false) TaskEntity.TaskStatus status,
+                                                                    @RequestParam(required = false) Long ownerId,
+                                                                    @RequestParam(required = false) List<Long> ids) {
+        BulkOperationResultDTO result = taskService.updateTasksStatus(new TaskFilterDTO(status, ownerId, ids), newStatus);
+        return ResponseEntity.ok(result);
+    }
+
+    @Operation(summary = "Delete Tasks", description = "Deletes every task matching the filter in one statement.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Tasks were deleted.",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = BulkOperationResultDTO.class))),
+            @ApiResponse(responseCode = "400", description = "No filter was given.")
+    })
+    @DeleteMapping("/tasks") // Delete Tasks By Filter
+    public ResponseEntity<BulkOperationResultDTO> deleteTasks(@RequestParam(required = false) TaskEntity.TaskStatus status,
+                                                              @RequestParam(required = false) Long ownerId,
+                                                              @RequestParam(required = false) List<Long> ids) {
+        BulkOperationResultDTO result = taskService.deleteTasks(new TaskFilterDTO(status, ownerId, ids));
+        return ResponseEntity.ok(result);
+    }
+
+    @Operation(summary = "Reassign Tasks", description = "Moves every task of one user to another user.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Tasks were reassigned.",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = BulkOperationResultDTO.class))),
+            @ApiResponse(responseCode = "404", description = "One of the users could not be found.")
+    })
+    @PutMapping("/users/{fromId}/tasks/reassign/{toId}") // Reassign Tasks
+    public ResponseEntity<BulkOperationResultDTO> reassignTasks(@PathVariable Long fromId, @PathVariable Long toId)
+            throws UserNotFoundException {
+        BulkOperationResultDTO result = taskService.reassignTasks(fromId, toId);
+        return ResponseEntity.ok(result);
+    }
+
+    @Operation(summary = "Update User Role", description = "Changes the role of an user, effective on their next request.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Role updated.",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = UserEntityDTO.class))),
+            @ApiResponse(responseCode = "404", description = "User not found.")
+    })
+    @PutMapping("/users/{id}/role/{role}") // Update User Role
+    public ResponseEntity<UserEntityDTO> updateUserRole(@PathVariable Long id, @PathVariable RoleType role)
+            throws UserNotFoundException {
+        return ResponseEntity.ok(userService.updateUserRole(id, role));
+    }
+
     @Operation(summary = "Delete User By Id", description = "Deletes an user by id.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "204", description = "User got deleted from the database."),
@@ -151,4 +305,87 @@ public class AdminController {
         }
 
     }
+
+    @Operation(summary = "Export All Tasks", description = "Streams every task as NDJSON or CSV rows.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Tasks are being streamed."),
+            @ApiResponse(responseCode = "400", description = "Unknown export format.")
+    })
+    @GetMapping("/export/tasks") // Export Tasks
+    public ResponseEntity<StreamingResponseBody> exportTasks(@RequestParam(defaultValue = "NDJSON") ExportFormat format) {
+        StreamingResponseBody body = out -> exportService.exportTasks(format, out);
+        return exportResponse("tasks", format, body);
+    }
+
+    @Operation(summary = "Export All Users", description = "Streams every user as NDJSON or CSV rows.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Users are being streamed."),
+            @ApiResponse(responseCode = "400", description = "Unknown export format.")
+    })
+    @GetMapping("/export/users") // Export Users
+    public ResponseEntity<StreamingResponseBody> exportUsers(@RequestParam(defaultValue = "NDJSON") ExportFormat format) {
+        StreamingResponseBody body = out -> exportService.exportUsers(format, out);
+        return exportResponse("users", format, body);
+    }
+
+    @Operation(summary = "Get Cache Stats", description = "Hit, miss and put counts for every second-level cache region and the UserDetails cache.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Cache region statistics.",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = CacheRegionStatsDTO.class)))
+    })
+    @GetMapping("/cache/stats") // Get Cache Stats
+    public ResponseEntity<List<CacheRegionStatsDTO>> getCacheStats() {
+        return ResponseEntity.ok(cacheStatsService.getRegionStats());
+    }
+
+    @Operation(summary = "Get Password Hashing Stats", description = "Load of the pool that runs BCrypt for logins and registrations.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Hashing pool statistics.",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = HashingPoolStatsDTO.class)))
+    })
+    @GetMapping("/auth/hashing/stats") // Get Password Hashing Stats
+    public ResponseEntity<HashingPoolStatsDTO> getHashingStats() {
+        return ResponseEntity.ok(passwordHashing.getStats());
+    }
+
+    @Operation(summary = "Get Auth Rate Limit Stats", description = "Requests allowed and shed by the per-IP and per-email limits on /api/auth.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Rate limiter statistics.",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = RateLimitStatsDTO.class)))
+    })
+    @GetMapping("/auth/rate-limit/stats") // Get Auth Rate Limit Stats
+    public ResponseEntity<List<RateLimitStatsDTO>> getRateLimitStats() {
+        return ResponseEntity.ok(authRateLimiter.getStats());
+    }
+
+    @Operation(summary = "Get Encoding Stats", description = "Bytes written, serialization time and gzip savings for every response format.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Encoding statistics per format.",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = EncodingStatsDTO.class)))
+    })
+    @GetMapping("/encoding/stats") // Get Encoding Stats
+    public ResponseEntity<List<EncodingStatsDTO>> getEncodingStats() {
+        return ResponseEntity.ok(encodingStats.getStats());
+    }
+
+    @Operation(summary = "Evict Caches", description = "Drops every second-level cache entry, e.g. after editing the database by hand.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Caches evicted.")
+    })
+    @DeleteMapping("/cache") // Evict Caches
+    public ResponseEntity<Void> evictCaches() {
+        cacheStatsService.evictAll();
+        return ResponseEntity.noContent().build();
+    }
+
+    private ResponseEntity<StreamingResponseBody> exportResponse(String name, ExportFormat format, StreamingResponseBody body) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=" + name + "." + format.getExtension())
+                .body(body);
+    }
 }
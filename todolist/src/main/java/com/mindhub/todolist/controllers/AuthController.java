@@ -1,24 +1,29 @@
 package com.mindhub.todolist.controllers;
 
+import com.mindhub.todolist.config.AuthRateLimiter;
 import com.mindhub.todolist.config.JwtUtils;
+import com.mindhub.todolist.config.PasswordHashingExecutor;
+import com.mindhub.todolist.config.SecurityUser;
 import com.mindhub.todolist.models.LoginUser;
 import com.mindhub.todolist.models.RegisterUser;
-import com.mindhub.todolist.models.UserEntity;
 import com.mindhub.todolist.services.impl.UserEntityServiceImpl;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
 @RestController
 @RequestMapping("/api/auth")
 public class AuthController {
@@ -32,40 +37,60 @@ public class AuthController {
     @Autowired
     private UserEntityServiceImpl userService;
 
+    @Autowired
+    private PasswordHashingExecutor passwordHashing;
+
+    @Autowired
+    private AuthRateLimiter rateLimiter;
+
+    // Spring Boot's executor for async work, on virtual threads when they are enabled
+    @Autowired
+    @Qualifier("applicationTaskExecutor")
+    private Executor taskExecutor;
+
     @Operation(summary = "Authenticate User", description = "Authenticates the user with provided email and password.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "User was logged."),
             @ApiResponse(responseCode = "400", description = "Invalid input data."),
-            @ApiResponse(responseCode = "403", description = "Bad request.")
-
-
+            @ApiResponse(responseCode = "403", description = "Bad request."),
+            @ApiResponse(responseCode = "429", description = "Too many attempts from this client or for this account."),
+            @ApiResponse(responseCode = "503", description = "Too many logins in progress, retry shortly.")
     })
     @PostMapping("/login")
-    public ResponseEntity<String> authenticateUser(@RequestBody LoginUser loginRequest) {
-        Authentication authentication = authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(
-                        loginRequest.email(),
-                        loginRequest.password()
-                )
-        );
-
-        SecurityContextHolder.getContext().setAuthentication(authentication);
-        UserEntity user = userService.findByEmail(authentication.getName()).orElseThrow(null);
-        String jwt = jwtUtil.generateToken(authentication.getName());
-        return ResponseEntity.ok(jwt);
+    public CompletableFuture<ResponseEntity<String>> authenticateUser(@RequestBody LoginUser loginRequest) {
+        rateLimiter.checkEmail(loginRequest.email());
+        // BCrypt runs on the bounded hashing pool, the servlet thread is released meanwhile
+        return passwordHashing.submit(() -> {
+            Authentication authentication = authenticationManager.authenticate(
+                    new UsernamePasswordAuthenticationToken(
+                            loginRequest.email(),
+                            loginRequest.password()
+                    )
+            );
+            // The principal was loaded by CustomUserDetailsService, no need to look the user up again
+            String jwt = jwtUtil.generateToken((SecurityUser) authentication.getPrincipal());
+            return ResponseEntity.ok(jwt);
+        });
     }
 
     @Operation(summary = "Register New User", description = "Registers a new user with the provided information.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "User was registered."),
             @ApiResponse(responseCode = "400", description = "Invalid input data."),
-            @ApiResponse(responseCode = "403", description = "Bad request.")
-
-
+            @ApiResponse(responseCode = "403", description = "Bad request."),
+            @ApiResponse(responseCode = "429", description = "Too many attempts from this client or for this email."),
+            @ApiResponse(responseCode = "503", description = "Too many registrations in progress, retry shortly.")
     })
     @PostMapping("/register")
-    public ResponseEntity<String> registerUser(@RequestBody RegisterUser registerUser) {
-        userService.registerUser(registerUser);
-        return ResponseEntity.ok("User registered successfully");
+    public CompletableFuture<ResponseEntity<String>> registerUser(@RequestBody RegisterUser registerUser) {
+        rateLimiter.checkEmail(registerUser.email());
+        userService.requireNewUser(registerUser);
+        // Only BCrypt runs on the hashing pool. The insert goes to the application task executor, so
+        // hashing threads never wait on the database.
+        return passwordHashing.submit(() -> userService.encodePassword(registerUser.password()))
+                .thenApplyAsync(encodedPassword -> {
+                    userService.registerUser(registerUser, encodedPassword);
+                    return ResponseEntity.ok("User registered successfully");
+                }, taskExecutor);
     }
 }
@@ -0,0 +1,46 @@
+package com.mindhub.todolist.controllers;
+
+// Validators for conditional requests. Task tags carry the row version, user and list tags the
+// in-memory revisions, so a matching If-None-Match is answered without loading anything.
+// Task and user tags are strong. List tags are weak: the same revision is sent as JSON, CBOR or
+// Smile, and those bodies are equivalent but not byte for byte the same.
+final class ETags {
+
+    private static final String GZIP_SUFFIX = "-gzip";
+
+    private ETags() {
+    }
+
+    static String task(Long id, long version) {
+        return "\"task-" + id + "-" + version + "\"";
+    }
+
+    static String user(Long id, String revision) {
+        return "\"user-" + id + "-" + revision + "\"";
+    }
+
+    static String list(String name, String revision) {
+        return "W/\"" + name + "-" + revision + "\"";
+    }
+
+    // Version named by the first If-Match tag for this task, null when no tag names it. The tag of a
+    // gzipped body (CompressedResponseFilter) names the same version.
+    static Long taskVersion(String ifMatch, Long id) {
+        String prefix = "\"task-" + id + "-";
+        for (String tag : ifMatch.split(",")) {
+            String candidate = tag.trim();
+            if (candidate.startsWith(prefix) && candidate.endsWith("\"")) {
+                String version = candidate.substring(prefix.length(), candidate.length() - 1);
+                if (version.endsWith(GZIP_SUFFIX)) {
+                    version = version.substring(0, version.length() - GZIP_SUFFIX.length());
+                }
+                try {
+                    return Long.parseLong(version);
+                } catch (NumberFormatException e) {
+                    return null;
+                }
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,54 @@
+package com.mindhub.todolist.controllers;
+
+import com.mindhub.todolist.dtos.TaskEntityDTO;
+import com.mindhub.todolist.models.TaskEntity;
+import com.mindhub.todolist.services.ReactiveTaskService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+// Read-only mirror of the task lookups over R2DBC. The servlet thread is released as soon as the
+// publisher is returned, and NDJSON streams request one row at a time, so a slow client only slows
+// its own database cursor down.
+@RestController
+@RequestMapping("/api/admin/reactive/tasks")
+public class ReactiveTaskController {
+
+    @Autowired
+    private ReactiveTaskService reactiveTaskService;
+
+    @Operation(summary = "Get Task By ID (Reactive)", description = "Returns a task without going through JPA.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Task found.",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = TaskEntityDTO.class))),
+            @ApiResponse(responseCode = "404", description = "Task not found.")
+    })
+    @GetMapping("/{id}") // Get Task By ID (Reactive)
+    public Mono<TaskEntityDTO> getTaskById(@PathVariable Long id) {
+        return reactiveTaskService.getTaskById(id);
+    }
+
+    @Operation(summary = "Stream Tasks (Reactive)", description = "Streams tasks ordered by ID as newline-delimited JSON, optionally filtered by status and owner.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Tasks streamed one per line.",
+                    content = @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE,
+                            schema = @Schema(implementation = TaskEntityDTO.class)))
+    })
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE) // Stream Tasks (Reactive)
+    public Flux<TaskEntityDTO> streamTasks(@RequestParam(required = false) TaskEntity.TaskStatus status,
+                                           @RequestParam(required = false) Long ownerId) {
+        return reactiveTaskService.getTasks(status, ownerId);
+    }
+}
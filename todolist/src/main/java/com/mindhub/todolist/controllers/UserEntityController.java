@@ -1,10 +1,14 @@
 package com.mindhub.todolist.controllers;
 
+import com.mindhub.todolist.dtos.BulkTaskResultDTO;
 import com.mindhub.todolist.dtos.NewTaskEntityDTO;
 import com.mindhub.todolist.dtos.TaskEntityDTO;
 import com.mindhub.todolist.dtos.UserEntityDTO;
+import com.mindhub.todolist.exceptions.PreconditionFailedException;
 import com.mindhub.todolist.exceptions.TaskNotFoundException;
+import com.mindhub.todolist.exceptions.TaskVersionConflictException;
 import com.mindhub.todolist.exceptions.UserNotFoundException;
+import com.mindhub.todolist.models.AuthenticatedUser;
 import com.mindhub.todolist.services.impl.TaskEntityServiceImpl;
 import com.mindhub.todolist.services.impl.UserEntityServiceImpl;
 import io.swagger.v3.oas.annotations.Operation;
@@ -13,11 +17,15 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 @RestController
 @RequestMapping("/api/users")
 public class UserEntityController {
@@ -40,13 +48,32 @@ public class UserEntityController {
                             schema = @Schema(implementation = UserEntityDTO.class))))
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "User successfully uploaded."),
-            @ApiResponse(responseCode = "400", description = "Bad request, invalid data.")
+            @ApiResponse(responseCode = "400", description = "Bad request, invalid data."),
+            @ApiResponse(responseCode = "409", description = "The task changed since the version that was sent."),
+            @ApiResponse(responseCode = "412", description = "The task doesn't match the ETag sent in If-Match.")
     })
     @PutMapping("/tasks/{id}") // Upload Task By ID
     public ResponseEntity<TaskEntityDTO> updateTaskById(@PathVariable(name = "id") Long id,
-                                                        @RequestBody TaskEntityDTO taskDTO) throws UserNotFoundException {
-        TaskEntityDTO task = taskService.updateTask(id, taskDTO);
-        return ResponseEntity.ok(task);
+                                                        @RequestBody TaskEntityDTO taskDTO,
+                                                        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) throws UserNotFoundException {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return ResponseEntity.ok(taskService.updateTask(id, taskDTO));
+        }
+        // If-Match takes the place of the version in the body
+        Long version = ETags.taskVersion(ifMatch, id);
+        if (version == null) {
+            throw new PreconditionFailedException("If-Match doesn't name a version of task " + id);
+        }
+        try {
+            TaskEntityDTO task = taskService.updateTask(id, new TaskEntityDTO(taskDTO.getId(),
+                                                                              taskDTO.getTitle(),
+                                                                              taskDTO.getDescription(),
+                                                                              taskDTO.getStatus(),
+                                                                              version));
+            return ResponseEntity.ok(task);
+        } catch (TaskVersionConflictException e) {
+            throw new PreconditionFailedException(e.getMessage());
+        }
     }
 
     @Operation(summary = "Create New Task", description = "Creates a new Task object from.",
@@ -66,6 +93,21 @@ public class UserEntityController {
         return ResponseEntity.status(HttpStatus.CREATED).body(createdTaskDTO);
     }
 
+    @Operation(summary = "Create Tasks In Bulk", description = "Creates many tasks in one call and reports the outcome of each item.",
+            requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                    description = "The tasks to be created",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = NewTaskEntityDTO.class))))
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Tasks processed, see each item's outcome."),
+            @ApiResponse(responseCode = "400", description = "Bad request, empty or oversized batch.")
+    })
+    @PostMapping("tasks/bulk") // Create Tasks In Bulk
+    public ResponseEntity<List<BulkTaskResultDTO>> createNewTasks(@RequestBody List<NewTaskEntityDTO> newTaskDTOs) {
+        List<BulkTaskResultDTO> results = taskService.createNewTasks(newTaskDTOs);
+        return ResponseEntity.ok(results);
+    }
+
     @Operation(summary = "Assign Task", description = "Assigns a tasks to a user.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "User got assigned with a task.",
@@ -76,8 +118,8 @@ public class UserEntityController {
                             schema = @Schema(implementation = TaskEntityDTO.class)))
     })
     @PutMapping("/{id}/assign") // Assign Task
-    public ResponseEntity<TaskEntityDTO> assignTask(@PathVariable Long id, Authentication authentication) throws TaskNotFoundException, UserNotFoundException {
-        TaskEntityDTO assignedTask = taskService.assignTask(authentication, id);
+    public ResponseEntity<TaskEntityDTO> assignTask(@PathVariable Long id, @AuthenticationPrincipal AuthenticatedUser principal) throws TaskNotFoundException, UserNotFoundException {
+        TaskEntityDTO assignedTask = taskService.assignTask(principal, id);
         return ResponseEntity.ok(assignedTask);
     }
 
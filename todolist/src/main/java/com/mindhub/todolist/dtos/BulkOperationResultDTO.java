@@ -0,0 +1,13 @@
+package com.mindhub.todolist.dtos;
+
+public class BulkOperationResultDTO {
+    private final long affected;
+
+    public BulkOperationResultDTO(long affected) {
+        this.affected = affected;
+    }
+
+    public long getAffected() {
+        return affected;
+    }
+}
@@ -0,0 +1,49 @@
+package com.mindhub.todolist.dtos;
+
+public class BulkTaskResultDTO {
+    private final int index;
+    private final Long id;
+    private final Outcome outcome;
+    private final String error;
+
+    private BulkTaskResultDTO(int index, Long id, Outcome outcome, String error) {
+        this.index = index;
+        this.id = id;
+        this.outcome = outcome;
+        this.error = error;
+    }
+
+    public static BulkTaskResultDTO created(int index, Long id) {
+        return new BulkTaskResultDTO(index, id, Outcome.CREATED, null);
+    }
+
+    public static BulkTaskResultDTO rejected(int index, String error) {
+        return new BulkTaskResultDTO(index, null, Outcome.REJECTED, error);
+    }
+
+    public static BulkTaskResultDTO failed(int index, String error) {
+        return new BulkTaskResultDTO(index, null, Outcome.FAILED, error);
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Outcome getOutcome() {
+        return outcome;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public enum Outcome {
+        CREATED,
+        REJECTED, // Invalid item, never sent to the database
+        FAILED,   // Valid item whose chunk failed to persist
+    }
+}
@@ -0,0 +1,43 @@
+package com.mindhub.todolist.dtos;
+
+public class CacheRegionStatsDTO {
+    private final String region;
+    private final long hits;
+    private final long misses;
+    private final long puts;
+    private final long entriesInMemory;
+
+    public CacheRegionStatsDTO(String region, long hits, long misses, long puts, long entriesInMemory) {
+        this.region = region;
+        this.hits = hits;
+        this.misses = misses;
+        this.puts = puts;
+        this.entriesInMemory = entriesInMemory;
+    }
+
+    public String getRegion() {
+        return region;
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    public long getPuts() {
+        return puts;
+    }
+
+    // -1 when the cache provider can't tell
+    public long getEntriesInMemory() {
+        return entriesInMemory;
+    }
+
+    public double getHitRatio() {
+        long lookups = hits + misses;
+        return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+}
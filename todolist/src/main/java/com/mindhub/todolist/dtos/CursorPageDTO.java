@@ -0,0 +1,25 @@
+package com.mindhub.todolist.dtos;
+
+import java.util.List;
+
+public class CursorPageDTO<T> {
+    private final List<T> items;
+    private final String nextCursor;
+
+    public CursorPageDTO(List<T> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<T> getItems() {
+        return items;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public boolean isHasMore() {
+        return nextCursor != null;
+    }
+}
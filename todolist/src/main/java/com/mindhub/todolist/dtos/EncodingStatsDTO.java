@@ -0,0 +1,70 @@
+package com.mindhub.todolist.dtos;
+
+public class EncodingStatsDTO {
+    private final String format;
+    private final long writes;
+    private final long serializedBytes;
+    private final double serializationMillis;
+    private final long compressedResponses;
+    private final long bytesBeforeCompression;
+    private final long compressedBytes;
+    private final long compressionCacheHits;
+
+    public EncodingStatsDTO(String format, long writes, long serializedBytes, double serializationMillis,
+                            long compressedResponses, long bytesBeforeCompression, long compressedBytes,
+                            long compressionCacheHits) {
+        this.format = format;
+        this.writes = writes;
+        this.serializedBytes = serializedBytes;
+        this.serializationMillis = serializationMillis;
+        this.compressedResponses = compressedResponses;
+        this.bytesBeforeCompression = bytesBeforeCompression;
+        this.compressedBytes = compressedBytes;
+        this.compressionCacheHits = compressionCacheHits;
+    }
+
+    public String getFormat() {
+        return format;
+    }
+
+    // Bodies written by the message converter, each element of a stream counts as one
+    public long getWrites() {
+        return writes;
+    }
+
+    public long getSerializedBytes() {
+        return serializedBytes;
+    }
+
+    public double getSerializationMillis() {
+        return serializationMillis;
+    }
+
+    public double getAverageSerializedBytes() {
+        return writes == 0 ? 0 : (double) serializedBytes / writes;
+    }
+
+    public double getAverageSerializationMicros() {
+        return writes == 0 ? 0 : serializationMillis * 1000 / writes;
+    }
+
+    public long getCompressedResponses() {
+        return compressedResponses;
+    }
+
+    public long getBytesBeforeCompression() {
+        return bytesBeforeCompression;
+    }
+
+    public long getCompressedBytes() {
+        return compressedBytes;
+    }
+
+    public long getCompressionCacheHits() {
+        return compressionCacheHits;
+    }
+
+    public double getCompressionRatio() {
+        return compressedBytes == 0 ? 0 : (double) bytesBeforeCompression / compressedBytes;
+    }
+}
@@ -0,0 +1,56 @@
+package com.mindhub.todolist.dtos;
+
+public class HashingPoolStatsDTO {
+    private final int poolSize;
+    private final int active;
+    private final int queued;
+    private final int queueCapacity;
+    private final long completed;
+    private final long rejected;
+    private final double averageQueueWaitMillis;
+    private final double maxQueueWaitMillis;
+
+    public HashingPoolStatsDTO(int poolSize, int active, int queued, int queueCapacity, long completed,
+                               long rejected, double averageQueueWaitMillis, double maxQueueWaitMillis) {
+        this.poolSize = poolSize;
+        this.active = active;
+        this.queued = queued;
+        this.queueCapacity = queueCapacity;
+        this.completed = completed;
+        this.rejected = rejected;
+        this.averageQueueWaitMillis = averageQueueWaitMillis;
+        this.maxQueueWaitMillis = maxQueueWaitMillis;
+    }
+
+    public int getPoolSize() {
+        return poolSize;
+    }
+
+    public int getActive() {
+        return active;
+    }
+
+    public int getQueued() {
+        return queued;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public long getCompleted() {
+        return completed;
+    }
+
+    public long getRejected() {
+        return rejected;
+    }
+
+    public double getAverageQueueWaitMillis() {
+        return averageQueueWaitMillis;
+    }
+
+    public double getMaxQueueWaitMillis() {
+        return maxQueueWaitMillis;
+    }
+}
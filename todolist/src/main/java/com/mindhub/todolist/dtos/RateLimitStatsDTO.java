@@ -0,0 +1,31 @@
+package com.mindhub.todolist.dtos;
+
+public class RateLimitStatsDTO {
+    private final String limiter;
+    private final long allowed;
+    private final long rejected;
+    private final int trackedKeys;
+
+    public RateLimitStatsDTO(String limiter, long allowed, long rejected, int trackedKeys) {
+        this.limiter = limiter;
+        this.allowed = allowed;
+        this.rejected = rejected;
+        this.trackedKeys = trackedKeys;
+    }
+
+    public String getLimiter() {
+        return limiter;
+    }
+
+    public long getAllowed() {
+        return allowed;
+    }
+
+    public long getRejected() {
+        return rejected;
+    }
+
+    public int getTrackedKeys() {
+        return trackedKeys;
+    }
+}
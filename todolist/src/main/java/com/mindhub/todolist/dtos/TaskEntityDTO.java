@@ -1,5 +1,6 @@
 package com.mindhub.todolist.dtos;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
 import com.mindhub.todolist.models.TaskEntity;
 
 public class TaskEntityDTO {
@@ -7,12 +8,23 @@ public class TaskEntityDTO {
     private final String title;
     private final String description;
     private final TaskEntity.TaskStatus status;
+    private final Long version; // Optional on updates, when sent the update only applies to that version
 
     public TaskEntityDTO(TaskEntity task) {
         id = task.getId();
         title = task.getTitle();
         description = task.getDescription();
         status = task.getStatus();
+        version = task.getVersion();
+    }
+
+    @JsonCreator
+    public TaskEntityDTO(Long id, String title, String description, TaskEntity.TaskStatus status, Long version) {
+        this.id = id;
+        this.title = title;
+        this.description = description;
+        this.status = status;
+        this.version = version;
     }
 
     public Long getId(){
@@ -30,4 +42,8 @@ public class TaskEntityDTO {
     public TaskEntity.TaskStatus getStatus(){
         return status;
     }
+
+    public Long getVersion(){
+        return version;
+    }
 }
@@ -0,0 +1,33 @@
+package com.mindhub.todolist.dtos;
+
+import com.mindhub.todolist.models.TaskEntity;
+
+import java.util.List;
+
+public class TaskFilterDTO {
+    private final TaskEntity.TaskStatus status;
+    private final Long ownerId;
+    private final List<Long> ids;
+
+    public TaskFilterDTO(TaskEntity.TaskStatus status, Long ownerId, List<Long> ids) {
+        this.status = status;
+        this.ownerId = ownerId;
+        this.ids = ids;
+    }
+
+    public TaskEntity.TaskStatus getStatus() {
+        return status;
+    }
+
+    public Long getOwnerId() {
+        return ownerId;
+    }
+
+    public List<Long> getIds() {
+        return ids;
+    }
+
+    public boolean isEmpty() {
+        return status == null && ownerId == null && (ids == null || ids.isEmpty());
+    }
+}
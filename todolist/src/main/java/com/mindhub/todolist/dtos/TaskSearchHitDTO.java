@@ -0,0 +1,46 @@
+package com.mindhub.todolist.dtos;
+
+import com.mindhub.todolist.models.TaskEntity;
+
+public class TaskSearchHitDTO {
+    private final Long id;
+    private final String title;
+    private final String description;
+    private final TaskEntity.TaskStatus status;
+    private final Long ownerId;
+    private final double score;
+
+    public TaskSearchHitDTO(Long id, String title, String description,
+                            TaskEntity.TaskStatus status, Long ownerId, double score) {
+        this.id = id;
+        this.title = title;
+        this.description = description;
+        this.status = status;
+        this.ownerId = ownerId;
+        this.score = score;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public TaskEntity.TaskStatus getStatus() {
+        return status;
+    }
+
+    public Long getOwnerId() {
+        return ownerId;
+    }
+
+    public double getScore() {
+        return score;
+    }
+}
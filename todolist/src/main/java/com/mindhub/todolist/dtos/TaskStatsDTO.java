@@ -0,0 +1,23 @@
+package com.mindhub.todolist.dtos;
+
+import com.mindhub.todolist.models.TaskEntity;
+
+import java.util.Map;
+
+public class TaskStatsDTO {
+    private final Map<TaskEntity.TaskStatus, Long> totals;
+    private final Map<Long, Map<TaskEntity.TaskStatus, Long>> byUser;
+
+    public TaskStatsDTO(Map<TaskEntity.TaskStatus, Long> totals, Map<Long, Map<TaskEntity.TaskStatus, Long>> byUser) {
+        this.totals = totals;
+        this.byUser = byUser;
+    }
+
+    public Map<TaskEntity.TaskStatus, Long> getTotals() {
+        return totals;
+    }
+
+    public Map<Long, Map<TaskEntity.TaskStatus, Long>> getByUser() {
+        return byUser;
+    }
+}
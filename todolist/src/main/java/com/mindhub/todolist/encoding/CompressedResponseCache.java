@@ -0,0 +1,65 @@
+package com.mindhub.todolist.encoding;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Gzipped response bodies keyed by URL, format and ETag. A new ETag means new content, so entries
+// never go stale: they stop being asked for and fall off the LRU end. Bounded by total bytes.
+class CompressedResponseCache {
+
+    private final long maxBytes;
+    private final LinkedHashMap<String, byte[]> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final ReentrantLock lock = new ReentrantLock();
+    private long bytes;
+
+    CompressedResponseCache(long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    byte[] get(String key) {
+        lock.lock();
+        try {
+            return entries.get(key);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void put(String key, byte[] body) {
+        if (body.length > maxBytes) {
+            return;
+        }
+        lock.lock();
+        try {
+            byte[] previous = entries.put(key, body);
+            bytes += body.length - (previous != null ? previous.length : 0);
+            Iterator<Map.Entry<String, byte[]>> eldest = entries.entrySet().iterator();
+            while (bytes > maxBytes && eldest.hasNext()) {
+                bytes -= eldest.next().getValue().length;
+                eldest.remove();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int size() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    long bytes() {
+        lock.lock();
+        try {
+            return bytes;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
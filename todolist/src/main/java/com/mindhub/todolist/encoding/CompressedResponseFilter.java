@@ -0,0 +1,187 @@
+package com.mindhub.todolist.encoding;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+// Gzip for the task and user listings, done here instead of by the server so a body that carries
+// an ETag is compressed once per URL and format and then served from CompressedResponseCache.
+// Everything else (and these paths too, when the client doesn't take gzip) is left to
+// server.compression. A strong ETag sent with a gzipped body gets a -gzip suffix, since the bytes
+// differ from the identity body's. The suffix is taken off If-None-Match before the controller sees
+// it, so a client revalidating its gzipped copy still gets a 304. Weak tags are left as they are.
+@Component
+@ConditionalOnProperty(name = "server.compression.enabled", havingValue = "true")
+public class CompressedResponseFilter extends OncePerRequestFilter {
+
+    private static final String GZIP_SUFFIX = "-gzip";
+
+    private final EncodingStats stats;
+    private final List<String> paths;
+    private final long minBytes;
+    private final CompressedResponseCache cache;
+
+    public CompressedResponseFilter(EncodingStats stats,
+                                    @Value("${todolist.compression.paths:/api/admin/tasks,/api/admin/users}") List<String> paths,
+                                    @Value("${server.compression.min-response-size:2KB}") DataSize minResponseSize,
+                                    @Value("${todolist.compression.cache.max-size:32MB}") DataSize cacheMaxSize) {
+        this.stats = stats;
+        this.paths = paths;
+        this.minBytes = minResponseSize.toBytes();
+        this.cache = new CompressedResponseCache(cacheMaxSize.toBytes());
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!"GET".equals(request.getMethod())) {
+            return true;
+        }
+        String uri = request.getRequestURI();
+        return paths.stream().noneMatch(path -> uri.equals(path) || uri.startsWith(path + "/"));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        // The format is negotiated from Accept, so caches must keep one copy per Accept value
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        if (!acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING))) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        boolean revalidatingGzip = ifNoneMatch != null && ifNoneMatch.contains(GZIP_SUFFIX + "\"");
+        HttpServletRequest identityRequest = revalidatingGzip ? new IdentityTagsRequest(request) : request;
+
+        ContentCachingResponseWrapper buffered = new ContentCachingResponseWrapper(response);
+        chain.doFilter(identityRequest, buffered);
+        int size = buffered.getContentSize();
+        if (buffered.getStatus() == HttpServletResponse.SC_NOT_MODIFIED && revalidatingGzip) {
+            String etag = buffered.getHeader(HttpHeaders.ETAG);
+            if (etag != null) {
+                response.setHeader(HttpHeaders.ETAG, gzipTag(etag));
+            }
+        }
+        if (buffered.getStatus() != HttpServletResponse.SC_OK || size < minBytes
+                || buffered.getHeader(HttpHeaders.CONTENT_ENCODING) != null) {
+            buffered.copyBodyToResponse();
+            return;
+        }
+
+        String contentType = buffered.getContentType();
+        String etag = buffered.getHeader(HttpHeaders.ETAG);
+        String key = etag != null ? request.getRequestURI() + "?" + request.getQueryString() + "|" + contentType + "|" + etag : null;
+        byte[] gzipped = key != null ? cache.get(key) : null;
+        boolean fromCache = gzipped != null;
+        if (!fromCache) {
+            gzipped = gzip(buffered.getContentAsByteArray());
+            if (key != null) {
+                cache.put(key, gzipped);
+            }
+        }
+        stats.recordCompression(contentType, size, gzipped.length, fromCache);
+
+        // The identity body stays in the wrapper and is dropped, the gzipped one goes straight out
+        response.setContentType(contentType);
+        response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        if (etag != null) {
+            response.setHeader(HttpHeaders.ETAG, gzipTag(etag));
+        }
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        response.setContentLength(gzipped.length);
+        response.getOutputStream().write(gzipped);
+    }
+
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            String name = parts[0].trim();
+            if (!name.equalsIgnoreCase("gzip") && !name.equals("*")) {
+                continue;
+            }
+            boolean refused = false;
+            for (int i = 1; i < parts.length; i++) {
+                String param = parts[i].trim();
+                if (param.startsWith("q=")) {
+                    try {
+                        refused = Double.parseDouble(param.substring(2)) == 0;
+                    } catch (NumberFormatException e) {
+                        refused = true;
+                    }
+                }
+            }
+            if (!refused) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // "tag" becomes "tag-gzip", W/"tag" is left alone
+    static String gzipTag(String etag) {
+        if (etag.startsWith("W/") || !etag.endsWith("\"") || etag.endsWith(GZIP_SUFFIX + "\"")) {
+            return etag;
+        }
+        return etag.substring(0, etag.length() - 1) + GZIP_SUFFIX + "\"";
+    }
+
+    static String identityTags(String ifNoneMatch) {
+        return ifNoneMatch.replace(GZIP_SUFFIX + "\"", "\"");
+    }
+
+    private static byte[] gzip(byte[] body) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, body.length / 4));
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(body);
+        }
+        return out.toByteArray();
+    }
+
+    int cachedResponses() {
+        return cache.size();
+    }
+
+    // If-None-Match with the -gzip suffixes taken off, for the controllers to compare
+    private static class IdentityTagsRequest extends HttpServletRequestWrapper {
+
+        IdentityTagsRequest(HttpServletRequest request) {
+            super(request);
+        }
+
+        @Override
+        public String getHeader(String name) {
+            String value = super.getHeader(name);
+            return value != null && HttpHeaders.IF_NONE_MATCH.equalsIgnoreCase(name) ? identityTags(value) : value;
+        }
+
+        @Override
+        public Enumeration<String> getHeaders(String name) {
+            if (!HttpHeaders.IF_NONE_MATCH.equalsIgnoreCase(name)) {
+                return super.getHeaders(name);
+            }
+            List<String> values = Collections.list(super.getHeaders(name));
+            values.replaceAll(CompressedResponseFilter::identityTags);
+            return Collections.enumeration(values);
+        }
+    }
+}
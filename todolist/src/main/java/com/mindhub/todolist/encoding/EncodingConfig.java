@@ -0,0 +1,51 @@
+package com.mindhub.todolist.encoding;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+// JSON, CBOR (application/cbor) and Smile (application/x-jackson-smile) picked from the Accept
+// header. All three come from Boot's ObjectMapper and its builder so they serialize the same DTOs
+// the same way, and each one reports its bytes and serialization time to EncodingStats.
+// Declaring the JSON converter here replaces Boot's.
+@Configuration
+public class EncodingConfig {
+
+    @Bean
+    public MappingJackson2HttpMessageConverter jsonConverter(ObjectMapper objectMapper, EncodingStats stats) {
+        return new MappingJackson2HttpMessageConverter(objectMapper) {
+            @Override
+            protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage) throws IOException {
+                stats.measure(outputMessage, measured -> super.writeInternal(object, type, measured));
+            }
+        };
+    }
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborConverter(Jackson2ObjectMapperBuilder builder, EncodingStats stats) {
+        return new MappingJackson2CborHttpMessageConverter(builder.cbor().build()) {
+            @Override
+            protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage) throws IOException {
+                stats.measure(outputMessage, measured -> super.writeInternal(object, type, measured));
+            }
+        };
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileConverter(Jackson2ObjectMapperBuilder builder, EncodingStats stats) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.smile().build()) {
+            @Override
+            protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage) throws IOException {
+                stats.measure(outputMessage, measured -> super.writeInternal(object, type, measured));
+            }
+        };
+    }
+}
@@ -0,0 +1,145 @@
+package com.mindhub.todolist.encoding;
+
+import com.mindhub.todolist.dtos.EncodingStatsDTO;
+import com.mindhub.todolist.timing.RequestTiming;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// Bytes and serialization cost per response format. Serialization is timed in thread CPU time, so a
+// write blocked on a slow client doesn't count; virtual threads report no CPU time and fall back
+// to wall time.
+@Component
+public class EncodingStats {
+
+    private static final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+
+    private final Map<String, Counters> byFormat = new ConcurrentHashMap<>();
+
+    @FunctionalInterface
+    public interface Write {
+        void to(HttpOutputMessage message) throws IOException;
+    }
+
+    public void measure(HttpOutputMessage message, Write write) throws IOException {
+        CountingOutputMessage counted = new CountingOutputMessage(message);
+        long wallStart = System.nanoTime();
+        long cpuStart = threads.getCurrentThreadCpuTime();
+        try {
+            write.to(counted);
+        } finally {
+            long cpuEnd = threads.getCurrentThreadCpuTime();
+            // The request's breakdown wants latency, blocking on the client included
+            RequestTiming.record(RequestTiming.Phase.WRITE, System.nanoTime() - wallStart);
+            long nanos = cpuStart >= 0 && cpuEnd >= 0 ? cpuEnd - cpuStart : System.nanoTime() - wallStart;
+            Counters counters = counters(typeAndSubtype(message.getHeaders().getContentType()));
+            counters.writes.increment();
+            counters.bytes.add(counted.count);
+            counters.nanos.add(nanos);
+        }
+    }
+
+    public void recordCompression(String contentType, long bytesBefore, long bytesAfter, boolean fromCache) {
+        Counters counters = counters(format(contentType));
+        counters.compressed.increment();
+        counters.bytesBeforeCompression.add(bytesBefore);
+        counters.compressedBytes.add(bytesAfter);
+        if (fromCache) {
+            counters.compressionCacheHits.increment();
+        }
+    }
+
+    public List<EncodingStatsDTO> getStats() {
+        return byFormat.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .map(entry -> {
+                    Counters counters = entry.getValue();
+                    return new EncodingStatsDTO(entry.getKey(),
+                                                counters.writes.sum(),
+                                                counters.bytes.sum(),
+                                                counters.nanos.sum() / 1_000_000.0,
+                                                counters.compressed.sum(),
+                                                counters.bytesBeforeCompression.sum(),
+                                                counters.compressedBytes.sum(),
+                                                counters.compressionCacheHits.sum());
+                })
+                .toList();
+    }
+
+    private Counters counters(String format) {
+        return byFormat.computeIfAbsent(format, key -> new Counters());
+    }
+
+    // type/subtype only, charset and other parameters would split a format over several rows
+    private static String format(String contentType) {
+        if (contentType == null) {
+            return "unknown";
+        }
+        try {
+            return typeAndSubtype(MediaType.parseMediaType(contentType));
+        } catch (InvalidMediaTypeException e) {
+            return "unknown";
+        }
+    }
+
+    private static String typeAndSubtype(MediaType contentType) {
+        return contentType == null ? "unknown" : contentType.getType() + "/" + contentType.getSubtype();
+    }
+
+    private static final class Counters {
+        final LongAdder writes = new LongAdder();
+        final LongAdder bytes = new LongAdder();
+        final LongAdder nanos = new LongAdder();
+        final LongAdder compressed = new LongAdder();
+        final LongAdder bytesBeforeCompression = new LongAdder();
+        final LongAdder compressedBytes = new LongAdder();
+        final LongAdder compressionCacheHits = new LongAdder();
+    }
+
+    private static final class CountingOutputMessage implements HttpOutputMessage {
+        private final HttpOutputMessage delegate;
+        private OutputStream body;
+        private long count;
+
+        CountingOutputMessage(HttpOutputMessage delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public OutputStream getBody() throws IOException {
+            if (body == null) {
+                body = new FilterOutputStream(delegate.getBody()) {
+                    @Override
+                    public void write(int b) throws IOException {
+                        out.write(b);
+                        count++;
+                    }
+
+                    @Override
+                    public void write(byte[] b, int off, int len) throws IOException {
+                        out.write(b, off, len);
+                        count += len;
+                    }
+                };
+            }
+            return body;
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return delegate.getHeaders();
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.mindhub.todolist.events;
+
+import com.mindhub.todolist.dtos.TaskFilterDTO;
+import com.mindhub.todolist.models.TaskEntity;
+
+import java.util.List;
+
+// Set-based change applied with one statement, listeners replay it against their own state.
+// previous holds the affected rows as they were when the statement returned them, null otherwise.
+public record TaskBulkChangedEvent(Kind kind,
+                                   TaskFilterDTO filter,
+                                   TaskEntity.TaskStatus newStatus,
+                                   Long fromUserId,
+                                   Long toUserId,
+                                   long affected,
+                                   List<TaskSnapshot> previous) {
+
+    public static TaskBulkChangedEvent statusChanged(TaskFilterDTO filter, TaskEntity.TaskStatus newStatus, long affected) {
+        return new TaskBulkChangedEvent(Kind.STATUS_CHANGED, filter, newStatus, null, null, affected, null);
+    }
+
+    public static TaskBulkChangedEvent statusChanged(TaskFilterDTO filter, TaskEntity.TaskStatus newStatus,
+                                                     List<TaskSnapshot> previous) {
+        return new TaskBulkChangedEvent(Kind.STATUS_CHANGED, filter, newStatus, null, null, previous.size(), previous);
+    }
+
+    public static TaskBulkChangedEvent deleted(TaskFilterDTO filter, long affected) {
+        return new TaskBulkChangedEvent(Kind.DELETED, filter, null, null, null, affected, null);
+    }
+
+    public static TaskBulkChangedEvent deleted(TaskFilterDTO filter, List<TaskSnapshot> previous) {
+        return new TaskBulkChangedEvent(Kind.DELETED, filter, null, null, null, previous.size(), previous);
+    }
+
+    public static TaskBulkChangedEvent reassigned(Long fromUserId, Long toUserId, long affected) {
+        return new TaskBulkChangedEvent(Kind.REASSIGNED, null, null, fromUserId, toUserId, affected, null);
+    }
+
+    public boolean matches(TaskSnapshot task) {
+        if (kind == Kind.REASSIGNED) {
+            return fromUserId.equals(task.ownerId());
+        }
+        if (filter.getStatus() != null && filter.getStatus() != task.status()) {
+            return false;
+        }
+        if (filter.getOwnerId() != null && !filter.getOwnerId().equals(task.ownerId())) {
+            return false;
+        }
+        return filter.getIds() == null || filter.getIds().isEmpty() || filter.getIds().contains(task.id());
+    }
+
+    public TaskSnapshot apply(TaskSnapshot task) {
+        return switch (kind) {
+            case STATUS_CHANGED -> new TaskSnapshot(task.id(), task.title(), task.description(), newStatus, task.ownerId());
+            case REASSIGNED -> new TaskSnapshot(task.id(), task.title(), task.description(), task.status(), toUserId);
+            case DELETED -> null;
+        };
+    }
+
+    public enum Kind {
+        STATUS_CHANGED,
+        DELETED,
+        REASSIGNED,
+    }
+}
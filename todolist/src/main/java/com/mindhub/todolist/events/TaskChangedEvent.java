@@ -0,0 +1,21 @@
+package com.mindhub.todolist.events;
+
+// Single task change: before is null on create, after is null on delete
+public record TaskChangedEvent(TaskSnapshot before, TaskSnapshot after) {
+
+    public static TaskChangedEvent created(TaskSnapshot task) {
+        return new TaskChangedEvent(null, task);
+    }
+
+    public static TaskChangedEvent updated(TaskSnapshot before, TaskSnapshot after) {
+        return new TaskChangedEvent(before, after);
+    }
+
+    public static TaskChangedEvent deleted(TaskSnapshot task) {
+        return new TaskChangedEvent(task, null);
+    }
+
+    public Long taskId() {
+        return after != null ? after.id() : before.id();
+    }
+}
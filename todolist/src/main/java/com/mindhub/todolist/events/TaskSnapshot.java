@@ -0,0 +1,16 @@
+package com.mindhub.todolist.events;
+
+import com.mindhub.todolist.models.TaskEntity;
+
+// Detached copy of a task's state, safe to hand to listeners after the entity changes
+public record TaskSnapshot(Long id,
+                           String title,
+                           String description,
+                           TaskEntity.TaskStatus status,
+                           Long ownerId) {
+
+    public static TaskSnapshot of(TaskEntity task) {
+        Long ownerId = task.getUserEntity() != null ? task.getUserEntity().getId() : null;
+        return new TaskSnapshot(task.getId(), task.getTitle(), task.getDescription(), task.getStatus(), ownerId);
+    }
+}
@@ -0,0 +1,5 @@
+package com.mindhub.todolist.events;
+
+// A user's credentials, role or existence changed; anything cached under the email is stale
+public record UserChangedEvent(Long userId, String email) {
+}
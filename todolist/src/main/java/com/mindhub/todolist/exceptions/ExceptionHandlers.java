@@ -1,9 +1,17 @@
 package com.mindhub.todolist.exceptions;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.AuthenticationException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
 
+import java.util.concurrent.RejectedExecutionException;
+
+// Status codes for the service exceptions, for every controller. The controllers already rethrow
+// these exceptions expecting them to be mapped here; before it was registered they all ended in a 500.
+@RestControllerAdvice
 public class ExceptionHandlers {
     @ExceptionHandler(UserNotFoundException.class)
     public ResponseEntity<String> userNotFoundExceptionHandler(UserNotFoundException userNotFoundException){
@@ -20,9 +28,50 @@ public class ExceptionHandlers {
         return new ResponseEntity<>(userAlreadyExistsException.getMessage(), HttpStatus.CONFLICT);
     }
 
+    @ExceptionHandler(TaskVersionConflictException.class)
+    public ResponseEntity<String> taskVersionConflictExceptionHandler(TaskVersionConflictException taskVersionConflictException) {
+        return new ResponseEntity<>(taskVersionConflictException.getMessage(), HttpStatus.CONFLICT);
+    }
+
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ResponseEntity<String> preconditionFailedExceptionHandler(PreconditionFailedException preconditionFailedException) {
+        return new ResponseEntity<>(preconditionFailedException.getMessage(), HttpStatus.PRECONDITION_FAILED);
+    }
+
     @ExceptionHandler(UnauthorizedUserException.class)
     public ResponseEntity<String> unauthorizedUserExceptionHandler(UnauthorizedUserException unauthorizedUserException){
         return new ResponseEntity<>(unauthorizedUserException.getMessage(), HttpStatus.FORBIDDEN);
     }
 
+    @ExceptionHandler(InvalidRequestException.class)
+    public ResponseEntity<String> invalidRequestExceptionHandler(InvalidRequestException invalidRequestException) {
+        return new ResponseEntity<>(invalidRequestException.getMessage(), HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(AuthenticationException.class)
+    public ResponseEntity<String> authenticationExceptionHandler(AuthenticationException authenticationException) {
+        return new ResponseEntity<>("Invalid email or password", HttpStatus.FORBIDDEN);
+    }
+
+    // The password hashing pool is saturated, the client should back off and retry
+    @ExceptionHandler(RejectedExecutionException.class)
+    public ResponseEntity<String> rejectedExecutionExceptionHandler(RejectedExecutionException rejectedExecutionException) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body("Server is busy, please retry");
+    }
+
+    // Only thrown with todolist.sql.budget.mode=reject, meant to make a query regression fail loudly
+    @ExceptionHandler(SqlBudgetExceededException.class)
+    public ResponseEntity<String> sqlBudgetExceededExceptionHandler(SqlBudgetExceededException sqlBudgetExceededException) {
+        return new ResponseEntity<>(sqlBudgetExceededException.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR);
+    }
+
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ResponseEntity<String> tooManyRequestsExceptionHandler(TooManyRequestsException tooManyRequestsException) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, Long.toString(tooManyRequestsException.getRetryAfterSeconds()))
+                .body(tooManyRequestsException.getMessage());
+    }
+
 }
@@ -0,0 +1,7 @@
+package com.mindhub.todolist.exceptions;
+
+public class InvalidRequestException extends RuntimeException {
+    public InvalidRequestException(String message) {
+        super(message);
+    }
+}
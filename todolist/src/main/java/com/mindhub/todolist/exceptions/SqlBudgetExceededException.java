@@ -0,0 +1,7 @@
+package com.mindhub.todolist.exceptions;
+
+public class SqlBudgetExceededException extends RuntimeException {
+    public SqlBudgetExceededException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.mindhub.todolist.exceptions;
+
+public class TaskVersionConflictException extends RuntimeException {
+    public TaskVersionConflictException(String message) {
+        super(message);
+    }
+}
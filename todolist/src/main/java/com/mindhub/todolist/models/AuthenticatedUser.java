@@ -0,0 +1,12 @@
+package com.mindhub.todolist.models;
+
+import org.springframework.security.core.AuthenticatedPrincipal;
+
+// Principal of an authenticated request, resolved once by the JWT filter and handed to the services
+public record AuthenticatedUser(Long id, String email, RoleType role) implements AuthenticatedPrincipal {
+
+    @Override
+    public String getName() {
+        return email;
+    }
+}
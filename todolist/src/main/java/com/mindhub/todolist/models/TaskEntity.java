@@ -1,15 +1,24 @@
 package com.mindhub.todolist.models;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class TaskEntity {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Sequence ids (pooled in blocks of 50) let Hibernate batch inserts, IDENTITY can't
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "task_entity_seq")
+    @SequenceGenerator(name = "task_entity_seq", sequenceName = "task_entity_seq", allocationSize = 50)
     private Long id;
     private String title, description;
     private TaskStatus status;
 
+    @Version
+    private long version;
+
     public TaskEntity() {
 
     }
@@ -20,13 +29,17 @@ public class TaskEntity {
         this.status = status;
     }
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     private UserEntity userEntity;
 
     public Long getId() {
         return id;
     }
 
+    public long getVersion() {
+        return version;
+    }
+
     public TaskStatus getStatus() {
         return status;
     }
@@ -2,11 +2,19 @@ package com.mindhub.todolist.models;
 
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 
 import java.util.HashSet;
 import java.util.Set;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@NaturalIdCache // email -> id, so findByEmail can skip the query
 public class UserEntity {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -17,11 +25,18 @@ public class UserEntity {
     
     @NotBlank
     private String password;
+    @NaturalId(mutable = true)
     @Column(unique = true)
     private String email;
     private RoleType role = RoleType.USER;
 
+    // Copied into issued tokens; bumping it invalidates every token issued before
+    @Column(nullable = false)
+    private int tokenVersion;
+
     @OneToMany(mappedBy = "userEntity", cascade = CascadeType.REMOVE, orphanRemoval = true)
+    @BatchSize(size = 100) // Fallback for paths that don't use an entity graph
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     private Set<TaskEntity> tasks = new HashSet<>();
 
     public UserEntity() { // Hibernate
@@ -78,6 +93,14 @@ public class UserEntity {
         this.role = role;
     }
 
+    public int getTokenVersion() {
+        return tokenVersion;
+    }
+
+    public void bumpTokenVersion() {
+        this.tokenVersion++;
+    }
+
     public void addTask(TaskEntity task) {
         task.setUserEntity(this);
         this.tasks.add(task);
@@ -1,16 +1,58 @@
 package com.mindhub.todolist.repositories;
 
+import com.mindhub.todolist.events.TaskSnapshot;
 import com.mindhub.todolist.models.TaskEntity;
 import com.mindhub.todolist.models.UserEntity;
+import com.mindhub.todolist.stats.TaskStatusCount;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
-public interface TaskEntityRepository extends JpaRepository<TaskEntity, Long> {
+public interface TaskEntityRepository extends JpaRepository<TaskEntity, Long>, TaskEntityRepositoryCustom {
     List<TaskEntity> findByStatus(TaskEntity.TaskStatus status);
     List<TaskEntity> findByUserEntityAndStatus(UserEntity user, TaskEntity.TaskStatus status);
     List<TaskEntity> findByTitle(String title);
     Long countByStatus(TaskEntity.TaskStatus status);
-}
 
+    @Query("select t.version from TaskEntity t where t.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    // Keyset pagination: seek past the last id instead of using OFFSET
+    List<TaskEntity> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+    List<TaskEntity> findByStatusAndIdGreaterThanOrderByIdAsc(TaskEntity.TaskStatus status, Long id, Limit limit);
+
+    // Scrolls the table for exports; callers must consume it inside a transaction
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "IGNORE") // Don't churn the hot entries
+    })
+    @Query("select t from TaskEntity t order by t.id")
+    Stream<TaskEntity> streamAll();
 
+    // Flat rows for in-memory indexes, no entities end up in the persistence context
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("select new com.mindhub.todolist.events.TaskSnapshot(t.id, t.title, t.description, t.status, u.id) " +
+            "from TaskEntity t left join t.userEntity u")
+    Stream<TaskSnapshot> streamSnapshots();
+
+    // Seeds the dashboard counters with a single scan
+    @Query("select new com.mindhub.todolist.stats.TaskStatusCount(u.id, t.status, count(t)) " +
+            "from TaskEntity t left join t.userEntity u group by u.id, t.status")
+    List<TaskStatusCount> countByOwnerAndStatus();
+
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update TaskEntity t set t.userEntity = :to, t.version = t.version + 1 where t.userEntity = :from")
+    int reassignTasks(@Param("from") UserEntity from, @Param("to") UserEntity to);
+}
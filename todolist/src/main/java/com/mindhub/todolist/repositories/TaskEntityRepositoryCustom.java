@@ -0,0 +1,24 @@
+package com.mindhub.todolist.repositories;
+
+import com.mindhub.todolist.dtos.TaskFilterDTO;
+import com.mindhub.todolist.models.TaskEntity;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface TaskEntityRepositoryCustom {
+    int updateStatusByFilter(TaskFilterDTO filter, TaskEntity.TaskStatus newStatus);
+    int deleteByFilter(TaskFilterDTO filter);
+
+    // Same writes, also returning every affected row as it was before. Meant for filters on an id
+    // list, where the result is bounded.
+    List<TaskRow> updateStatusByFilterReturningPrevious(TaskFilterDTO filter, TaskEntity.TaskStatus newStatus);
+    List<TaskRow> deleteByFilterReturningPrevious(TaskFilterDTO filter);
+
+    // Single statement writes keyed on id (and version when one is given). Each returns the row as it
+    // was before the write, empty when no row matched.
+    Optional<TaskRow> updateReturningPrevious(Long id, Long expectedVersion,
+                                              String title, String description, TaskEntity.TaskStatus status);
+    Optional<TaskRow> assignReturningPrevious(Long id, Long ownerId);
+    Optional<TaskRow> deleteReturningPrevious(Long id, Long expectedVersion);
+}
@@ -0,0 +1,357 @@
+package com.mindhub.todolist.repositories;
+
+import com.mindhub.todolist.dtos.TaskFilterDTO;
+import com.mindhub.todolist.models.TaskEntity;
+import com.mindhub.todolist.models.UserEntity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.OptimisticLockException;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaDelete;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.SessionFactory;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.dialect.H2Dialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.query.NativeQuery;
+import org.hibernate.type.StandardBasicTypes;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.BiConsumer;
+
+// Set-based UPDATE/DELETE built from whichever filter criteria are present, and writes that also
+// return the rows as they were. On H2 those read the previous rows back in the same round trip with
+// OLD TABLE (...), which other databases don't have: there the rows are locked and read first, then
+// written with Criteria statements.
+public class TaskEntityRepositoryCustomImpl implements TaskEntityRepositoryCustom {
+
+    private static final TaskEntity.TaskStatus[] STATUSES = TaskEntity.TaskStatus.values();
+    private static final String TASK_COLUMNS = "SELECT id, title, description, status, user_entity_id, version ";
+    private static final String TASKS_REGION = UserEntity.class.getName() + ".tasks";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // Whether the dialect takes OLD TABLE (...), resolved on first use
+    private Boolean oldTableSupported;
+
+    @Override
+    @Transactional
+    public int updateStatusByFilter(TaskFilterDTO filter, TaskEntity.TaskStatus newStatus) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<TaskEntity> update = cb.createCriteriaUpdate(TaskEntity.class);
+        Root<TaskEntity> task = update.from(TaskEntity.class);
+        update.set(task.<TaskEntity.TaskStatus>get("status"), newStatus)
+                .set(task.<Long>get("version"), cb.sum(task.<Long>get("version"), 1L))
+                .where(toPredicates(cb, task, filter));
+
+        // Pending changes go out first, managed entities are dropped afterwards so nobody reads stale state
+        entityManager.flush();
+        int affected = entityManager.createQuery(update).executeUpdate();
+        entityManager.clear();
+        return affected;
+    }
+
+    @Override
+    @Transactional
+    public int deleteByFilter(TaskFilterDTO filter) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaDelete<TaskEntity> delete = cb.createCriteriaDelete(TaskEntity.class);
+        Root<TaskEntity> task = delete.from(TaskEntity.class);
+        delete.where(toPredicates(cb, task, filter));
+
+        entityManager.flush();
+        int affected = entityManager.createQuery(delete).executeUpdate();
+        entityManager.clear();
+        return affected;
+    }
+
+    @Override
+    @Transactional
+    public List<TaskRow> updateStatusByFilterReturningPrevious(TaskFilterDTO filter, TaskEntity.TaskStatus newStatus) {
+        if (!supportsOldTable()) {
+            List<TaskRow> previous = lockRows(filter, null);
+            if (!previous.isEmpty()) {
+                updateLocked(previous, null, (update, task) ->
+                        update.set(task.<TaskEntity.TaskStatus>get("status"), newStatus));
+            }
+            return previous;
+        }
+        NativeQuery<?> query = nativeQuery(TASK_COLUMNS + "FROM OLD TABLE (UPDATE task_entity " +
+                "SET status = :newStatus, version = version + 1" + toWhereClause(filter) + ")");
+        query.setParameter("newStatus", newStatus.ordinal(), StandardBasicTypes.INTEGER);
+        // Owners' task lists only hold ids, a status change leaves them valid
+        return executeForPreviousRows(query, filter, false);
+    }
+
+    @Override
+    @Transactional
+    public List<TaskRow> deleteByFilterReturningPrevious(TaskFilterDTO filter) {
+        if (!supportsOldTable()) {
+            List<TaskRow> previous = lockRows(filter, null);
+            if (!previous.isEmpty()) {
+                deleteLocked(previous, null);
+            }
+            return previous;
+        }
+        NativeQuery<?> query = nativeQuery(TASK_COLUMNS + "FROM OLD TABLE (DELETE FROM task_entity" +
+                toWhereClause(filter) + ")");
+        return executeForPreviousRows(query, filter, true);
+    }
+
+    @Override
+    @Transactional
+    public Optional<TaskRow> updateReturningPrevious(Long id, Long expectedVersion,
+                                                     String title, String description, TaskEntity.TaskStatus status) {
+        if (!supportsOldTable()) {
+            return lockRow(id, expectedVersion).filter(previous -> updateLocked(List.of(previous), previous.version(),
+                    (update, task) -> update.set(task.<String>get("title"), title)
+                            .set(task.<String>get("description"), description)
+                            .set(task.<TaskEntity.TaskStatus>get("status"), status)) == 1);
+        }
+        // H2's OLD TABLE hands back the rows as they were before the UPDATE
+        NativeQuery<?> query = nativeQuery(TASK_COLUMNS + "FROM OLD TABLE (UPDATE task_entity " +
+                "SET title = :title, description = :description, status = :status, version = version + 1 " +
+                "WHERE id = :id" + (expectedVersion != null ? " AND version = :version)" : ")"));
+        query.setParameter("title", title, StandardBasicTypes.STRING);
+        query.setParameter("description", description, StandardBasicTypes.STRING);
+        query.setParameter("status", status != null ? status.ordinal() : null, StandardBasicTypes.INTEGER);
+        return executeForPrevious(query, id, expectedVersion, null);
+    }
+
+    @Override
+    @Transactional
+    public Optional<TaskRow> assignReturningPrevious(Long id, Long ownerId) {
+        if (!supportsOldTable()) {
+            return lockRow(id, null).filter(previous -> updateLocked(List.of(previous), previous.version(),
+                    (update, task) -> {
+                        if (ownerId != null) {
+                            update.set(task.<UserEntity>get("userEntity"), entityManager.getReference(UserEntity.class, ownerId));
+                        } else {
+                            update.set(task.<UserEntity>get("userEntity"), entityManager.getCriteriaBuilder().nullLiteral(UserEntity.class));
+                        }
+                    }) == 1);
+        }
+        NativeQuery<?> query = nativeQuery(TASK_COLUMNS + "FROM OLD TABLE (UPDATE task_entity " +
+                "SET user_entity_id = :ownerId, version = version + 1 WHERE id = :id)");
+        query.setParameter("ownerId", ownerId, StandardBasicTypes.LONG);
+        return executeForPrevious(query, id, null, ownerId);
+    }
+
+    @Override
+    @Transactional
+    public Optional<TaskRow> deleteReturningPrevious(Long id, Long expectedVersion) {
+        if (!supportsOldTable()) {
+            return lockRow(id, expectedVersion)
+                    .filter(previous -> deleteLocked(List.of(previous), previous.version()) == 1);
+        }
+        NativeQuery<?> query = nativeQuery(TASK_COLUMNS + "FROM OLD TABLE (DELETE FROM task_entity " +
+                "WHERE id = :id" + (expectedVersion != null ? " AND version = :version)" : ")"));
+        return executeForPrevious(query, id, expectedVersion, null);
+    }
+
+    private boolean supportsOldTable() {
+        if (oldTableSupported == null) {
+            Dialect dialect = entityManager.getEntityManagerFactory().unwrap(SessionFactoryImplementor.class)
+                    .getJdbcServices().getDialect();
+            oldTableSupported = dialect instanceof H2Dialect;
+        }
+        return oldTableSupported;
+    }
+
+    private Optional<TaskRow> lockRow(Long id, Long expectedVersion) {
+        return lockRows(new TaskFilterDTO(null, null, List.of(id)), expectedVersion).stream().findFirst();
+    }
+
+    // The portable way to get the rows as they were: SELECT ... FOR UPDATE (in the dialect's syntax)
+    // so nobody changes them before the write that follows
+    private List<TaskRow> lockRows(TaskFilterDTO filter, Long expectedVersion) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<TaskEntity> query = cb.createQuery(TaskEntity.class);
+        Root<TaskEntity> task = query.from(TaskEntity.class);
+        List<Predicate> predicates = new ArrayList<>(List.of(toPredicates(cb, task, filter)));
+        if (expectedVersion != null) {
+            predicates.add(cb.equal(task.get("version"), expectedVersion));
+        }
+        query.where(predicates.toArray(new Predicate[0]));
+
+        entityManager.flush();
+        List<TaskRow> rows = entityManager.createQuery(query)
+                .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+                .getResultList().stream()
+                .map(TaskEntityRepositoryCustomImpl::toTaskRow)
+                .toList();
+        entityManager.clear();
+        return rows;
+    }
+
+    // Writes the locked rows. With a version, a single row is only written if it still has it, in
+    // case the database didn't honour the lock. Hibernate invalidates the cache regions of a
+    // Criteria write itself.
+    private int updateLocked(List<TaskRow> rows, Long expectedVersion,
+                             BiConsumer<CriteriaUpdate<TaskEntity>, Root<TaskEntity>> changes) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<TaskEntity> update = cb.createCriteriaUpdate(TaskEntity.class);
+        Root<TaskEntity> task = update.from(TaskEntity.class);
+        changes.accept(update, task);
+        update.set(task.<Long>get("version"), cb.sum(task.<Long>get("version"), 1L))
+                .where(lockedRowPredicates(cb, task, rows, expectedVersion));
+        return checkAffected(entityManager.createQuery(update).executeUpdate(), rows, expectedVersion);
+    }
+
+    private int deleteLocked(List<TaskRow> rows, Long expectedVersion) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaDelete<TaskEntity> delete = cb.createCriteriaDelete(TaskEntity.class);
+        Root<TaskEntity> task = delete.from(TaskEntity.class);
+        delete.where(lockedRowPredicates(cb, task, rows, expectedVersion));
+        return checkAffected(entityManager.createQuery(delete).executeUpdate(), rows, expectedVersion);
+    }
+
+    private static Predicate[] lockedRowPredicates(CriteriaBuilder cb, Root<TaskEntity> task,
+                                                   List<TaskRow> rows, Long expectedVersion) {
+        Predicate byId = task.get("id").in(rows.stream().map(TaskRow::id).toList());
+        return expectedVersion != null
+                ? new Predicate[] {byId, cb.equal(task.get("version"), expectedVersion)}
+                : new Predicate[] {byId};
+    }
+
+    // Rows written without a version check must all be there, or the returned rows would be wrong
+    private static int checkAffected(int affected, List<TaskRow> rows, Long expectedVersion) {
+        if (expectedVersion == null && affected != rows.size()) {
+            throw new OptimisticLockException("Locked tasks changed before they could be written");
+        }
+        return affected;
+    }
+
+    private NativeQuery<?> nativeQuery(String sql) {
+        return entityManager.createNativeQuery(sql).unwrap(NativeQuery.class);
+    }
+
+    private Optional<TaskRow> executeForPrevious(NativeQuery<?> query, Long id, Long expectedVersion, Long newOwnerId) {
+        query.setParameter("id", id, StandardBasicTypes.LONG);
+        if (expectedVersion != null) {
+            query.setParameter("version", expectedVersion, StandardBasicTypes.LONG);
+        }
+        // Same as the bulk writes: flush pending changes first, drop managed entities afterwards
+        entityManager.flush();
+        List<?> rows = query.getResultList();
+        entityManager.clear();
+        if (rows.isEmpty()) {
+            return Optional.empty();
+        }
+        TaskRow previous = toTaskRow((Object[]) rows.get(0));
+        // Hibernate runs this as a query and doesn't know it wrote anything, so its bulk invalidation
+        // doesn't happen: the cached task and its owners' task lists are evicted by hand
+        evictAfterCompletion(List.of(previous.id()), Arrays.asList(previous.ownerId(), newOwnerId));
+        return Optional.of(previous);
+    }
+
+    private List<TaskRow> executeForPreviousRows(NativeQuery<?> query, TaskFilterDTO filter, boolean ownersChange) {
+        bindFilter(query, filter);
+        entityManager.flush();
+        List<?> rows = query.getResultList();
+        entityManager.clear();
+        List<TaskRow> previous = new ArrayList<>(rows.size());
+        for (Object row : rows) {
+            previous.add(toTaskRow((Object[]) row));
+        }
+        if (!previous.isEmpty()) {
+            evictAfterCompletion(previous.stream().map(TaskRow::id).toList(),
+                                 ownersChange ? previous.stream().map(TaskRow::ownerId).distinct().toList() : List.of());
+        }
+        return previous;
+    }
+
+    private void evictAfterCompletion(List<Long> taskIds, List<Long> ownerIds) {
+        Runnable evict = () -> {
+            SessionFactory sessionFactory = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class);
+            for (Long taskId : taskIds) {
+                sessionFactory.getCache().evictEntityData(TaskEntity.class, taskId);
+            }
+            for (Long ownerId : ownerIds) {
+                if (ownerId != null) {
+                    sessionFactory.getCache().evictCollectionData(TASKS_REGION, ownerId);
+                }
+            }
+        };
+        evict.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // Again once committed, in case a concurrent read cached the old row in between
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evict.run();
+                }
+            });
+        }
+    }
+
+    private static TaskRow toTaskRow(TaskEntity task) {
+        return new TaskRow(task.getId(),
+                           task.getTitle(),
+                           task.getDescription(),
+                           task.getStatus(),
+                           task.getUserEntity() != null ? task.getUserEntity().getId() : null,
+                           task.getVersion());
+    }
+
+    private static TaskRow toTaskRow(Object[] row) {
+        return new TaskRow(((Number) row[0]).longValue(),
+                           (String) row[1],
+                           (String) row[2],
+                           row[3] != null ? STATUSES[((Number) row[3]).intValue()] : null,
+                           row[4] != null ? ((Number) row[4]).longValue() : null,
+                           ((Number) row[5]).longValue());
+    }
+
+    // The filter as native SQL, the counterpart of toPredicates
+    private static String toWhereClause(TaskFilterDTO filter) {
+        List<String> conditions = new ArrayList<>();
+        if (filter.getStatus() != null) {
+            conditions.add("status = :status");
+        }
+        if (filter.getOwnerId() != null) {
+            conditions.add("user_entity_id = :ownerId");
+        }
+        if (filter.getIds() != null && !filter.getIds().isEmpty()) {
+            conditions.add("id IN (:ids)");
+        }
+        return conditions.isEmpty() ? "" : " WHERE " + String.join(" AND ", conditions);
+    }
+
+    private static void bindFilter(NativeQuery<?> query, TaskFilterDTO filter) {
+        if (filter.getStatus() != null) {
+            query.setParameter("status", filter.getStatus().ordinal(), StandardBasicTypes.INTEGER);
+        }
+        if (filter.getOwnerId() != null) {
+            query.setParameter("ownerId", filter.getOwnerId(), StandardBasicTypes.LONG);
+        }
+        if (filter.getIds() != null && !filter.getIds().isEmpty()) {
+            query.setParameterList("ids", filter.getIds(), StandardBasicTypes.LONG);
+        }
+    }
+
+    private static Predicate[] toPredicates(CriteriaBuilder cb, Root<TaskEntity> task, TaskFilterDTO filter) {
+        List<Predicate> predicates = new ArrayList<>();
+        if (filter.getStatus() != null) {
+            predicates.add(cb.equal(task.get("status"), filter.getStatus()));
+        }
+        if (filter.getOwnerId() != null) {
+            predicates.add(cb.equal(task.get("userEntity").get("id"), filter.getOwnerId()));
+        }
+        if (filter.getIds() != null && !filter.getIds().isEmpty()) {
+            predicates.add(task.get("id").in(filter.getIds()));
+        }
+        return predicates.toArray(new Predicate[0]);
+    }
+}
@@ -0,0 +1,64 @@
+package com.mindhub.todolist.repositories;
+
+import com.mindhub.todolist.dtos.TaskEntityDTO;
+import com.mindhub.todolist.models.TaskEntity;
+import io.r2dbc.spi.Readable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+// Read-only task queries over R2DBC, mapped straight to DTOs without going through the persistence context
+@Repository
+public class TaskReactiveRepository {
+
+    private static final String SELECT_TASK = "SELECT id, title, description, status, version FROM task_entity";
+    private static final TaskEntity.TaskStatus[] STATUSES = TaskEntity.TaskStatus.values();
+
+    @Autowired
+    private DatabaseClient reactiveDatabaseClient;
+
+    // Rows fetched per round trip; the cursor only advances as fast as the subscriber requests
+    @Value("${todolist.reactive.fetch-size:256}")
+    private int fetchSize;
+
+    public Mono<TaskEntityDTO> findById(Long id) {
+        return reactiveDatabaseClient.sql(SELECT_TASK + " WHERE id = :id")
+                .bind("id", id)
+                .map(TaskReactiveRepository::toDTO)
+                .one();
+    }
+
+    public Flux<TaskEntityDTO> findAll(TaskEntity.TaskStatus status, Long ownerId) {
+        StringBuilder sql = new StringBuilder(SELECT_TASK).append(" WHERE 1 = 1");
+        if (status != null) {
+            sql.append(" AND status = :status");
+        }
+        if (ownerId != null) {
+            sql.append(" AND user_entity_id = :ownerId");
+        }
+        sql.append(" ORDER BY id");
+
+        DatabaseClient.GenericExecuteSpec spec = reactiveDatabaseClient.sql(sql.toString())
+                .filter((statement, next) -> next.execute(statement.fetchSize(fetchSize)));
+        if (status != null) {
+            spec = spec.bind("status", status.ordinal());
+        }
+        if (ownerId != null) {
+            spec = spec.bind("ownerId", ownerId);
+        }
+        return spec.map(TaskReactiveRepository::toDTO).all();
+    }
+
+    private static TaskEntityDTO toDTO(Readable row) {
+        // TINYINT comes back as a Byte
+        Number status = (Number) row.get("status");
+        return new TaskEntityDTO(row.get("id", Long.class),
+                                 row.get("title", String.class),
+                                 row.get("description", String.class),
+                                 status == null ? null : STATUSES[status.intValue()],
+                                 row.get("version", Long.class));
+    }
+}
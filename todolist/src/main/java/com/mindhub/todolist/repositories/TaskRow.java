@@ -0,0 +1,31 @@
+package com.mindhub.todolist.repositories;
+
+import com.mindhub.todolist.dtos.TaskEntityDTO;
+import com.mindhub.todolist.events.TaskSnapshot;
+import com.mindhub.todolist.models.TaskEntity;
+
+// A task row read back from a data change statement, without an entity behind it
+public record TaskRow(Long id,
+                      String title,
+                      String description,
+                      TaskEntity.TaskStatus status,
+                      Long ownerId,
+                      long version) {
+
+    // The row after an update of its fields, which also bumps the version
+    public TaskRow withFields(String title, String description, TaskEntity.TaskStatus status) {
+        return new TaskRow(id, title, description, status, ownerId, version + 1);
+    }
+
+    public TaskRow withOwner(Long ownerId) {
+        return new TaskRow(id, title, description, status, ownerId, version + 1);
+    }
+
+    public TaskSnapshot toSnapshot() {
+        return new TaskSnapshot(id, title, description, status, ownerId);
+    }
+
+    public TaskEntityDTO toDTO() {
+        return new TaskEntityDTO(id, title, description, status, version);
+    }
+}
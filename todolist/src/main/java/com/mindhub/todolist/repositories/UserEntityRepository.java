@@ -2,15 +2,55 @@ package com.mindhub.todolist.repositories;
 
 import com.mindhub.todolist.models.RoleType;
 import com.mindhub.todolist.models.UserEntity;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
-public interface UserEntityRepository extends JpaRepository<UserEntity, Long> {
+public interface UserEntityRepository extends JpaRepository<UserEntity, Long>, UserEntityRepositoryCustom {
+    // Username isn't unique so it can't be a natural id; the result goes to the query cache instead
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<UserEntity> findByUsername(String username);
-    Optional<UserEntity> findByEmail(String email);
     boolean existsByEmail(String email);
     boolean existsByUsername(String username);
     List<UserEntity> findByRole(RoleType role);
+
+    // Read paths that build UserEntityDTO load the tasks in the same statement
+    @EntityGraph(attributePaths = "tasks")
+    @Query("select u from UserEntity u")
+    List<UserEntity> findAllWithTasks();
+
+    @EntityGraph(attributePaths = "tasks")
+    Optional<UserEntity> findWithTasksById(Long id);
+
+    @EntityGraph(attributePaths = "tasks")
+    List<UserEntity> findWithTasksByIdInOrderByIdAsc(Collection<Long> ids);
+
+    @Query("select u.tokenVersion from UserEntity u where u.id = :id")
+    Optional<Integer> findTokenVersionById(@Param("id") Long id);
+
+    // Keyset pagination: seek past the last id instead of using OFFSET
+    @Query("select u.id from UserEntity u where u.id > :id order by u.id")
+    List<Long> findIdsAfter(@Param("id") Long id, Limit limit);
+
+    @Query("select u.id from UserEntity u where u.role = :role and u.id > :id order by u.id")
+    List<Long> findIdsByRoleAfter(@Param("role") RoleType role, @Param("id") Long id, Limit limit);
+
+    // Scrolls the table for exports; callers must consume it inside a transaction
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "IGNORE") // Don't churn the hot entries
+    })
+    @Query("select u from UserEntity u order by u.id")
+    Stream<UserEntity> streamAll();
 }
@@ -0,0 +1,9 @@
+package com.mindhub.todolist.repositories;
+
+import com.mindhub.todolist.models.UserEntity;
+
+import java.util.Optional;
+
+public interface UserEntityRepositoryCustom {
+    Optional<UserEntity> findByEmail(String email);
+}
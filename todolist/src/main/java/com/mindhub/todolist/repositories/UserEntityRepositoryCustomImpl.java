@@ -0,0 +1,27 @@
+package com.mindhub.todolist.repositories;
+
+import com.mindhub.todolist.models.UserEntity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+// Email is the natural id: a cached lookup resolves email -> id -> entity without touching the database
+public class UserEntityRepositoryCustomImpl implements UserEntityRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<UserEntity> findByEmail(String email) {
+        if (email == null) {
+            return Optional.empty();
+        }
+        return entityManager.unwrap(Session.class)
+                .bySimpleNaturalId(UserEntity.class)
+                .loadOptional(email);
+    }
+}
@@ -0,0 +1,322 @@
+package com.mindhub.todolist.search;
+
+import com.mindhub.todolist.dtos.TaskFilterDTO;
+import com.mindhub.todolist.dtos.TaskSearchHitDTO;
+import com.mindhub.todolist.events.TaskBulkChangedEvent;
+import com.mindhub.todolist.events.TaskChangedEvent;
+import com.mindhub.todolist.events.TaskSnapshot;
+import com.mindhub.todolist.models.TaskEntity;
+import com.mindhub.todolist.repositories.TaskEntityRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+// In-memory inverted index over task titles and descriptions, ranked with BM25
+@Component
+public class TaskSearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskSearchIndex.class);
+
+    private static final int TITLE_WEIGHT = 3; // A title hit counts like three description hits
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "an", "and", "are", "as", "at", "be", "by", "for", "from",
+            "in", "is", "it", "of", "on", "or", "the", "to", "with");
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // term -> task id -> weighted term frequency
+    private Map<String, Map<Long, Integer>> postings = new HashMap<>();
+    private Map<Long, IndexedTask> tasks = new HashMap<>();
+    // owner id -> ids of their tasks, so bulk changes by owner don't scan every task
+    private Map<Long, Set<Long>> tasksByOwner = new HashMap<>();
+    private long totalLength;
+    // Set while rebuild() reads the tasks: changes made meanwhile may be missing from what it read,
+    // so they are replayed on the new index before it replaces this one
+    private List<Consumer<TaskSearchIndex>> changesDuringRebuild;
+
+    @Autowired
+    private TaskEntityRepository taskRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            changesDuringRebuild = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        TaskSearchIndex fresh = new TaskSearchIndex();
+        try {
+            TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+            readOnly.setReadOnly(true);
+            readOnly.executeWithoutResult(status -> {
+                try (Stream<TaskSnapshot> snapshots = taskRepository.streamSnapshots()) {
+                    snapshots.forEach(fresh::index);
+                }
+            });
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                changesDuringRebuild = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+
+        int replayed;
+        lock.writeLock().lock();
+        try {
+            // In the order they happened, so the latest state of each task wins
+            changesDuringRebuild.forEach(change -> change.accept(fresh));
+            replayed = changesDuringRebuild.size();
+            changesDuringRebuild = null;
+            postings = fresh.postings;
+            tasks = fresh.tasks;
+            tasksByOwner = fresh.tasksByOwner;
+            totalLength = fresh.totalLength;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Task search index built with {} tasks and {} terms, {} changes replayed",
+                fresh.tasks.size(), fresh.postings.size(), replayed);
+    }
+
+    @EventListener
+    public void onTaskChanged(TaskChangedEvent event) {
+        if (event.after() == null) {
+            remove(event.taskId());
+        } else {
+            index(event.after());
+        }
+    }
+
+    @EventListener
+    public void onTasksBulkChanged(TaskBulkChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            recordLocked(index -> index.onTasksBulkChanged(event));
+            List<IndexedTask> matching = candidatesLocked(event).stream()
+                    .map(tasks::get)
+                    .filter(task -> task != null && event.matches(task.snapshot()))
+                    .toList();
+            for (IndexedTask task : matching) {
+                TaskSnapshot changed = event.apply(task.snapshot());
+                if (changed == null) {
+                    removeLocked(task.snapshot().id());
+                } else {
+                    // Only status/owner moved, the text and its postings stay as they are
+                    tasks.put(changed.id(), new IndexedTask(changed, task.termFrequencies(), task.length()));
+                    if (!Objects.equals(changed.ownerId(), task.snapshot().ownerId())) {
+                        removeOwnerLocked(task.snapshot());
+                        addOwnerLocked(changed);
+                    }
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void index(TaskSnapshot task) {
+        Map<String, Integer> termFrequencies = new HashMap<>();
+        for (String term : tokenize(task.title())) {
+            termFrequencies.merge(term, TITLE_WEIGHT, Integer::sum);
+        }
+        for (String term : tokenize(task.description())) {
+            termFrequencies.merge(term, 1, Integer::sum);
+        }
+        int length = termFrequencies.values().stream().mapToInt(Integer::intValue).sum();
+
+        lock.writeLock().lock();
+        try {
+            recordLocked(index -> index.index(task));
+            removeLocked(task.id());
+            termFrequencies.forEach((term, frequency) ->
+                    postings.computeIfAbsent(term, key -> new HashMap<>()).put(task.id(), frequency));
+            tasks.put(task.id(), new IndexedTask(task, termFrequencies, length));
+            addOwnerLocked(task);
+            totalLength += length;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long taskId) {
+        lock.writeLock().lock();
+        try {
+            recordLocked(index -> index.remove(taskId));
+            removeLocked(taskId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<TaskSearchHitDTO> search(String query, TaskEntity.TaskStatus status, Long ownerId, int limit) {
+        List<String> terms = tokenize(query).stream().distinct().toList();
+        if (terms.isEmpty() || limit < 1) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            int taskCount = tasks.size();
+            if (taskCount == 0) {
+                return List.of();
+            }
+            double averageLength = (double) totalLength / taskCount;
+            Map<Long, Double> scores = new HashMap<>();
+            for (String term : terms) {
+                Map<Long, Integer> termPostings = postings.get(term);
+                if (termPostings == null) {
+                    continue;
+                }
+                double idf = Math.log(1 + (taskCount - termPostings.size() + 0.5) / (termPostings.size() + 0.5));
+                for (Map.Entry<Long, Integer> posting : termPostings.entrySet()) {
+                    IndexedTask task = tasks.get(posting.getKey());
+                    if (!task.matches(status, ownerId)) {
+                        continue;
+                    }
+                    int frequency = posting.getValue();
+                    double norm = K1 * (1 - B + B * task.length() / averageLength);
+                    scores.merge(posting.getKey(), idf * frequency * (K1 + 1) / (frequency + norm), Double::sum);
+                }
+            }
+
+            // Keep only the best `limit` hits instead of sorting every match
+            PriorityQueue<Map.Entry<Long, Double>> best = new PriorityQueue<>(Map.Entry.comparingByValue());
+            for (Map.Entry<Long, Double> score : scores.entrySet()) {
+                best.offer(score);
+                if (best.size() > limit) {
+                    best.poll();
+                }
+            }
+            List<TaskSearchHitDTO> hits = new ArrayList<>(best.size());
+            while (!best.isEmpty()) {
+                Map.Entry<Long, Double> score = best.poll();
+                TaskSnapshot task = tasks.get(score.getKey()).snapshot();
+                hits.add(new TaskSearchHitDTO(task.id(), task.title(), task.description(),
+                                              task.status(), task.ownerId(), score.getValue()));
+            }
+            Collections.reverse(hits);
+            return hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return tasks.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        List<String> tokens = new ArrayList<>();
+        for (String token : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (token.length() > 1 && !STOP_WORDS.contains(token)) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    // Ids the event can touch: the listed ids or the owner's tasks when it names them, every task
+    // only for a filter on status alone. Copied, since applying the event moves tasks between owners.
+    private Collection<Long> candidatesLocked(TaskBulkChangedEvent event) {
+        if (event.kind() == TaskBulkChangedEvent.Kind.REASSIGNED) {
+            return List.copyOf(tasksByOwner.getOrDefault(event.fromUserId(), Set.of()));
+        }
+        TaskFilterDTO filter = event.filter();
+        if (filter.getIds() != null && !filter.getIds().isEmpty()) {
+            return filter.getIds();
+        }
+        if (filter.getOwnerId() != null) {
+            return List.copyOf(tasksByOwner.getOrDefault(filter.getOwnerId(), Set.of()));
+        }
+        return List.copyOf(tasks.keySet());
+    }
+
+    private void recordLocked(Consumer<TaskSearchIndex> change) {
+        if (changesDuringRebuild != null) {
+            changesDuringRebuild.add(change);
+        }
+    }
+
+    private void addOwnerLocked(TaskSnapshot task) {
+        if (task.ownerId() != null) {
+            tasksByOwner.computeIfAbsent(task.ownerId(), key -> new HashSet<>()).add(task.id());
+        }
+    }
+
+    private void removeOwnerLocked(TaskSnapshot task) {
+        if (task.ownerId() == null) {
+            return;
+        }
+        Set<Long> owned = tasksByOwner.get(task.ownerId());
+        if (owned != null) {
+            owned.remove(task.id());
+            if (owned.isEmpty()) {
+                tasksByOwner.remove(task.ownerId());
+            }
+        }
+    }
+
+    private void removeLocked(Long taskId) {
+        IndexedTask removed = tasks.remove(taskId);
+        if (removed == null) {
+            return;
+        }
+        removeOwnerLocked(removed.snapshot());
+        for (String term : removed.termFrequencies().keySet()) {
+            Map<Long, Integer> termPostings = postings.get(term);
+            if (termPostings != null) {
+                termPostings.remove(taskId);
+                if (termPostings.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+        totalLength -= removed.length();
+    }
+
+    private record IndexedTask(TaskSnapshot snapshot, Map<String, Integer> termFrequencies, int length) {
+
+        boolean matches(TaskEntity.TaskStatus status, Long ownerId) {
+            return (status == null || status == snapshot.status())
+                    && (ownerId == null || ownerId.equals(snapshot.ownerId()));
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.mindhub.todolist.services;
+
+import com.mindhub.todolist.dtos.CacheRegionStatsDTO;
+
+import java.util.List;
+
+public interface CacheStatsService {
+    List<CacheRegionStatsDTO> getRegionStats();
+    void evictAll();
+}
@@ -0,0 +1,11 @@
+package com.mindhub.todolist.services;
+
+import com.mindhub.todolist.models.ExportFormat;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface ExportService {
+    void exportTasks(ExportFormat format, OutputStream out) throws IOException;
+    void exportUsers(ExportFormat format, OutputStream out) throws IOException;
+}
@@ -0,0 +1,11 @@
+package com.mindhub.todolist.services;
+
+import com.mindhub.todolist.dtos.TaskEntityDTO;
+import com.mindhub.todolist.models.TaskEntity;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveTaskService {
+    Mono<TaskEntityDTO> getTaskById(Long id);
+    Flux<TaskEntityDTO> getTasks(TaskEntity.TaskStatus status, Long ownerId);
+}
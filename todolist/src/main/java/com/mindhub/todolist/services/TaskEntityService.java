@@ -1,19 +1,36 @@
 package com.mindhub.todolist.services;
 
+import com.mindhub.todolist.dtos.BulkOperationResultDTO;
+import com.mindhub.todolist.dtos.BulkTaskResultDTO;
+import com.mindhub.todolist.dtos.CursorPageDTO;
 import com.mindhub.todolist.dtos.NewTaskEntityDTO;
 import com.mindhub.todolist.dtos.TaskEntityDTO;
+import com.mindhub.todolist.dtos.TaskFilterDTO;
+import com.mindhub.todolist.dtos.TaskSearchHitDTO;
+import com.mindhub.todolist.dtos.TaskStatsDTO;
 import com.mindhub.todolist.exceptions.TaskNotFoundException;
 import com.mindhub.todolist.exceptions.UserNotFoundException;
-import org.springframework.security.core.Authentication;
+import com.mindhub.todolist.models.AuthenticatedUser;
+import com.mindhub.todolist.models.TaskEntity;
 
 import java.util.List;
 
 public interface TaskEntityService {
     TaskEntityDTO getTaskDTOById(Long id) throws TaskNotFoundException;
+    Long getTaskVersion(Long id);
+    String getTasksRevision();
     List<TaskEntityDTO> getAllTasksDTO();
+    CursorPageDTO<TaskEntityDTO> getTasksPage(String cursor, Integer size, TaskEntity.TaskStatus status);
     TaskEntityDTO updateTask(Long id, TaskEntityDTO taskDetailsDTO) throws TaskNotFoundException;
     NewTaskEntityDTO createNewTask(NewTaskEntityDTO newTaskDTO);
-    TaskEntityDTO assignTask(Authentication authentication, Long taskId) throws UserNotFoundException, TaskNotFoundException;
-    TaskEntityDTO assignTaskById(Authentication authentication, Long taskId) throws UserNotFoundException, TaskNotFoundException;
+    List<BulkTaskResultDTO> createNewTasks(List<NewTaskEntityDTO> newTaskDTOs);
+    TaskEntityDTO assignTask(AuthenticatedUser principal, Long taskId) throws UserNotFoundException, TaskNotFoundException;
+    TaskEntityDTO assignTaskById(AuthenticatedUser principal, Long taskId) throws UserNotFoundException, TaskNotFoundException;
     void deleteTask(Long id);
+    void deleteTask(Long id, Long expectedVersion);
+    BulkOperationResultDTO updateTasksStatus(TaskFilterDTO filter, TaskEntity.TaskStatus newStatus);
+    BulkOperationResultDTO deleteTasks(TaskFilterDTO filter);
+    TaskStatsDTO getTaskStats();
+    List<TaskSearchHitDTO> searchTasks(String query, TaskEntity.TaskStatus status, Long ownerId, Integer limit);
+    BulkOperationResultDTO reassignTasks(Long fromUserId, Long toUserId) throws UserNotFoundException;
 }
@@ -1,16 +1,22 @@
 package com.mindhub.todolist.services;
 
+import com.mindhub.todolist.dtos.CursorPageDTO;
 import com.mindhub.todolist.dtos.UserEntityDTO;
 import com.mindhub.todolist.exceptions.UserNotFoundException;
 import com.mindhub.todolist.models.RegisterUser;
+import com.mindhub.todolist.models.RoleType;
 
 import java.util.List;
 
 public interface UserEntityService {
     UserEntityDTO getUserDTOById(Long id) throws UserNotFoundException;
     List<UserEntityDTO> getAllUsersDTO();
+    CursorPageDTO<UserEntityDTO> getUsersPage(String cursor, Integer size, RoleType role);
     UserEntityDTO updateUser(Long id, UserEntityDTO userDetailsDTO) throws UserNotFoundException;
+    UserEntityDTO updateUserRole(Long id, RoleType role) throws UserNotFoundException;
     void deleteUser(Long id) throws UserNotFoundException;
     void deleteUserByEmail(String email) throws UserNotFoundException;
     void registerUser(RegisterUser registerUser);
+    String getUserRevision(Long id);
+    String getUsersRevision();
 }
@@ -0,0 +1,66 @@
+package com.mindhub.todolist.services.impl;
+
+import com.mindhub.todolist.config.UserDetailsCache;
+import com.mindhub.todolist.config.VerifiedTokenCache;
+import com.mindhub.todolist.dtos.CacheRegionStatsDTO;
+import com.mindhub.todolist.services.CacheStatsService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+@Service
+public class CacheStatsServiceImpl implements CacheStatsService {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private UserDetailsCache userDetailsCache;
+
+    @Autowired
+    private VerifiedTokenCache verifiedTokenCache;
+
+    @Override
+    public List<CacheRegionStatsDTO> getRegionStats() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        String[] regionNames = statistics.getSecondLevelCacheRegionNames();
+        Arrays.sort(regionNames);
+
+        List<CacheRegionStatsDTO> regions = new ArrayList<>(regionNames.length);
+        for (String regionName : regionNames) {
+            CacheRegionStatistics region = statistics.getCacheRegionStatistics(regionName);
+            if (region != null) {
+                regions.add(new CacheRegionStatsDTO(regionName,
+                                                    region.getHitCount(),
+                                                    region.getMissCount(),
+                                                    region.getPutCount(),
+                                                    region.getElementCountInMemory()));
+            }
+        }
+        regions.add(new CacheRegionStatsDTO("security.userDetails",
+                                            userDetailsCache.getHits(),
+                                            userDetailsCache.getMisses(),
+                                            userDetailsCache.getPuts(),
+                                            userDetailsCache.size()));
+        regions.add(new CacheRegionStatsDTO("security.verifiedTokens",
+                                            verifiedTokenCache.getHits(),
+                                            verifiedTokenCache.getMisses(),
+                                            verifiedTokenCache.getPuts(),
+                                            verifiedTokenCache.size()));
+        return regions;
+    }
+
+    @Override
+    public void evictAll() {
+        entityManagerFactory.getCache().evictAll();
+        userDetailsCache.clear();
+        verifiedTokenCache.clear();
+    }
+}
@@ -0,0 +1,131 @@
+package com.mindhub.todolist.services.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mindhub.todolist.models.ExportFormat;
+import com.mindhub.todolist.models.RoleType;
+import com.mindhub.todolist.models.TaskEntity;
+import com.mindhub.todolist.models.UserEntity;
+import com.mindhub.todolist.repositories.TaskEntityRepository;
+import com.mindhub.todolist.repositories.UserEntityRepository;
+import com.mindhub.todolist.services.ExportService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+@Service
+public class ExportServiceImpl implements ExportService {
+
+    // Push bytes to the client at least this often while scrolling
+    private static final int FLUSH_EVERY_ROWS = 500;
+
+    @Autowired
+    private TaskEntityRepository taskRepository;
+
+    @Autowired
+    private UserEntityRepository userRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportTasks(ExportFormat format, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        if (format == ExportFormat.CSV) {
+            writer.write("id,title,description,status,userId\n");
+        }
+        try (Stream<TaskEntity> tasks = taskRepository.streamAll()) {
+            Iterator<TaskEntity> iterator = tasks.iterator();
+            long rows = 0;
+            while (iterator.hasNext()) {
+                TaskEntity task = iterator.next();
+                // The owner is a lazy proxy, reading its id doesn't hit the database
+                Long userId = task.getUserEntity() != null ? task.getUserEntity().getId() : null;
+                TaskExportRow row = new TaskExportRow(task.getId(),
+                                                      task.getTitle(),
+                                                      task.getDescription(),
+                                                      task.getStatus(),
+                                                      userId);
+                entityManager.detach(task);
+                writeRow(writer, format, row, row.id(), row.title(), row.description(), row.status(), row.userId());
+                flushIfNeeded(writer, ++rows);
+            }
+        }
+        writer.flush();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportUsers(ExportFormat format, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        if (format == ExportFormat.CSV) {
+            writer.write("id,username,email,role\n");
+        }
+        try (Stream<UserEntity> users = userRepository.streamAll()) {
+            Iterator<UserEntity> iterator = users.iterator();
+            long rows = 0;
+            while (iterator.hasNext()) {
+                UserEntity user = iterator.next();
+                UserExportRow row = new UserExportRow(user.getId(),
+                                                      user.getUsername(),
+                                                      user.getEmail(),
+                                                      user.getRole());
+                entityManager.detach(user);
+                writeRow(writer, format, row, row.id(), row.username(), row.email(), row.role());
+                flushIfNeeded(writer, ++rows);
+            }
+        }
+        writer.flush();
+    }
+
+    private void writeRow(Writer writer, ExportFormat format, Object row, Object... columns) throws IOException {
+        if (format == ExportFormat.NDJSON) {
+            writer.write(objectMapper.writeValueAsString(row));
+        } else {
+            for (int i = 0; i < columns.length; i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                writer.write(csvValue(columns[i]));
+            }
+        }
+        writer.write('\n');
+    }
+
+    private static void flushIfNeeded(Writer writer, long rows) throws IOException {
+        if (rows == 1 || rows % FLUSH_EVERY_ROWS == 0) {
+            writer.flush();
+        }
+    }
+
+    private static String csvValue(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+
+    record TaskExportRow(Long id, String title, String description, TaskEntity.TaskStatus status, Long userId) {
+    }
+
+    record UserExportRow(Long id, String username, String email, RoleType role) {
+    }
+}
@@ -0,0 +1,47 @@
+package com.mindhub.todolist.services.impl;
+
+import com.mindhub.todolist.exceptions.InvalidRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+// Opaque continuation tokens for keyset pagination: the token wraps the last id seen
+final class PageCursors {
+
+    private static final String PREFIX = "id:";
+
+    private PageCursors() {
+    }
+
+    static String encode(Long lastId) {
+        String raw = PREFIX + lastId;
+        return Base64.getUrlEncoder()
+                .withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static long decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0L;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (!raw.startsWith(PREFIX)) {
+                throw new InvalidRequestException("Invalid page cursor");
+            }
+            return Long.parseLong(raw.substring(PREFIX.length()));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRequestException("Invalid page cursor");
+        }
+    }
+
+    static int resolveSize(Integer requested, int defaultSize, int maxSize) {
+        if (requested == null) {
+            return defaultSize;
+        }
+        if (requested < 1) {
+            throw new InvalidRequestException("Page size must be greater than zero");
+        }
+        return Math.min(requested, maxSize);
+    }
+}
@@ -0,0 +1,29 @@
+package com.mindhub.todolist.services.impl;
+
+import com.mindhub.todolist.dtos.TaskEntityDTO;
+import com.mindhub.todolist.exceptions.TaskNotFoundException;
+import com.mindhub.todolist.models.TaskEntity;
+import com.mindhub.todolist.repositories.TaskReactiveRepository;
+import com.mindhub.todolist.services.ReactiveTaskService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Service
+public class ReactiveTaskServiceImpl implements ReactiveTaskService {
+
+    @Autowired
+    private TaskReactiveRepository taskReactiveRepository;
+
+    @Override
+    public Mono<TaskEntityDTO> getTaskById(Long id) {
+        return taskReactiveRepository.findById(id)
+                .switchIfEmpty(Mono.error(() -> new TaskNotFoundException("Task not found with ID: " + id)));
+    }
+
+    @Override
+    public Flux<TaskEntityDTO> getTasks(TaskEntity.TaskStatus status, Long ownerId) {
+        return taskReactiveRepository.findAll(status, ownerId);
+    }
+}
@@ -1,23 +1,53 @@
 package com.mindhub.todolist.services.impl;
 
+import com.mindhub.todolist.dtos.BulkOperationResultDTO;
+import com.mindhub.todolist.dtos.BulkTaskResultDTO;
+import com.mindhub.todolist.dtos.CursorPageDTO;
 import com.mindhub.todolist.dtos.NewTaskEntityDTO;
 import com.mindhub.todolist.dtos.TaskEntityDTO;
+import com.mindhub.todolist.dtos.TaskFilterDTO;
+import com.mindhub.todolist.dtos.TaskSearchHitDTO;
+import com.mindhub.todolist.dtos.TaskStatsDTO;
 import com.mindhub.todolist.dtos.UserEntityDTO;
+import com.mindhub.todolist.events.TaskBulkChangedEvent;
+import com.mindhub.todolist.events.TaskChangedEvent;
+import com.mindhub.todolist.events.TaskSnapshot;
+import com.mindhub.todolist.exceptions.InvalidRequestException;
 import com.mindhub.todolist.exceptions.TaskNotFoundException;
+import com.mindhub.todolist.exceptions.TaskVersionConflictException;
 import com.mindhub.todolist.exceptions.UserNotFoundException;
+import com.mindhub.todolist.models.AuthenticatedUser;
 import com.mindhub.todolist.models.TaskEntity;
 import com.mindhub.todolist.models.UserEntity;
 import com.mindhub.todolist.repositories.TaskEntityRepository;
+import com.mindhub.todolist.repositories.TaskRow;
 import com.mindhub.todolist.repositories.UserEntityRepository;
+import com.mindhub.todolist.search.TaskSearchIndex;
 import com.mindhub.todolist.services.TaskEntityService;
+import com.mindhub.todolist.stats.TaskStatusCounters;
+import com.mindhub.todolist.stats.UserRevisions;
+import com.mindhub.todolist.writebehind.TaskUpdateQueue;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.CacheStoreMode;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.PersistenceException;
+import org.hibernate.jpa.SpecHints;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.core.Authentication;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Service
+@Timed("todolist.service") // Every public method, tagged with class, method and exception
 public class TaskEntityServiceImpl implements TaskEntityService {
 
     @Autowired
@@ -26,39 +56,153 @@ public class TaskEntityServiceImpl implements TaskEntityService {
     @Autowired
     private UserEntityRepository userRepository;
 
+    @Value("${todolist.pagination.default-size:50}")
+    private int defaultPageSize;
+
+    @Value("${todolist.pagination.max-size:500}")
+    private int maxPageSize;
+
+    @Value("${todolist.bulk.chunk-size:500}")
+    private int bulkChunkSize;
+
+    @Value("${todolist.bulk.max-items:10000}")
+    private int bulkMaxItems;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private TaskSearchIndex searchIndex;
+
+    @Autowired
+    private TaskStatusCounters statusCounters;
+
+    @Value("${todolist.search.default-limit:20}")
+    private int defaultSearchLimit;
+
+    @Value("${todolist.search.max-limit:100}")
+    private int maxSearchLimit;
+
+    @Autowired
+    private UserRevisions userRevisions;
+
+    // Only present with todolist.write-behind.enabled=true
+    @Autowired(required = false)
+    private TaskUpdateQueue updateQueue;
+
+    // Task changes are published so in-memory views (search index, counters) stay current
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     public TaskEntityServiceImpl(TaskEntityRepository taskRepository,
-                                 UserEntityRepository userRepository) {
+                                 UserEntityRepository userRepository,
+                                 ApplicationEventPublisher eventPublisher) {
         this.taskRepository = taskRepository;
         this.userRepository = userRepository;
+        this.eventPublisher = eventPublisher;
     }
     @Override
     public TaskEntityDTO getTaskDTOById(Long id) throws TaskNotFoundException {
+        TaskEntityDTO pendingTask = updateQueue != null ? updateQueue.getPending(id) : null;
+        if (pendingTask != null) {
+            return asWritten(pendingTask);
+        }
         TaskEntity task = taskRepository.findById(id).orElseThrow(
                 () -> new TaskNotFoundException("Task not found with ID: " + id)
         );
         return new TaskEntityDTO(task);
     }
 
+    // Just the version column, enough to answer a conditional GET. Null while an update is queued:
+    // the stored version doesn't reflect it yet.
+    @Override
+    public Long getTaskVersion(Long id) {
+        if (updateQueue != null && updateQueue.getPending(id) != null) {
+            return null;
+        }
+        return taskRepository.findVersionById(id).orElse(null);
+    }
+
+    @Override
+    public String getTasksRevision() {
+        if (updateQueue != null && updateQueue.size() > 0) {
+            return null;
+        }
+        return userRevisions.forAll();
+    }
+
     @Override
     public List<TaskEntityDTO> getAllTasksDTO() {
         List<TaskEntity> task = taskRepository.findAll();
         return task.stream()
                     .map(
-                            taskEntity ->  new TaskEntityDTO(taskEntity)
+                            taskEntity ->  withPendingUpdate(new TaskEntityDTO(taskEntity))
                     )
                     .collect(Collectors.toList());
     }
 
+    @Override
+    public CursorPageDTO<TaskEntityDTO> getTasksPage(String cursor, Integer size, TaskEntity.TaskStatus status) {
+        long afterId = PageCursors.decode(cursor);
+        int pageSize = PageCursors.resolveSize(size, defaultPageSize, maxPageSize);
+        // Fetch one extra row to know whether another page exists
+        Limit limit = Limit.of(pageSize + 1);
+        List<TaskEntity> tasks = status == null
+                ? taskRepository.findByIdGreaterThanOrderByIdAsc(afterId, limit)
+                : taskRepository.findByStatusAndIdGreaterThanOrderByIdAsc(status, afterId, limit);
+
+        boolean hasMore = tasks.size() > pageSize;
+        List<TaskEntityDTO> items = tasks.stream()
+                .limit(pageSize)
+                .map(TaskEntityDTO::new)
+                .map(this::withPendingUpdate)
+                .toList();
+        String nextCursor = hasMore ? PageCursors.encode(items.get(items.size() - 1).getId()) : null;
+        return new CursorPageDTO<>(items, nextCursor);
+    }
+
     @Override
     public TaskEntityDTO updateTask(Long id, TaskEntityDTO taskDetailsDTO) throws TaskNotFoundException {
-        TaskEntity existingTask = taskRepository.findById(id).orElseThrow(
-                () -> new TaskNotFoundException("Task not found with ID: " + id)
-        );
-        existingTask.setTitle(taskDetailsDTO.getTitle());
-        existingTask.setDescription(taskDetailsDTO.getDescription());
-        existingTask.setStatus(taskDetailsDTO.getStatus());
-        TaskEntity updatedTask = taskRepository.save(existingTask);
-        return new TaskEntityDTO(existingTask);
+        if (updateQueue != null) {
+            return enqueueUpdate(id, taskDetailsDTO);
+        }
+        // One conditional UPDATE, the previous row comes back with it for the listeners
+        TaskRow before = taskRepository.updateReturningPrevious(id, taskDetailsDTO.getVersion(),
+                        taskDetailsDTO.getTitle(), taskDetailsDTO.getDescription(), taskDetailsDTO.getStatus())
+                .orElseThrow(() -> missingOrConflict(id, taskDetailsDTO.getVersion()));
+        TaskRow after = before.withFields(taskDetailsDTO.getTitle(),
+                                          taskDetailsDTO.getDescription(),
+                                          taskDetailsDTO.getStatus());
+        eventPublisher.publishEvent(TaskChangedEvent.updated(before.toSnapshot(), after.toSnapshot()));
+        return after.toDTO();
+    }
+
+    // Checks the task exists (usually from the second-level cache, or skipped when an update is
+    // already pending) and leaves the write to the queue. The queued update keeps the version the
+    // task had when it was first queued, so the flush can tell whether the task changed in between;
+    // coalesced updates keep it too and the flush bumps it once. Callers get the task as it will be
+    // once written, base version + 1, and that is also the version later If-Match headers are
+    // checked against while the update is pending.
+    private TaskEntityDTO enqueueUpdate(Long id, TaskEntityDTO taskDetailsDTO) throws TaskNotFoundException {
+        TaskEntityDTO pendingTask = updateQueue.getPending(id);
+        Long baseVersion = pendingTask != null
+                ? pendingTask.getVersion()
+                : taskRepository.findById(id).map(TaskEntity::getVersion).orElseThrow(
+                        () -> new TaskNotFoundException("Task not found with ID: " + id));
+        Long currentVersion = pendingTask != null ? baseVersion + 1 : baseVersion;
+        if (taskDetailsDTO.getVersion() != null && !taskDetailsDTO.getVersion().equals(currentVersion)) {
+            throw new TaskVersionConflictException("Task " + id + " was modified by someone else");
+        }
+        TaskEntityDTO update = new TaskEntityDTO(id,
+                                                 taskDetailsDTO.getTitle(),
+                                                 taskDetailsDTO.getDescription(),
+                                                 taskDetailsDTO.getStatus(),
+                                                 baseVersion);
+        updateQueue.enqueue(update);
+        return asWritten(update);
     }
 
     @Override
@@ -67,49 +211,232 @@ public class TaskEntityServiceImpl implements TaskEntityService {
                 newTaskDTO.getDescription(),
                 newTaskDTO.getStatus());
         TaskEntity savedTask = taskRepository.save(taskEntity);
+        eventPublisher.publishEvent(TaskChangedEvent.created(TaskSnapshot.of(savedTask)));
         return new NewTaskEntityDTO(savedTask.getTitle(),
                                     savedTask.getDescription(),
                                     savedTask.getStatus());
     }
 
     @Override
-    public TaskEntityDTO assignTask(Authentication authentication, Long taskId) throws UserNotFoundException, TaskNotFoundException {
-        String username = authentication.getName();
-        UserEntity user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new UserNotFoundException("User with username " + username + " couldn't be found"));
+    public List<BulkTaskResultDTO> createNewTasks(List<NewTaskEntityDTO> newTaskDTOs) {
+        if (newTaskDTOs == null || newTaskDTOs.isEmpty()) {
+            throw new InvalidRequestException("At least one task is required");
+        }
+        if (newTaskDTOs.size() > bulkMaxItems) {
+            throw new InvalidRequestException("A bulk request accepts at most " + bulkMaxItems + " tasks");
+        }
+        int chunkSize = Math.max(1, bulkChunkSize);
+        List<BulkTaskResultDTO> results = new ArrayList<>(newTaskDTOs.size());
+        for (int start = 0; start < newTaskDTOs.size(); start += chunkSize) {
+            int end = Math.min(start + chunkSize, newTaskDTOs.size());
+            results.addAll(createChunk(newTaskDTOs, start, end));
+        }
+        return results;
+    }
 
-        TaskEntity task = taskRepository.findById(taskId)
-                .orElseThrow(() -> new TaskNotFoundException("Task with ID " + taskId + " couldn't be found"));
+    // Each chunk commits on its own, so a failure only affects the items of that chunk
+    private List<BulkTaskResultDTO> createChunk(List<NewTaskEntityDTO> newTaskDTOs, int start, int end) {
+        BulkTaskResultDTO[] results = new BulkTaskResultDTO[end - start];
+        List<TaskEntity> batch = new ArrayList<>(end - start);
+        List<Integer> batchIndexes = new ArrayList<>(end - start);
 
-        task.setUserEntity(user);
-        TaskEntity savedTask = taskRepository.save(task);
-        return new TaskEntityDTO(savedTask);
+        for (int i = start; i < end; i++) {
+            NewTaskEntityDTO newTaskDTO = newTaskDTOs.get(i);
+            if (newTaskDTO == null || newTaskDTO.getTitle() == null || newTaskDTO.getTitle().isBlank()) {
+                results[i - start] = BulkTaskResultDTO.rejected(i, "Title is required");
+            } else if (newTaskDTO.getStatus() == null) {
+                results[i - start] = BulkTaskResultDTO.rejected(i, "Status is required");
+            } else {
+                batch.add(new TaskEntity(newTaskDTO.getTitle(),
+                                         newTaskDTO.getDescription(),
+                                         newTaskDTO.getStatus()));
+                batchIndexes.add(i);
+            }
+        }
+
+        if (!batch.isEmpty()) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    // Freshly imported rows aren't hot, keep them out of the second-level cache. The
+                    // EntityManager can belong to a caller's transaction, so the mode is put back after.
+                    Object storeMode = entityManager.getProperties().get(SpecHints.HINT_SPEC_CACHE_STORE_MODE);
+                    entityManager.setProperty(SpecHints.HINT_SPEC_CACHE_STORE_MODE, CacheStoreMode.BYPASS);
+                    try {
+                        batch.forEach(entityManager::persist);
+                        // Inserts go out as JDBC batches of hibernate.jdbc.batch_size
+                        entityManager.flush();
+                        entityManager.clear();
+                    } finally {
+                        entityManager.setProperty(SpecHints.HINT_SPEC_CACHE_STORE_MODE,
+                                                  storeMode != null ? storeMode : CacheStoreMode.USE);
+                    }
+                });
+                for (int i = 0; i < batch.size(); i++) {
+                    int index = batchIndexes.get(i);
+                    results[index - start] = BulkTaskResultDTO.created(index, batch.get(i).getId());
+                    eventPublisher.publishEvent(TaskChangedEvent.created(TaskSnapshot.of(batch.get(i))));
+                }
+            } catch (PersistenceException | DataAccessException e) {
+                for (int index : batchIndexes) {
+                    results[index - start] = BulkTaskResultDTO.failed(index, "Task could not be saved");
+                }
+            }
+        }
+        return List.of(results);
     }
 
     @Override
-    public TaskEntityDTO assignTaskById(Authentication authentication, Long taskId)
-            throws UserNotFoundException, TaskNotFoundException {
-        String username = authentication.getName();
-        UserEntity user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new UserNotFoundException("User with username " + username + " couldn't be found"));
+    public TaskEntityDTO assignTask(AuthenticatedUser principal, Long taskId) throws UserNotFoundException, TaskNotFoundException {
+        flushPendingUpdates();
+        Long userId = requireUserId(principal);
+        TaskRow before = taskRepository.assignReturningPrevious(taskId, userId)
+                .orElseThrow(() -> new TaskNotFoundException("Task with ID " + taskId + " couldn't be found"));
+        return publishAssigned(before, userId);
+    }
 
-        TaskEntity task = taskRepository.findById(taskId)
+    @Override
+    public TaskEntityDTO assignTaskById(AuthenticatedUser principal, Long taskId)
+            throws UserNotFoundException, TaskNotFoundException {
+        flushPendingUpdates();
+        Long userId = requireUserId(principal);
+        TaskRow before = taskRepository.assignReturningPrevious(taskId, userId)
                 .orElseThrow(() -> new TaskNotFoundException("Task with ID " + taskId + " not found"));
+        return publishAssigned(before, userId);
+    }
 
-        task.setUserEntity(user);
-        taskRepository.save(task);
-
-        TaskEntityDTO taskDTO = new TaskEntityDTO(task);
-        return taskDTO;
+    private TaskEntityDTO publishAssigned(TaskRow before, Long userId) {
+        TaskRow after = before.withOwner(userId);
+        eventPublisher.publishEvent(TaskChangedEvent.updated(before.toSnapshot(), after.toSnapshot()));
+        return after.toDTO();
     }
 
     @Override
     public void deleteTask(Long id) {
-        if (taskRepository.existsById(id)) {
-            taskRepository.deleteById(id);
+        deleteTask(id, null);
+    }
+
+    @Override
+    public void deleteTask(Long id, Long expectedVersion) {
+        flushPendingUpdates();
+        // The deleted row comes back from the DELETE itself so listeners know what was removed
+        Optional<TaskRow> before = taskRepository.deleteReturningPrevious(id, expectedVersion);
+        if (before.isPresent()) {
+            eventPublisher.publishEvent(TaskChangedEvent.deleted(before.get().toSnapshot()));
+        } else if (expectedVersion != null && taskRepository.existsById(id)) {
+            throw new TaskVersionConflictException("Task " + id + " was modified by someone else");
+        }
+    }
+
+    @Override
+    public BulkOperationResultDTO updateTasksStatus(TaskFilterDTO filter, TaskEntity.TaskStatus newStatus) {
+        if (newStatus == null) {
+            throw new InvalidRequestException("A new status is required");
+        }
+        requireCriteria(filter);
+        flushPendingUpdates();
+        if (hasIds(filter)) {
+            // A bounded set of rows: they come back as they were, so listeners can apply exact deltas
+            List<TaskRow> before = taskRepository.updateStatusByFilterReturningPrevious(filter, newStatus);
+            eventPublisher.publishEvent(TaskBulkChangedEvent.statusChanged(filter, newStatus, toSnapshots(before)));
+            return new BulkOperationResultDTO(before.size());
+        }
+        int affected = taskRepository.updateStatusByFilter(filter, newStatus);
+        eventPublisher.publishEvent(TaskBulkChangedEvent.statusChanged(filter, newStatus, affected));
+        return new BulkOperationResultDTO(affected);
+    }
+
+    @Override
+    public BulkOperationResultDTO deleteTasks(TaskFilterDTO filter) {
+        requireCriteria(filter);
+        flushPendingUpdates();
+        if (hasIds(filter)) {
+            List<TaskRow> before = taskRepository.deleteByFilterReturningPrevious(filter);
+            eventPublisher.publishEvent(TaskBulkChangedEvent.deleted(filter, toSnapshots(before)));
+            return new BulkOperationResultDTO(before.size());
+        }
+        int affected = taskRepository.deleteByFilter(filter);
+        eventPublisher.publishEvent(TaskBulkChangedEvent.deleted(filter, affected));
+        return new BulkOperationResultDTO(affected);
+    }
+
+    @Override
+    public BulkOperationResultDTO reassignTasks(Long fromUserId, Long toUserId) throws UserNotFoundException {
+        if (!userRepository.existsById(fromUserId)) {
+            throw new UserNotFoundException("User not found with id: " + fromUserId);
+        }
+        if (!userRepository.existsById(toUserId)) {
+            throw new UserNotFoundException("User not found with id: " + toUserId);
+        }
+        flushPendingUpdates();
+        int affected = taskRepository.reassignTasks(userRepository.getReferenceById(fromUserId),
+                                                    userRepository.getReferenceById(toUserId));
+        eventPublisher.publishEvent(TaskBulkChangedEvent.reassigned(fromUserId, toUserId, affected));
+        return new BulkOperationResultDTO(affected);
+    }
+
+    @Override
+    public TaskStatsDTO getTaskStats() {
+        return statusCounters.snapshot();
+    }
+
+    @Override
+    public List<TaskSearchHitDTO> searchTasks(String query, TaskEntity.TaskStatus status, Long ownerId, Integer limit) {
+        if (query == null || query.isBlank()) {
+            throw new InvalidRequestException("A search query is required");
+        }
+        int resolvedLimit = limit == null ? defaultSearchLimit : Math.min(Math.max(limit, 1), maxSearchLimit);
+        return searchIndex.search(query, status, ownerId, resolvedLimit);
+    }
+
+    private TaskEntityDTO withPendingUpdate(TaskEntityDTO task) {
+        TaskEntityDTO pendingTask = updateQueue != null ? updateQueue.getPending(task.getId()) : null;
+        return pendingTask != null ? asWritten(pendingTask) : task;
+    }
+
+    // A queued update as clients see it: the version the task gets when the update is written
+    private static TaskEntityDTO asWritten(TaskEntityDTO update) {
+        return new TaskEntityDTO(update.getId(), update.getTitle(), update.getDescription(), update.getStatus(),
+                                 update.getVersion() + 1);
+    }
+
+    // Queued updates go out first so they can't overwrite a later change
+    private void flushPendingUpdates() {
+        if (updateQueue != null) {
+            updateQueue.flush();
+        }
+    }
+
+    // The principal comes from a verified token, its id is enough to set the owner
+    private static Long requireUserId(AuthenticatedUser principal) throws UserNotFoundException {
+        if (principal == null || principal.id() == null) {
+            throw new UserNotFoundException("No authenticated user");
+        }
+        return principal.id();
+    }
+
+    // Only reached when the conditional write matched nothing, so the extra lookup is off the happy path
+    private RuntimeException missingOrConflict(Long id, Long expectedVersion) {
+        if (expectedVersion != null && taskRepository.existsById(id)) {
+            return new TaskVersionConflictException("Task " + id + " was modified by someone else");
+        }
+        return new TaskNotFoundException("Task not found with ID: " + id);
+    }
+
+    // A bulk operation without criteria would touch every task
+    private static void requireCriteria(TaskFilterDTO filter) {
+        if (filter == null || filter.isEmpty()) {
+            throw new InvalidRequestException("At least one filter (status, ownerId or ids) is required");
         }
     }
 
+    private static boolean hasIds(TaskFilterDTO filter) {
+        return filter.getIds() != null && !filter.getIds().isEmpty();
+    }
+
+    private static List<TaskSnapshot> toSnapshots(List<TaskRow> rows) {
+        return rows.stream().map(TaskRow::toSnapshot).toList();
+    }
+
     public List<TaskEntity> findByStatus(TaskEntity.TaskStatus status) {
         TaskEntity.TaskStatus taskStatus = TaskEntity.TaskStatus.valueOf(status.toString());
         return taskRepository.findByStatus(status);
@@ -124,6 +451,6 @@ public class TaskEntityServiceImpl implements TaskEntityService {
     }
 
     public Long countByStatus(TaskEntity.TaskStatus status) {
-        return taskRepository.countByStatus(status);
+        return statusCounters.count(status);
     }
 }
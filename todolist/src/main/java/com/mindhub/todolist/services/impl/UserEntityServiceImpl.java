@@ -1,6 +1,11 @@
 package com.mindhub.todolist.services.impl;
 
+import com.mindhub.todolist.dtos.CursorPageDTO;
+import com.mindhub.todolist.dtos.TaskFilterDTO;
 import com.mindhub.todolist.dtos.UserEntityDTO;
+import com.mindhub.todolist.events.TaskBulkChangedEvent;
+import com.mindhub.todolist.events.UserChangedEvent;
+import com.mindhub.todolist.exceptions.InvalidRequestException;
 import com.mindhub.todolist.exceptions.UserAlreadyExistsException;
 import com.mindhub.todolist.exceptions.UserNotFoundException;
 import com.mindhub.todolist.models.RegisterUser;
@@ -10,7 +15,12 @@ import com.mindhub.todolist.models.UserEntity;
 import com.mindhub.todolist.repositories.TaskEntityRepository;
 import com.mindhub.todolist.repositories.UserEntityRepository;
 import com.mindhub.todolist.services.UserEntityService;
+import com.mindhub.todolist.stats.UserRevisions;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
@@ -20,6 +30,7 @@ import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
+@Timed("todolist.service") // Every public method, tagged with class, method and exception
 public class UserEntityServiceImpl implements UserEntityService {
     @Autowired
     private UserEntityRepository userRepository;
@@ -30,14 +41,29 @@ public class UserEntityServiceImpl implements UserEntityService {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Value("${todolist.pagination.default-size:50}")
+    private int defaultPageSize;
+
+    @Value("${todolist.pagination.max-size:500}")
+    private int maxPageSize;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private UserRevisions userRevisions;
+
     public UserEntityServiceImpl(UserEntityRepository userRepository,
-                                 TaskEntityRepository taskRepository) {
+                                 TaskEntityRepository taskRepository,
+                                 ApplicationEventPublisher eventPublisher) {
         this.userRepository = userRepository;
         this.taskRepository = taskRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
     public UserEntityDTO getUserDTOById(Long id) throws UserNotFoundException {
+        // Served from the second-level cache (user, its task ids and the tasks) when warm
         UserEntity user = userRepository.findById(id).orElseThrow(
                 () -> new UserNotFoundException("User not found with id: " + id)
         );
@@ -46,24 +72,49 @@ public class UserEntityServiceImpl implements UserEntityService {
 
     @Override
     public List<UserEntityDTO> getAllUsersDTO() {
-        List<UserEntity> user = userRepository.findAll();
+        List<UserEntity> user = userRepository.findAllWithTasks();
         return user.stream()
                             .map(
                                     userEntity -> new UserEntityDTO(userEntity)
                             ).collect(Collectors.toList());
     }
 
+    @Override
+    public CursorPageDTO<UserEntityDTO> getUsersPage(String cursor, Integer size, RoleType role) {
+        long afterId = PageCursors.decode(cursor);
+        int pageSize = PageCursors.resolveSize(size, defaultPageSize, maxPageSize);
+        // Fetch one extra row to know whether another page exists
+        Limit limit = Limit.of(pageSize + 1);
+        List<Long> ids = role == null
+                ? userRepository.findIdsAfter(afterId, limit)
+                : userRepository.findIdsByRoleAfter(role, afterId, limit);
+
+        boolean hasMore = ids.size() > pageSize;
+        List<Long> pageIds = hasMore ? ids.subList(0, pageSize) : ids;
+        // Second statement loads the page's users together with their tasks
+        List<UserEntityDTO> items = pageIds.isEmpty()
+                ? List.of()
+                : userRepository.findWithTasksByIdInOrderByIdAsc(pageIds).stream()
+                        .map(UserEntityDTO::new)
+                        .toList();
+        String nextCursor = hasMore ? PageCursors.encode(pageIds.get(pageIds.size() - 1)) : null;
+        return new CursorPageDTO<>(items, nextCursor);
+    }
+
     @Override
     public UserEntityDTO updateUser(Long id, UserEntityDTO userDetailsDTO) throws UserNotFoundException {
         UserEntity existingUser = userRepository.findById(id).orElseThrow(
                 () -> new UserNotFoundException("User not found with id: " + id)
         );
+        String previousEmail = existingUser.getEmail();
 
         if (userDetailsDTO.getName() != null && !userDetailsDTO.getName().isEmpty()) {
             existingUser.setUsername(userDetailsDTO.getName());
         }
-        if (userDetailsDTO.getEmail() != null && !userDetailsDTO.getEmail().isEmpty()) {
+        if (userDetailsDTO.getEmail() != null && !userDetailsDTO.getEmail().isEmpty()
+                && !userDetailsDTO.getEmail().equals(previousEmail)) {
             existingUser.setEmail(userDetailsDTO.getEmail());
+            existingUser.bumpTokenVersion(); // Tokens name the old email as subject
         }
 
         if (userDetailsDTO.getTasks() != null && !userDetailsDTO.getTasks().isEmpty()) {
@@ -81,6 +132,24 @@ public class UserEntityServiceImpl implements UserEntityService {
         }
 
         UserEntity updatedUser = userRepository.save(existingUser);
+        eventPublisher.publishEvent(new UserChangedEvent(id, previousEmail));
+        return new UserEntityDTO(updatedUser);
+    }
+
+    @Override
+    public UserEntityDTO updateUserRole(Long id, RoleType role) throws UserNotFoundException { // Admin
+        if (role == null) {
+            throw new InvalidRequestException("A role is required");
+        }
+        UserEntity user = userRepository.findById(id).orElseThrow(
+                () -> new UserNotFoundException("User not found with id: " + id)
+        );
+        if (user.getRole() != role) {
+            user.setRole(role);
+            user.bumpTokenVersion(); // Tokens carry the role, the ones issued before must stop working
+        }
+        UserEntity updatedUser = userRepository.save(user);
+        eventPublisher.publishEvent(new UserChangedEvent(id, user.getEmail()));
         return new UserEntityDTO(updatedUser);
     }
 
@@ -89,27 +158,61 @@ public class UserEntityServiceImpl implements UserEntityService {
         UserEntity user = userRepository.findById(id).orElseThrow(
                 () -> new UserNotFoundException("User not found with id: " + id)
         );
-        userRepository.delete(user);
+        deleteWithTasks(user);
     }
 
     @Override
     public void deleteUserByEmail(String email) throws UserNotFoundException { // User
         UserEntity user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new UserNotFoundException("User not found with email: " + email));
+        deleteWithTasks(user);
+    }
+
+    // The user's tasks go with it through the cascade, so task listeners are told explicitly
+    private void deleteWithTasks(UserEntity user) {
+        int taskCount = user.getTask().size();
         userRepository.delete(user);
+        eventPublisher.publishEvent(new UserChangedEvent(user.getId(), user.getEmail()));
+        eventPublisher.publishEvent(TaskBulkChangedEvent.deleted(new TaskFilterDTO(null, user.getId(), null), taskCount));
     }
 
     @Override
     public void registerUser(RegisterUser registerUser) {
+        requireNewUser(registerUser);
+        registerUser(registerUser, encodePassword(registerUser.password()));
+    }
+
+    // The steps of registerUser for callers that hash on another thread: the check before hashing,
+    // so a taken email costs no BCrypt round, and the insert once the hash is ready
+    public void requireNewUser(RegisterUser registerUser) {
         if (userRepository.existsByUsername(registerUser.email())) {
             throw new UserAlreadyExistsException("Username already exists");
         }
+    }
 
+    public String encodePassword(String password) {
+        return passwordEncoder.encode(password);
+    }
+
+    public void registerUser(RegisterUser registerUser, String encodedPassword) {
         UserEntity user = new UserEntity();
         user.setEmail(registerUser.email());
-        user.setPassword(passwordEncoder.encode(registerUser.password()));
+        user.setPassword(encodedPassword);
 
         userRepository.save(user);
+        // Lets list validators (ETags) know the user set changed
+        eventPublisher.publishEvent(new UserChangedEvent(user.getId(), user.getEmail()));
+    }
+
+    // Changes whenever the user or one of its tasks does, no database access
+    @Override
+    public String getUserRevision(Long id) {
+        return userRevisions.forUser(id);
+    }
+
+    @Override
+    public String getUsersRevision() {
+        return userRevisions.forAll();
     }
 
     public Optional<UserEntity> findByUsername(String username) {
@@ -0,0 +1,103 @@
+package com.mindhub.todolist.sql;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Statement budgets per endpoint, and what happens once a request or service call is done: the count
+// goes to todolist.sql.statements, a request over its budget or with a statement repeated
+// repeat-threshold times or more is logged. In reject mode the budget is also enforced while the
+// request runs, the statement that goes over fails with SqlBudgetExceededException.
+@Component
+public class SqlBudget {
+
+    private static final Logger log = LoggerFactory.getLogger(SqlBudget.class);
+
+    private final int defaultBudget;
+    private final boolean reject;
+    private final int repeatThreshold;
+    private final Map<String, Integer> endpointBudgets = new HashMap<>();
+    private final MeterRegistry meterRegistry;
+
+    public SqlBudget(@Value("${todolist.sql.budget.default:100}") int defaultBudget,
+                     @Value("${todolist.sql.budget.mode:log}") String mode,
+                     @Value("${todolist.sql.budget.repeat-threshold:10}") int repeatThreshold,
+                     @Value("${todolist.sql.budget.endpoints:}") List<String> endpoints,
+                     MeterRegistry meterRegistry) {
+        if (!"log".equals(mode) && !"reject".equals(mode)) {
+            throw new IllegalArgumentException("todolist.sql.budget.mode must be log or reject, was " + mode);
+        }
+        this.defaultBudget = defaultBudget;
+        this.reject = "reject".equals(mode);
+        this.repeatThreshold = repeatThreshold;
+        this.meterRegistry = meterRegistry;
+        // "GET /api/admin/users/{id}=3", the pattern as mapped in the controller
+        for (String endpoint : endpoints) {
+            if (endpoint.isBlank()) {
+                continue;
+            }
+            int separator = endpoint.lastIndexOf('=');
+            if (separator < 0) {
+                throw new IllegalArgumentException("todolist.sql.budget.endpoints entries look like 'GET /path=budget', was " + endpoint);
+            }
+            endpointBudgets.put(endpoint.substring(0, separator).trim(), Integer.parseInt(endpoint.substring(separator + 1).trim()));
+        }
+    }
+
+    // Called once the handler is known, so the budget of its pattern applies from there on
+    public void apply(HttpServletRequest request, SqlStatements.Scope scope) {
+        String endpoint = endpoint(request);
+        scope.setName(endpoint);
+        scope.setBudget(endpointBudgets.getOrDefault(endpoint, defaultBudget), reject);
+    }
+
+    public void reportRequest(HttpServletRequest request, SqlStatements.Scope scope) {
+        String endpoint = endpoint(request);
+        summary("request", endpoint).record(scope.getCount());
+        if (scope.getBudget() < 0) {
+            // Never reached a handler (static resource, 404, rejected by security), no budget applies
+            scope.setBudget(defaultBudget, false);
+        }
+        if (scope.isOverBudget()) {
+            log.warn("{} ran {} SQL statements, its budget is {}", endpoint, scope.getCount(), scope.getBudget());
+        }
+        warnRepeated(endpoint, scope);
+    }
+
+    public void reportServiceCall(SqlStatements.Scope scope) {
+        summary("service", scope.getName()).record(scope.getCount());
+        log.debug("{} ran {} SQL statements", scope.getName(), scope.getCount());
+        // Inside a request the request reports repeats, once
+        if (scope.isOutermost()) {
+            warnRepeated(scope.getName(), scope);
+        }
+    }
+
+    private void warnRepeated(String name, SqlStatements.Scope scope) {
+        scope.getRepeated(repeatThreshold).forEach((statement, times) ->
+                log.warn("{} ran the same SQL {} times with different parameters, likely an N+1: {}", name, times, statement));
+    }
+
+    private DistributionSummary summary(String scope, String name) {
+        return DistributionSummary.builder("todolist.sql.statements")
+                .description("SQL statements run per request or service call")
+                .tag("scope", scope)
+                .tag("name", name)
+                .register(meterRegistry);
+    }
+
+    // Method and mapped pattern, so /users/1 and /users/2 share a budget and a meter
+    private static String endpoint(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return request.getMethod() + " " + (pattern != null ? pattern : "UNMAPPED");
+    }
+}
@@ -0,0 +1,33 @@
+package com.mindhub.todolist.sql;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+// The endpoint's budget can only be looked up once a handler is mapped, which is after the filter
+@Configuration
+public class SqlBudgetConfig implements WebMvcConfigurer {
+
+    private final SqlBudget budget;
+
+    public SqlBudgetConfig(SqlBudget budget) {
+        this.budget = budget;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new HandlerInterceptor() {
+            @Override
+            public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+                SqlStatements.Scope scope = SqlStatements.current();
+                if (scope != null) {
+                    budget.apply(request, scope);
+                }
+                return true;
+            }
+        });
+    }
+}
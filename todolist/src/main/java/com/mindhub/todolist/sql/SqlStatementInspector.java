@@ -0,0 +1,14 @@
+package com.mindhub.todolist.sql;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+// Sees every statement Hibernate prepares, named in hibernate.session_factory.statement_inspector so
+// Hibernate creates it itself and @DataJpaTest slices get it too. Only counts, the SQL is unchanged.
+public class SqlStatementInspector implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        SqlStatements.record(sql);
+        return sql;
+    }
+}
@@ -0,0 +1,31 @@
+package com.mindhub.todolist.sql;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+// Counts the statements of each public service call on its own, nested in the request's scope. Calls
+// a service makes on itself don't go through the proxy and count towards the caller.
+@Aspect
+@Component
+public class SqlStatementServiceAspect {
+
+    private final SqlBudget budget;
+
+    public SqlStatementServiceAspect(SqlBudget budget) {
+        this.budget = budget;
+    }
+
+    @Around("within(com.mindhub.todolist.services.impl..*) && execution(public * *(..))")
+    public Object countStatements(ProceedingJoinPoint joinPoint) throws Throwable {
+        String name = joinPoint.getSignature().getDeclaringType().getSimpleName() + "." + joinPoint.getSignature().getName();
+        SqlStatements.Scope scope = SqlStatements.open(name);
+        try {
+            return joinPoint.proceed();
+        } finally {
+            scope.close();
+            budget.reportServiceCall(scope);
+        }
+    }
+}
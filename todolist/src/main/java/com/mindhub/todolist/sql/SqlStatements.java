@@ -0,0 +1,138 @@
+package com.mindhub.todolist.sql;
+
+import com.mindhub.todolist.exceptions.SqlBudgetExceededException;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+// Statements run on the current thread, counted in nested scopes: the HTTP request (SqlBudgetFilter),
+// each service call inside it (SqlStatementServiceAspect), or a test (SqlStatementCountExtension).
+// A statement counts towards every open scope. Statements are kept with their literals replaced by ?,
+// so the same query run once per row of an earlier result (an N+1) shows up as one repeated entry.
+// Work handed to other threads (async exports, password hashing) isn't counted.
+public final class SqlStatements {
+
+    private static final ThreadLocal<Scope> CURRENT = new ThreadLocal<>();
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern IN_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)*\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private SqlStatements() {
+    }
+
+    public static Scope open(String name) {
+        Scope scope = new Scope(name, CURRENT.get());
+        CURRENT.set(scope);
+        return scope;
+    }
+
+    // Innermost open scope, or null outside of any
+    public static Scope current() {
+        return CURRENT.get();
+    }
+
+    static void record(String sql) {
+        Scope scope = CURRENT.get();
+        if (scope != null) {
+            scope.record(normalize(sql));
+        }
+    }
+
+    // Same shape for statements that differ only in parameters: literals become ? and IN lists of any
+    // length become one, so a batch loaded 10 ids at a time and one loaded 50 at a time compare equal
+    static String normalize(String sql) {
+        String normalized = WHITESPACE.matcher(sql.trim()).replaceAll(" ");
+        normalized = STRING_LITERAL.matcher(normalized).replaceAll("?");
+        normalized = NUMBER_LITERAL.matcher(normalized).replaceAll("?");
+        return IN_LIST.matcher(normalized).replaceAll("(?...)");
+    }
+
+    public static final class Scope implements AutoCloseable {
+
+        private final Scope parent;
+        private String name;
+        private int count;
+        private final Map<String, Integer> statements = new HashMap<>();
+        private int budget = -1;
+        private boolean rejectOverBudget;
+
+        private Scope(String name, Scope parent) {
+            this.name = name;
+            this.parent = parent;
+        }
+
+        private void record(String statement) {
+            for (Scope scope = this; scope != null; scope = scope.parent) {
+                scope.add(statement);
+            }
+        }
+
+        private void add(String statement) {
+            count++;
+            statements.merge(statement, 1, Integer::sum);
+            if (rejectOverBudget && count > budget) {
+                throw new SqlBudgetExceededException(
+                        name + " ran more than " + budget + " SQL statements, the last one was: " + statement);
+            }
+        }
+
+        // With reject set, the statement that goes over throws SqlBudgetExceededException
+        public void setBudget(int budget, boolean reject) {
+            this.budget = budget;
+            this.rejectOverBudget = reject;
+        }
+
+        public int getBudget() {
+            return budget;
+        }
+
+        public boolean isOverBudget() {
+            return budget >= 0 && count > budget;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public int getCount() {
+            return count;
+        }
+
+        public boolean isOutermost() {
+            return parent == null;
+        }
+
+        // Statements run at least threshold times, most repeated first
+        public Map<String, Integer> getRepeated(int threshold) {
+            Map<String, Integer> repeated = new LinkedHashMap<>();
+            statements.entrySet().stream()
+                    .filter(entry -> entry.getValue() >= threshold)
+                    .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
+                    .forEach(entry -> repeated.put(entry.getKey(), entry.getValue()));
+            return repeated;
+        }
+
+        // Forgets what was counted so far in this scope only, e.g. the setup of a test
+        public void reset() {
+            count = 0;
+            statements.clear();
+        }
+
+        @Override
+        public void close() {
+            if (parent != null) {
+                CURRENT.set(parent);
+            } else {
+                CURRENT.remove();
+            }
+        }
+    }
+}
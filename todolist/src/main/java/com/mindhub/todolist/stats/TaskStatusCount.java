@@ -0,0 +1,7 @@
+package com.mindhub.todolist.stats;
+
+import com.mindhub.todolist.models.TaskEntity;
+
+// One GROUP BY row: how many tasks an owner (null when unassigned) has in a status
+public record TaskStatusCount(Long ownerId, TaskEntity.TaskStatus status, long count) {
+}
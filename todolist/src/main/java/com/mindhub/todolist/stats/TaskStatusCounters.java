@@ -0,0 +1,208 @@
+package com.mindhub.todolist.stats;
+
+import com.mindhub.todolist.dtos.TaskFilterDTO;
+import com.mindhub.todolist.dtos.TaskStatsDTO;
+import com.mindhub.todolist.events.TaskBulkChangedEvent;
+import com.mindhub.todolist.events.TaskChangedEvent;
+import com.mindhub.todolist.events.TaskSnapshot;
+import com.mindhub.todolist.models.TaskEntity;
+import com.mindhub.todolist.repositories.TaskEntityRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Task counts per status, globally and per owner, kept current from task events
+@Component
+public class TaskStatusCounters {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskStatusCounters.class);
+    private static final TaskEntity.TaskStatus[] STATUSES = TaskEntity.TaskStatus.values();
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Indexed by TaskStatus ordinal; unassigned tasks only show up in the totals
+    private long[] totals = new long[STATUSES.length];
+    private Map<Long, long[]> byOwner = new HashMap<>();
+
+    @Autowired
+    private TaskEntityRepository taskRepository;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        load(taskRepository.countByOwnerAndStatus());
+    }
+
+    public void load(List<TaskStatusCount> rows) {
+        long[] freshTotals = new long[STATUSES.length];
+        Map<Long, long[]> freshByOwner = new HashMap<>();
+        for (TaskStatusCount row : rows) {
+            freshTotals[row.status().ordinal()] += row.count();
+            if (row.ownerId() != null) {
+                freshByOwner.computeIfAbsent(row.ownerId(), id -> new long[STATUSES.length])[row.status().ordinal()] += row.count();
+            }
+        }
+
+        lock.writeLock().lock();
+        try {
+            totals = freshTotals;
+            byOwner = freshByOwner;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Task status counters loaded for {} owners", freshByOwner.size());
+    }
+
+    @EventListener
+    public void onTaskChanged(TaskChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            add(event.before(), -1);
+            add(event.after(), 1);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @EventListener
+    public void onTasksBulkChanged(TaskBulkChangedEvent event) {
+        if (event.affected() == 0) {
+            return;
+        }
+        if (event.kind() == TaskBulkChangedEvent.Kind.REASSIGNED) {
+            reassign(event.fromUserId(), event.toUserId());
+            return;
+        }
+        if (event.previous() != null) {
+            // The statement returned the rows it changed, so each one moves like a single update
+            lock.writeLock().lock();
+            try {
+                for (TaskSnapshot before : event.previous()) {
+                    add(before, -1);
+                    add(event.apply(before), 1);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+            return;
+        }
+        TaskFilterDTO filter = event.filter();
+        if (filter.getIds() != null && !filter.getIds().isEmpty()) {
+            // The statuses and owners the listed ids had are unknown here, so recount once
+            rebuild();
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            if (filter.getOwnerId() != null) {
+                long[] ownerCounts = byOwner.get(filter.getOwnerId());
+                if (ownerCounts == null) {
+                    return;
+                }
+                for (TaskEntity.TaskStatus status : STATUSES) {
+                    if (filter.getStatus() == null || filter.getStatus() == status) {
+                        long moved = move(ownerCounts, status, event.newStatus());
+                        totals[status.ordinal()] -= moved;
+                        if (event.newStatus() != null) {
+                            totals[event.newStatus().ordinal()] += moved;
+                        }
+                    }
+                }
+            } else {
+                // Status-only filter: every owner and the unassigned tasks move together
+                move(totals, filter.getStatus(), event.newStatus());
+                for (long[] ownerCounts : byOwner.values()) {
+                    move(ownerCounts, filter.getStatus(), event.newStatus());
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public long count(TaskEntity.TaskStatus status) {
+        lock.readLock().lock();
+        try {
+            return totals[status.ordinal()];
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public TaskStatsDTO snapshot() {
+        lock.readLock().lock();
+        try {
+            Map<Long, Map<TaskEntity.TaskStatus, Long>> users = new TreeMap<>();
+            byOwner.forEach((ownerId, counts) -> {
+                if (sum(counts) > 0) {
+                    users.put(ownerId, toMap(counts));
+                }
+            });
+            return new TaskStatsDTO(toMap(totals), users);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void reassign(Long fromUserId, Long toUserId) {
+        lock.writeLock().lock();
+        try {
+            long[] moved = byOwner.remove(fromUserId);
+            if (moved == null) {
+                return;
+            }
+            long[] target = byOwner.computeIfAbsent(toUserId, id -> new long[STATUSES.length]);
+            for (int i = 0; i < moved.length; i++) {
+                target[i] += moved[i];
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void add(TaskSnapshot task, int delta) {
+        if (task == null || task.status() == null) {
+            return;
+        }
+        totals[task.status().ordinal()] += delta;
+        if (task.ownerId() != null) {
+            byOwner.computeIfAbsent(task.ownerId(), id -> new long[STATUSES.length])[task.status().ordinal()] += delta;
+        }
+    }
+
+    // Moves every count of `from` to `to`, or drops it when `to` is null; returns how many moved
+    private static long move(long[] counts, TaskEntity.TaskStatus from, TaskEntity.TaskStatus to) {
+        long moved = counts[from.ordinal()];
+        counts[from.ordinal()] = 0;
+        if (to != null) {
+            counts[to.ordinal()] += moved;
+        }
+        return moved;
+    }
+
+    private static long sum(long[] counts) {
+        long sum = 0;
+        for (long count : counts) {
+            sum += count;
+        }
+        return sum;
+    }
+
+    private static Map<TaskEntity.TaskStatus, Long> toMap(long[] counts) {
+        Map<TaskEntity.TaskStatus, Long> map = new EnumMap<>(TaskEntity.TaskStatus.class);
+        for (TaskEntity.TaskStatus status : STATUSES) {
+            map.put(status, counts[status.ordinal()]);
+        }
+        return map;
+    }
+}
@@ -0,0 +1,84 @@
+package com.mindhub.todolist.stats;
+
+import com.mindhub.todolist.events.TaskBulkChangedEvent;
+import com.mindhub.todolist.events.TaskChangedEvent;
+import com.mindhub.todolist.events.UserChangedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Change counters behind the user and list ETags: one per user (its data and its tasks) and one for
+// everything. Revisions only ever grow, and the startup time is part of them so a restart can't
+// hand out a tag an earlier run already used for different content.
+@Component
+public class UserRevisions {
+
+    private final long epoch = System.currentTimeMillis();
+    private final AtomicLong changes = new AtomicLong();
+    // Bulk changes that can't be pinned to one user move every user's revision
+    private final AtomicLong unattributed = new AtomicLong();
+    private final Map<Long, Long> byUser = new ConcurrentHashMap<>();
+
+    public String forUser(Long userId) {
+        return epoch + "-" + unattributed.get() + "-" + byUser.getOrDefault(userId, 0L);
+    }
+
+    public String forAll() {
+        return epoch + "-" + changes.get();
+    }
+
+    @EventListener
+    public void onTaskChanged(TaskChangedEvent event) {
+        bump(event.before() != null ? event.before().ownerId() : null,
+             event.after() != null ? event.after().ownerId() : null);
+    }
+
+    @EventListener
+    public void onTaskBulkChanged(TaskBulkChangedEvent event) {
+        if (event.kind() == TaskBulkChangedEvent.Kind.REASSIGNED) {
+            bump(event.fromUserId(), event.toUserId());
+        } else if (event.filter().getOwnerId() != null) {
+            bump(event.filter().getOwnerId());
+        } else {
+            afterCommitToo(() -> {
+                unattributed.incrementAndGet();
+                changes.incrementAndGet();
+            });
+        }
+    }
+
+    @EventListener
+    public void onUserChanged(UserChangedEvent event) {
+        bump(event.userId());
+    }
+
+    private void bump(Long... userIds) {
+        afterCommitToo(() -> {
+            for (Long userId : userIds) {
+                if (userId != null) {
+                    byUser.merge(userId, 1L, Long::sum);
+                }
+            }
+            changes.incrementAndGet();
+        });
+    }
+
+    // Bumped right away, and again once the surrounding transaction (if any) is over: a read that
+    // ran in between may have paired the new revision with the old data
+    private static void afterCommitToo(Runnable bump) {
+        bump.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    bump.run();
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.mindhub.todolist.timing;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+// Times a request by phase (see RequestTiming) when Server-Timing is on for its path or it's sampled
+// for the trace log. The header has to go out before the body, so those responses are buffered until
+// the serialization time is known; streamed endpoints shouldn't be listed in the paths. Runs ahead of
+// the security chain so the JWT filter is inside it.
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class ServerTimingFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(ServerTimingFilter.class);
+
+    static final String SERVER_TIMING = "Server-Timing";
+
+    private final boolean headerEnabled;
+    private final List<String> paths;
+    private final double traceSampleRate;
+
+    public ServerTimingFilter(@Value("${todolist.timing.server-timing.enabled:false}") boolean headerEnabled,
+                              @Value("${todolist.timing.server-timing.paths:/api/admin/tasks,/api/admin/users}") List<String> paths,
+                              @Value("${todolist.timing.trace.sample-rate:0}") double traceSampleRate) {
+        this.headerEnabled = headerEnabled;
+        this.paths = paths;
+        this.traceSampleRate = traceSampleRate;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        boolean header = headerEnabled && matches(request.getRequestURI());
+        boolean trace = traceSampleRate > 0 && ThreadLocalRandom.current().nextDouble() < traceSampleRate;
+        if (!header && !trace) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        RequestTiming timing = RequestTiming.start();
+        ContentCachingResponseWrapper buffered = header ? new ContentCachingResponseWrapper(response) : null;
+        try {
+            chain.doFilter(request, buffered != null ? buffered : response);
+        } finally {
+            long totalNanos = System.nanoTime() - timing.getStartNanos();
+            RequestTiming.end();
+            if (buffered != null) {
+                response.setHeader(SERVER_TIMING, timing.toServerTiming(totalNanos));
+                buffered.copyBodyToResponse();
+            }
+            if (trace) {
+                log.info("{} {} {} {}", request.getMethod(), request.getRequestURI(), response.getStatus(),
+                         timing.toLogLine(totalNanos));
+            }
+        }
+    }
+
+    private boolean matches(String uri) {
+        return paths.stream().anyMatch(path -> uri.equals(path) || uri.startsWith(path + "/"));
+    }
+}
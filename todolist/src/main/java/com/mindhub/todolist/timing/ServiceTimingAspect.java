@@ -0,0 +1,29 @@
+package com.mindhub.todolist.timing;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+// The mapping phase: time in the service impls, which load the entities and map them to DTOs, minus
+// the SQL they ran
+@Aspect
+@Component
+public class ServiceTimingAspect {
+
+    @Around("within(com.mindhub.todolist.services.impl..*) && execution(public * *(..))")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        RequestTiming timing = RequestTiming.current();
+        if (timing == null || !timing.enterService()) {
+            return joinPoint.proceed();
+        }
+        long start = System.nanoTime();
+        long sqlAtStart = RequestTiming.sqlNanos();
+        try {
+            return joinPoint.proceed();
+        } finally {
+            timing.exitService();
+            RequestTiming.recordSince(RequestTiming.Phase.MAPPING, start, sqlAtStart);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.mindhub.todolist.timing;
+
+import org.hibernate.BaseSessionEventListener;
+
+// JDBC execution time for RequestTiming, named in hibernate.session.events.auto so every session gets
+// one. Reading the rows of a result set happens after the execute and counts as the caller's time.
+public class SqlTimingListener extends BaseSessionEventListener {
+
+    private long statementStart;
+    private long batchStart;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        statementStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        RequestTiming.record(RequestTiming.Phase.SQL, System.nanoTime() - statementStart);
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        batchStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        RequestTiming.record(RequestTiming.Phase.SQL, System.nanoTime() - batchStart);
+    }
+}
@@ -0,0 +1,403 @@
+package com.mindhub.todolist.writebehind;
+
+import com.mindhub.todolist.dtos.TaskEntityDTO;
+import com.mindhub.todolist.events.TaskChangedEvent;
+import com.mindhub.todolist.events.TaskSnapshot;
+import com.mindhub.todolist.models.TaskEntity;
+import com.mindhub.todolist.repositories.TaskEntityRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.LockTimeoutException;
+import jakarta.persistence.OptimisticLockException;
+import jakarta.persistence.PersistenceException;
+import jakarta.persistence.PessimisticLockException;
+import jakarta.persistence.QueryTimeoutException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Opt-in write-behind for task updates. The latest update per task is kept until it is written,
+// so a task edited several times in a short window costs a single UPDATE. A flusher thread writes
+// in batches once batch-size tasks are pending or every flush-interval, whichever comes first.
+// Task change events are published when the update reaches the database. Callers were already told
+// the update succeeded, so a failed write isn't dropped: the batch is retried row by row and rows
+// that still fail go back in the queue. Only updates of deleted tasks, updates that keep failing
+// for a non-transient reason (max-attempts), and conflicting updates are discarded. An update carries
+// the version it was made against and is only written if the task still has it: a task changed in
+// the meantime (by another instance, or a write that didn't go through this queue) is left alone and
+// the update is counted as a conflict instead of overwriting that change.
+@Component
+@ConditionalOnProperty(name = "todolist.write-behind.enabled", havingValue = "true")
+public class TaskUpdateQueue {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskUpdateQueue.class);
+
+    private final TaskEntityRepository taskRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final int capacity;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final long offerTimeoutNanos;
+    private final int maxAttempts;
+
+    // Insertion order: a task keeps its place in line when it is updated again
+    private final LinkedHashMap<Long, TaskEntityDTO> pending = new LinkedHashMap<>();
+    // Failed writes of the pending update, per task
+    private final Map<Long, Integer> attempts = new HashMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notFull = lock.newCondition();
+    private final Condition flushDue = lock.newCondition();
+    // One writer at a time, whether the flusher thread or a caller that needs the queue drained
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    private final Thread flusher;
+    private volatile boolean running = true;
+
+    private final LongAdder enqueued = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder written = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder requeued = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder conflicts = new LongAdder();
+
+    public TaskUpdateQueue(TaskEntityRepository taskRepository,
+                           TransactionTemplate transactionTemplate,
+                           ApplicationEventPublisher eventPublisher,
+                           @Value("${todolist.write-behind.capacity:10000}") int capacity,
+                           @Value("${todolist.write-behind.batch-size:200}") int batchSize,
+                           @Value("${todolist.write-behind.flush-interval:500ms}") Duration flushInterval,
+                           @Value("${todolist.write-behind.offer-timeout:1s}") Duration offerTimeout,
+                           @Value("${todolist.write-behind.max-attempts:5}") int maxAttempts) {
+        this.taskRepository = taskRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.capacity = Math.max(1, capacity);
+        this.batchSize = Math.max(1, batchSize);
+        this.flushIntervalNanos = flushInterval.toNanos();
+        this.offerTimeoutNanos = offerTimeout.toNanos();
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.flusher = new Thread(this::runFlusher, "task-write-behind");
+        this.flusher.setDaemon(true);
+    }
+
+    @PostConstruct
+    public void start() {
+        flusher.start();
+    }
+
+    // Replaces any pending update of the same task. When the queue is full the caller waits for the
+    // flusher up to offer-timeout, then gets a RejectedExecutionException (503).
+    public void enqueue(TaskEntityDTO update) {
+        long remaining = offerTimeoutNanos;
+        lock.lock();
+        try {
+            while (!pending.containsKey(update.getId()) && pending.size() >= capacity) {
+                if (remaining <= 0 || !running) {
+                    rejected.increment();
+                    throw new RejectedExecutionException("Too many pending task updates");
+                }
+                flushDue.signal();
+                remaining = notFull.awaitNanos(remaining);
+            }
+            if (pending.put(update.getId(), update) == null) {
+                enqueued.increment();
+            } else {
+                coalesced.increment();
+                attempts.remove(update.getId());
+            }
+            if (pending.size() >= batchSize) {
+                flushDue.signal();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            rejected.increment();
+            throw new RejectedExecutionException("Interrupted while waiting for the task update queue", e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // The not yet written state of a task, or null when nothing is pending for it
+    public TaskEntityDTO getPending(Long id) {
+        lock.lock();
+        try {
+            return pending.get(id);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Writes what is pending right now. Called before other writes to tasks so a queued update
+    // can't land on top of them later.
+    public void flush() {
+        flushLock.lock();
+        try {
+            int remaining = size();
+            while (remaining > 0) {
+                List<TaskEntityDTO> batch = nextBatch();
+                if (batch.isEmpty()) {
+                    break;
+                }
+                write(batch);
+                remaining -= batch.size();
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return pending.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        lock.lock();
+        try {
+            flushDue.signalAll();
+            notFull.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        if (flusher.isAlive()) {
+            flusher.join(TimeUnit.SECONDS.toMillis(30));
+        }
+        // Anything enqueued after the flusher's last pass
+        flush();
+        int unwritten = size();
+        if (unwritten > 0) {
+            log.error("Task write-behind queue stopped with {} updates that could not be written", unwritten);
+        }
+        log.info("Task write-behind queue drained, {} updates written in {} batches", written.sum(), batches.sum());
+    }
+
+    private void runFlusher() {
+        // Set when the last flush failed or had to requeue, so a full queue the database won't take right
+        // now is retried every flush-interval rather than in a tight loop
+        boolean backOff = false;
+        while (running) {
+            lock.lock();
+            try {
+                if (running && (backOff || pending.size() < batchSize)) {
+                    flushDue.awaitNanos(flushIntervalNanos);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                lock.unlock();
+            }
+            long requeuedBefore = requeued.sum();
+            boolean flushFailed = false;
+            try {
+                flush();
+            } catch (RuntimeException e) {
+                log.error("Task write-behind flush failed", e);
+                flushFailed = true;
+            }
+            backOff = flushFailed || requeued.sum() > requeuedBefore;
+        }
+    }
+
+    private List<TaskEntityDTO> nextBatch() {
+        lock.lock();
+        try {
+            List<TaskEntityDTO> batch = new ArrayList<>(Math.min(batchSize, pending.size()));
+            for (TaskEntityDTO update : pending.values()) {
+                if (batch.size() == batchSize) {
+                    break;
+                }
+                batch.add(update);
+            }
+            return batch;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void write(List<TaskEntityDTO> batch) {
+        List<TaskChangedEvent> changes = new ArrayList<>(batch.size());
+        List<TaskEntityDTO> conflicting = new ArrayList<>();
+        try {
+            // Dirty checking sends the UPDATEs as JDBC batches on commit
+            transactionTemplate.executeWithoutResult(status -> apply(batch, changes, conflicting));
+        } catch (PersistenceException | DataAccessException | TransactionException e) {
+            if (batch.size() == 1) {
+                retryLater(batch.get(0), e);
+                return;
+            }
+            // One bad row (a version bumped by a direct write, a lock timeout) rolls back the whole
+            // batch, so the rows are written one by one to keep the others
+            log.warn("Could not write {} queued task updates as a batch, writing them one at a time", batch.size(), e);
+            batch.forEach(this::writeOne);
+            return;
+        }
+        written.add(changes.size());
+        batches.increment();
+        changes.forEach(eventPublisher::publishEvent);
+        conflicting.forEach(this::conflict);
+        complete(batch);
+    }
+
+    private void writeOne(TaskEntityDTO update) {
+        List<TaskChangedEvent> changes = new ArrayList<>(1);
+        List<TaskEntityDTO> conflicting = new ArrayList<>(1);
+        try {
+            transactionTemplate.executeWithoutResult(status -> apply(List.of(update), changes, conflicting));
+        } catch (PersistenceException | DataAccessException | TransactionException e) {
+            retryLater(update, e);
+            return;
+        }
+        written.add(changes.size());
+        changes.forEach(eventPublisher::publishEvent);
+        conflicting.forEach(this::conflict);
+        complete(List.of(update));
+    }
+
+    private void apply(List<TaskEntityDTO> batch, List<TaskChangedEvent> changes, List<TaskEntityDTO> conflicting) {
+        // Filled again if the transaction is retried row by row
+        changes.clear();
+        conflicting.clear();
+        Map<Long, TaskEntityDTO> updates = new HashMap<>();
+        batch.forEach(update -> updates.put(update.getId(), update));
+        // Tasks deleted in the meantime simply aren't found, their updates are dropped
+        for (TaskEntity task : taskRepository.findAllById(updates.keySet())) {
+            TaskEntityDTO update = updates.get(task.getId());
+            if (update.getVersion() != null && update.getVersion() != task.getVersion()) {
+                conflicting.add(update);
+                continue;
+            }
+            TaskSnapshot before = TaskSnapshot.of(task);
+            task.setTitle(update.getTitle());
+            task.setDescription(update.getDescription());
+            task.setStatus(update.getStatus());
+            changes.add(TaskChangedEvent.updated(before, TaskSnapshot.of(task)));
+        }
+    }
+
+    // Sends the update to the back of the queue for the next flush. Transient failures are retried
+    // for as long as it takes; anything else is given up on after max-attempts, so one update the
+    // database will never take can't hold a queue slot forever.
+    private void retryLater(TaskEntityDTO update, RuntimeException e) {
+        boolean dropped = false;
+        int attempt;
+        lock.lock();
+        try {
+            if (pending.get(update.getId()) != update) {
+                // Replaced by a newer update while it was being written, that one goes next
+                return;
+            }
+            attempt = attempts.merge(update.getId(), 1, Integer::sum);
+            pending.remove(update.getId());
+            if (!isTransient(e) && attempt >= maxAttempts) {
+                attempts.remove(update.getId());
+                notFull.signalAll();
+                dropped = true;
+            } else {
+                pending.put(update.getId(), update);
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (dropped) {
+            failed.increment();
+            log.error("Dropping the queued update of task {} after {} failed attempts", update.getId(), attempt, e);
+        } else {
+            requeued.increment();
+            log.warn("Could not write the queued update of task {} (attempt {}), retrying on the next flush", update.getId(), attempt, e);
+        }
+    }
+
+    private void conflict(TaskEntityDTO update) {
+        conflicts.increment();
+        log.warn("Discarding the queued update of task {}: it was made against version {} but the task has changed since",
+                update.getId(), update.getVersion());
+    }
+
+    private static boolean isTransient(RuntimeException e) {
+        return e instanceof TransientDataAccessException
+                || e instanceof RecoverableDataAccessException
+                || e instanceof TransactionException
+                || e instanceof OptimisticLockException
+                || e instanceof PessimisticLockException
+                || e instanceof LockTimeoutException
+                || e instanceof QueryTimeoutException;
+    }
+
+    // Drops the written updates, unless the task was updated again while they were being written
+    private void complete(List<TaskEntityDTO> batch) {
+        lock.lock();
+        try {
+            batch.forEach(update -> {
+                if (pending.remove(update.getId(), update)) {
+                    attempts.remove(update.getId());
+                }
+            });
+            notFull.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getEnqueued() {
+        return enqueued.sum();
+    }
+
+    public long getCoalesced() {
+        return coalesced.sum();
+    }
+
+    public long getWritten() {
+        return written.sum();
+    }
+
+    public long getBatches() {
+        return batches.sum();
+    }
+
+    public long getFailed() {
+        return failed.sum();
+    }
+
+    public long getRequeued() {
+        return requeued.sum();
+    }
+
+    public long getRejected() {
+        return rejected.sum();
+    }
+
+    public long getConflicts() {
+        return conflicts.sum();
+    }
+}
@@ -0,0 +1,20 @@
+-- Tables as Hibernate used to create them with ddl-auto
+CREATE TABLE user_entity (
+    id       BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    username VARCHAR(255),
+    password VARCHAR(255),
+    email    VARCHAR(255),
+    role     TINYINT CHECK (role BETWEEN 0 AND 1),
+    CONSTRAINT uk_user_entity_email UNIQUE (email)
+);
+
+CREATE SEQUENCE task_entity_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE task_entity (
+    id             BIGINT NOT NULL PRIMARY KEY,
+    title          VARCHAR(255),
+    description    VARCHAR(255),
+    status         TINYINT CHECK (status BETWEEN 0 AND 2),
+    user_entity_id BIGINT,
+    CONSTRAINT fk_task_entity_user_entity FOREIGN KEY (user_entity_id) REFERENCES user_entity (id)
+);
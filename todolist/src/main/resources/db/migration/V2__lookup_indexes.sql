@@ -0,0 +1,14 @@
+-- findByStatus, countByStatus and the status-filtered keyset page (status, id > ?)
+CREATE INDEX idx_task_status_id ON task_entity (status, id);
+
+-- findByUserEntityAndStatus, also serves lookups by owner alone
+CREATE INDEX idx_task_user_status ON task_entity (user_entity_id, status);
+
+-- findByTitle
+CREATE INDEX idx_task_title ON task_entity (title);
+
+-- findByUsername / existsByUsername
+CREATE INDEX idx_user_username ON user_entity (username);
+
+-- findByRole and the role-filtered keyset page (role, id > ?)
+CREATE INDEX idx_user_role_id ON user_entity (role, id);
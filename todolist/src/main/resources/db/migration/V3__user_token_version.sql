@@ -0,0 +1,2 @@
+-- Bumped whenever a user's role or email changes, tokens carrying an older value are rejected
+ALTER TABLE user_entity ADD COLUMN token_version INT DEFAULT 0 NOT NULL;
@@ -0,0 +1,2 @@
+-- Optimistic locking: every write to a task bumps it, conditional writes check it
+ALTER TABLE task_entity ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
@@ -0,0 +1,106 @@
+package com.mindhub.todolist.config;
+
+import com.mindhub.todolist.models.AuthenticatedUser;
+import com.mindhub.todolist.models.RoleType;
+import com.mindhub.todolist.models.UserEntity;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.security.SignatureException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtUtilsTest {
+
+    private static final String SECRET = Base64.getEncoder().encodeToString(
+            "a-test-secret-that-is-long-enough-for-hs256".getBytes());
+
+    private VerifiedTokenCache verifiedTokens;
+    private JwtUtils jwtUtils;
+
+    @BeforeEach
+    void setUp() {
+        verifiedTokens = new VerifiedTokenCache(100);
+        jwtUtils = new JwtUtils(SECRET, verifiedTokens);
+        ReflectionTestUtils.setField(jwtUtils, "expiration", 60_000L);
+        ReflectionTestUtils.setField(jwtUtils, "selfContained", true);
+    }
+
+    @Test
+    void verify_WhenTokenWasVerifiedBefore_ShouldReuseTheCachedClaims() {
+        // Arrange
+        String token = jwtUtils.generateToken("john@email.com");
+
+        // Act
+        Claims first = jwtUtils.verify(token);
+        Claims second = jwtUtils.verify(token);
+
+        // Assert
+        assertEquals("john@email.com", first.getSubject());
+        assertSame(first, second);
+        assertEquals(1, verifiedTokens.getMisses());
+        assertEquals(1, verifiedTokens.getHits());
+        assertTrue(jwtUtils.validateToken(second, "john@email.com"));
+    }
+
+    @Test
+    void verify_WhenSignatureIsTampered_ShouldThrowAndNotCache() {
+        // Arrange
+        String token = jwtUtils.generateToken("john@email.com");
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+
+        // Act & Assert
+        assertThrows(SignatureException.class, () -> jwtUtils.verify(tampered));
+        assertEquals(0, verifiedTokens.size());
+    }
+
+    @Test
+    void verify_WhenTokenExpired_ShouldThrow() {
+        // Arrange
+        ReflectionTestUtils.setField(jwtUtils, "expiration", -1_000L);
+        String token = jwtUtils.generateToken("john@email.com");
+
+        // Act & Assert
+        assertThrows(ExpiredJwtException.class, () -> jwtUtils.verify(token));
+    }
+
+    @Test
+    void validateToken_WhenSubjectDiffers_ShouldReturnFalse() {
+        // Arrange
+        String token = jwtUtils.generateToken("john@email.com");
+
+        // Act & Assert
+        assertFalse(jwtUtils.validateToken(token, "jane@email.com"));
+    }
+
+    @Test
+    void toPrincipal_WhenTokenIsSelfContained_ShouldCarryIdRoleAndVersion() {
+        // Arrange
+        UserEntity user = new UserEntity("john", "password", "john@email.com");
+        ReflectionTestUtils.setField(user, "id", 7L);
+        user.setRole(RoleType.ADMIN);
+        user.bumpTokenVersion();
+        String token = jwtUtils.generateToken(new SecurityUser(user));
+
+        // Act
+        Claims claims = jwtUtils.verify(token);
+        AuthenticatedUser principal = jwtUtils.toPrincipal(claims);
+
+        // Assert
+        assertEquals(new AuthenticatedUser(7L, "john@email.com", RoleType.ADMIN), principal);
+        assertEquals(1, jwtUtils.extractTokenVersion(claims));
+    }
+
+    @Test
+    void toPrincipal_WhenTokenOnlyHasSubject_ShouldReturnNull() {
+        // Arrange
+        String token = jwtUtils.generateToken("john@email.com");
+
+        // Act & Assert
+        assertNull(jwtUtils.toPrincipal(jwtUtils.verify(token)));
+    }
+}
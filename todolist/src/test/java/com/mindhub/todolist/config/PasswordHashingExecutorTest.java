@@ -0,0 +1,64 @@
+package com.mindhub.todolist.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PasswordHashingExecutorTest {
+
+    private final PasswordHashingExecutor executor = new PasswordHashingExecutor(1, 1);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void submit_WhenPoolHasRoom_ShouldRunTheWorkAndCountIt() throws Exception {
+        // Act
+        String result = executor.submit(() -> Thread.currentThread().getName()).get(5, TimeUnit.SECONDS);
+
+        // Assert
+        assertTrue(result.startsWith("password-hashing-"));
+        assertEquals(1, executor.getCompleted());
+        assertEquals(0, executor.getRejected());
+    }
+
+    @Test
+    void submit_WhenPoolAndQueueAreFull_ShouldRejectImmediately() throws Exception {
+        // Arrange
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Boolean> running = executor.submit(() -> await(release));
+        CompletableFuture<Boolean> queued = executor.submit(() -> await(release));
+
+        // Act & Assert
+        assertThrows(RejectedExecutionException.class, () -> executor.submit(() -> true));
+        assertEquals(1, executor.getRejected());
+
+        release.countDown();
+        assertTrue(running.get(5, TimeUnit.SECONDS));
+        assertTrue(queued.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void calibrate_WhenTargetIsTiny_ShouldNeverGoBelowTheDefaultStrength() {
+        // Act & Assert
+        assertEquals(BCryptCalibration.MIN_STRENGTH, BCryptCalibration.calibrate(Duration.ofMillis(1)));
+    }
+
+    private static boolean await(CountDownLatch latch) {
+        try {
+            return latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
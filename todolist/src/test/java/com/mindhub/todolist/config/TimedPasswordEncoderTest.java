@@ -0,0 +1,45 @@
+package com.mindhub.todolist.config;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimedPasswordEncoderTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final TimedPasswordEncoder encoder = new TimedPasswordEncoder(new BCryptPasswordEncoder(4), meterRegistry);
+
+    @Test
+    void encodeAndMatches_ShouldDelegateAndRecordEachOperation() {
+        // Act
+        String hash = encoder.encode("password123");
+        boolean matches = encoder.matches("password123", hash);
+        boolean wrong = encoder.matches("password124", hash);
+
+        // Assert
+        assertTrue(matches);
+        assertFalse(wrong);
+        assertEquals(1, timer("encode").count());
+        assertEquals(2, timer("matches").count());
+        assertTrue(timer("encode").totalTime(TimeUnit.NANOSECONDS) > 0);
+    }
+
+    @Test
+    void upgradeEncoding_ShouldDelegate() {
+        // Arrange
+        String weakHash = new BCryptPasswordEncoder(4).encode("password123");
+        TimedPasswordEncoder stronger = new TimedPasswordEncoder(new BCryptPasswordEncoder(5), meterRegistry);
+
+        // Act & Assert
+        assertTrue(stronger.upgradeEncoding(weakHash));
+    }
+
+    private Timer timer(String operation) {
+        return meterRegistry.get("todolist.password.hash").tag("operation", operation).timer();
+    }
+}
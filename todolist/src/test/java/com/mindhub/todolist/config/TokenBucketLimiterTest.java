@@ -0,0 +1,83 @@
+package com.mindhub.todolist.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenBucketLimiterTest {
+
+    private final AtomicLong now = new AtomicLong();
+    private final TokenBucketLimiter limiter = new TokenBucketLimiter(3, Duration.ofSeconds(1), 1000, now::get);
+
+    @Test
+    void tryAcquire_WhenBurstExceedsCapacity_ShouldRejectAndReportTheWait() {
+        // Act
+        long first = limiter.tryAcquire("10.0.0.1");
+        limiter.tryAcquire("10.0.0.1");
+        limiter.tryAcquire("10.0.0.1");
+        long fourth = limiter.tryAcquire("10.0.0.1");
+
+        // Assert
+        assertEquals(0, first);
+        assertEquals(TimeUnit.SECONDS.toNanos(1), fourth);
+        assertEquals(3, limiter.getAllowed());
+        assertEquals(1, limiter.getRejected());
+    }
+
+    @Test
+    void tryAcquire_WhenRefillIntervalPassed_ShouldAllowAgain() {
+        // Arrange
+        for (int i = 0; i < 3; i++) {
+            limiter.tryAcquire("10.0.0.1");
+        }
+        now.addAndGet(TimeUnit.SECONDS.toNanos(1));
+
+        // Act & Assert
+        assertEquals(0, limiter.tryAcquire("10.0.0.1"));
+        assertTrue(limiter.tryAcquire("10.0.0.1") > 0);
+    }
+
+    @Test
+    void tryAcquire_ShouldKeepSeparateBucketsPerKey() {
+        // Arrange
+        for (int i = 0; i < 4; i++) {
+            limiter.tryAcquire("10.0.0.1");
+        }
+
+        // Act & Assert
+        assertEquals(0, limiter.tryAcquire("10.0.0.2"));
+    }
+
+    @Test
+    void tryAcquire_WhenBucketIdleUntilFull_ShouldDropIt() {
+        // Arrange
+        limiter.tryAcquire("10.0.0.1");
+        now.addAndGet(TimeUnit.SECONDS.toNanos(2));
+        limiter.tryAcquire("10.0.0.2");
+        now.addAndGet(TimeUnit.SECONDS.toNanos(1));
+
+        // Act
+        int tracked = limiter.trackedKeys();
+
+        // Assert
+        assertEquals(1, tracked);
+    }
+
+    @Test
+    void tryAcquire_WhenManyKeys_ShouldStayBounded() {
+        // Arrange
+        TokenBucketLimiter bounded = new TokenBucketLimiter(3, Duration.ofSeconds(1), 16, now::get);
+
+        // Act
+        for (int i = 0; i < 1000; i++) {
+            bounded.tryAcquire("10.0." + (i / 256) + "." + (i % 256));
+        }
+
+        // Assert
+        assertTrue(bounded.trackedKeys() <= 16);
+    }
+}
@@ -0,0 +1,81 @@
+package com.mindhub.todolist.config;
+
+import com.mindhub.todolist.events.UserChangedEvent;
+import com.mindhub.todolist.repositories.UserEntityRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TokenVersionsTest {
+
+    @Mock
+    private UserEntityRepository userRepository;
+
+    private TokenVersions tokenVersions;
+
+    @BeforeEach
+    void setUp() {
+        tokenVersions = new TokenVersions(100);
+        ReflectionTestUtils.setField(tokenVersions, "userRepository", userRepository);
+    }
+
+    @Test
+    void isCurrent_WhenCheckedTwice_ShouldQueryTheDatabaseOnce() {
+        // Arrange
+        when(userRepository.findTokenVersionById(1L)).thenReturn(Optional.of(0));
+
+        // Act & Assert
+        assertTrue(tokenVersions.isCurrent(1L, 0));
+        assertTrue(tokenVersions.isCurrent(1L, 0));
+        verify(userRepository, times(1)).findTokenVersionById(1L);
+    }
+
+    @Test
+    void isCurrent_WhenUserChanged_ShouldRejectOlderVersions() {
+        // Arrange
+        when(userRepository.findTokenVersionById(1L)).thenReturn(Optional.of(0), Optional.of(1));
+        assertTrue(tokenVersions.isCurrent(1L, 0));
+
+        // Act
+        tokenVersions.onUserChanged(new UserChangedEvent(1L, "john@email.com"));
+
+        // Assert
+        assertFalse(tokenVersions.isCurrent(1L, 0));
+        assertTrue(tokenVersions.isCurrent(1L, 1));
+    }
+
+    @Test
+    void isCurrent_WhenUserWasDeleted_ShouldRejectEveryToken() {
+        // Arrange
+        when(userRepository.findTokenVersionById(1L)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertFalse(tokenVersions.isCurrent(1L, 0));
+        assertFalse(tokenVersions.isCurrent(1L, -1));
+    }
+
+    @Test
+    void isCurrent_WhenUserChangesWhileLoading_ShouldNotKeepTheLoadedVersion() {
+        // Arrange
+        when(userRepository.findTokenVersionById(1L)).thenAnswer(invocation -> {
+            tokenVersions.onUserChanged(new UserChangedEvent(1L, "john@email.com"));
+            return Optional.of(0);
+        }).thenReturn(Optional.of(1));
+
+        // Act
+        tokenVersions.isCurrent(1L, 0);
+
+        // Assert
+        assertFalse(tokenVersions.isCurrent(1L, 0));
+        verify(userRepository, times(2)).findTokenVersionById(1L);
+    }
+}
@@ -0,0 +1,76 @@
+package com.mindhub.todolist.config;
+
+import com.mindhub.todolist.events.UserChangedEvent;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserDetailsCacheTest {
+
+    private static UserDetails user(String email) {
+        return User.withUsername(email).password("password").authorities("USER").build();
+    }
+
+    @Test
+    void getUserFromCache_WhenUserWasCached_ShouldCountHitsAndMisses() {
+        // Arrange
+        UserDetailsCache cache = new UserDetailsCache(10, Duration.ofMinutes(5));
+        UserDetails user = user("john@email.com");
+        cache.putUserInCache(user);
+
+        // Act
+        UserDetails cached = cache.getUserFromCache("john@email.com");
+        UserDetails missing = cache.getUserFromCache("jane@email.com");
+
+        // Assert
+        assertSame(user, cached);
+        assertNull(missing);
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getMisses());
+    }
+
+    @Test
+    void putUserInCache_WhenFull_ShouldEvictLeastRecentlyUsed() {
+        // Arrange
+        UserDetailsCache cache = new UserDetailsCache(2, Duration.ofMinutes(5));
+        cache.putUserInCache(user("first@email.com"));
+        cache.putUserInCache(user("second@email.com"));
+        cache.getUserFromCache("first@email.com");
+
+        // Act
+        cache.putUserInCache(user("third@email.com"));
+
+        // Assert
+        assertEquals(2, cache.size());
+        assertNotNull(cache.getUserFromCache("first@email.com"));
+        assertNull(cache.getUserFromCache("second@email.com"));
+    }
+
+    @Test
+    void getUserFromCache_WhenEntryExpired_ShouldReturnNull() {
+        // Arrange
+        UserDetailsCache cache = new UserDetailsCache(10, Duration.ZERO);
+        cache.putUserInCache(user("john@email.com"));
+
+        // Act & Assert
+        assertNull(cache.getUserFromCache("john@email.com"));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void onUserChanged_WhenUserIsCached_ShouldEvictIt() {
+        // Arrange
+        UserDetailsCache cache = new UserDetailsCache(10, Duration.ofMinutes(5));
+        cache.putUserInCache(user("john@email.com"));
+
+        // Act
+        cache.onUserChanged(new UserChangedEvent(1L, "john@email.com"));
+
+        // Assert
+        assertNull(cache.getUserFromCache("john@email.com"));
+    }
+}
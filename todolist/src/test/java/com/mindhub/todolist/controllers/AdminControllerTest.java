@@ -1,7 +1,9 @@
 package com.mindhub.todolist.controllers;
 
+import com.mindhub.todolist.dtos.CursorPageDTO;
 import com.mindhub.todolist.dtos.TaskEntityDTO;
 import com.mindhub.todolist.dtos.UserEntityDTO;
+import com.mindhub.todolist.exceptions.InvalidRequestException;
 import com.mindhub.todolist.exceptions.TaskNotFoundException;
 import com.mindhub.todolist.exceptions.UserNotFoundException;
 import com.mindhub.todolist.models.RegisterUser;
@@ -11,8 +13,11 @@ import com.mindhub.todolist.models.UserEntity;
 import com.mindhub.todolist.repositories.UserEntityRepository;
 import com.mindhub.todolist.services.impl.TaskEntityServiceImpl;
 import com.mindhub.todolist.services.impl.UserEntityServiceImpl;
+import com.mindhub.todolist.sql.SqlStatementCountExtension;
+import com.mindhub.todolist.sql.SqlStatements;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
@@ -26,6 +31,7 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import java.util.List;
@@ -35,6 +41,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 @SpringBootTest
 @AutoConfigureMockMvc
 @ActiveProfiles("test")
+@ExtendWith(SqlStatementCountExtension.class)
 class AdminControllerTest {
 
     @Autowired
@@ -59,46 +66,79 @@ class AdminControllerTest {
 
     @Test
     @WithMockUser(username = "admin@example.com", authorities = "ADMIN")
-    void testGetAllUsers_ReturnsUserDTOList_WhenRequestIsValid() throws Exception {
+    void testGetAllUsers_ReturnsUserDTOPage_WhenRequestIsValid(SqlStatements.Scope statements) throws Exception {
         // Arrange
         List<UserEntityDTO> userDTOs = createSampleUserDTOs();
 
-        Mockito.when(userService.getAllUsersDTO()).thenReturn(userDTOs);
+        Mockito.when(userService.getUsersRevision()).thenReturn("1-0");
+        Mockito.when(userService.getUsersPage(null, 2, null)).thenReturn(new CursorPageDTO<>(userDTOs, "next"));
+        statements.reset();
 
         // Act & Assert
-        mockMvc.perform(get("/users")
+        mockMvc.perform(get("/api/admin/users")
+                        .param("size", "2")
                         .accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
-                .andExpect(MockMvcResultMatchers.jsonPath("$").isArray())
-                .andExpect(MockMvcResultMatchers.jsonPath("$.length()").value(userDTOs.size()))
-                .andExpect(MockMvcResultMatchers.jsonPath("$[0].username").value("user1"))
-                .andExpect(MockMvcResultMatchers.jsonPath("$[0].email").value("user1@example.com"));
+                .andExpect(MockMvcResultMatchers.jsonPath("$.items").isArray())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.items.length()").value(userDTOs.size()))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.items[0].name").value("user1"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.items[0].email").value("user1@example.com"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.nextCursor").value("next"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.hasMore").value(true));
+
+        verify(userService).getUsersPage(null, 2, null);
+        // The services are mocked, so anything counted here would come from the web or security layer
+        assertEquals(0, statements.getCount());
+    }
+
+    @Test
+    @WithMockUser(username = "admin@example.com", authorities = "ADMIN")
+    void testGetAllUsers_WhenNoUsersFound_ShouldReturnEmptyPage() throws Exception {
+        // Arrange
+        Mockito.when(userService.getUsersRevision()).thenReturn("1-0");
+        Mockito.when(userService.getUsersPage(null, null, null)).thenReturn(new CursorPageDTO<>(List.of(), null));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/admin/users")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk()) // Ensure response status is 200 OK
+                .andExpect(MockMvcResultMatchers.jsonPath("$.items").isArray())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.items.length()").value(0))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.hasMore").value(false));
 
-        verify(userService).getAllUsersDTO();
+        verify(userService).getUsersPage(null, null, null);
     }
 
     @Test
     @WithMockUser(username = "admin@example.com", authorities = "ADMIN")
-    void testGetAllUsers_WhenNoUsersFound_ShouldReturnEmptyList() throws Exception {
+    void testGetAllUsers_WhenCursorIsMalformed_ShouldReturnBadRequest() throws Exception {
         // Arrange
-        List<UserEntityDTO> emptyUserDTOs = List.of();
+        Mockito.when(userService.getUsersRevision()).thenReturn("1-0");
+        Mockito.when(userService.getUsersPage("not-a-cursor", null, null))
+                .thenThrow(new InvalidRequestException("Malformed cursor"));
 
-        // Act
-        Mockito.when(userService.getAllUsersDTO()).thenReturn(emptyUserDTOs);
+        // Act & Assert
+        mockMvc.perform(get("/api/admin/users")
+                        .param("cursor", "not-a-cursor")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest())
+                .andExpect(MockMvcResultMatchers.content().string("Malformed cursor"));
+    }
 
-        // Assert
-        mockMvc.perform(get("/users")
+    @Test
+    @WithMockUser(username = "user@example.com", authorities = "USER")
+    void testGetAllUsers_WhenUserIsNotAdmin_ShouldReturnForbidden() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/api/admin/users")
                         .accept(MediaType.APPLICATION_JSON))
-                .andExpect(status().isOk()) // Ensure response status is 200 OK
-                .andExpect(MockMvcResultMatchers.jsonPath("$").isArray())
-                .andExpect(MockMvcResultMatchers.jsonPath("$.length()").value(0));
+                .andExpect(status().isForbidden());
 
-        verify(userService).getAllUsersDTO();
+        verifyNoInteractions(userService);
     }
 
     @Test
     @WithMockUser(username = "admin@example.com", authorities = "ADMIN")
-    public void testAssignTaskById_WhenUserFound_ShouldAssignTask() throws Exception {
+    public void testAssignTaskById_WhenUserFound_ShouldAssignTask(SqlStatements.Scope statements) throws Exception {
         // Arrange
         TaskEntity mockTask = new TaskEntity();
         ReflectionTestUtils.setField(mockTask, "id", 1L);
@@ -108,17 +148,19 @@ class AdminControllerTest {
                 .thenReturn(
                         new TaskEntityDTO(mockTask
                         ));
+        statements.reset();
 
         // Assert
-        mockMvc.perform(MockMvcRequestBuilders.put("/1/assign/1")
+        mockMvc.perform(MockMvcRequestBuilders.put("/api/admin/1/assign/1")
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(MockMvcResultMatchers.status().isOk())
                 .andExpect(MockMvcResultMatchers.jsonPath("$.id").value(1));
+        assertEquals(0, statements.getCount());
     }
 
     @Test
     @WithMockUser(username = "admin@example.com", authorities = "ADMIN")
-    public void testAssignTaskById_WhenUserNotFound_ShouldReturnNull() throws Exception {
+    public void testAssignTaskById_WhenTaskNotFound_ShouldReturnNotFound() throws Exception {
 
         // Act & Assert
         Mockito.when(taskService.assignTaskById(Mockito.any(), Mockito.anyLong()))
@@ -126,27 +168,40 @@ class AdminControllerTest {
                         new TaskNotFoundException("Task not found"
                 ));
 
-        mockMvc.perform(MockMvcRequestBuilders.put("/1/assign/1")
+        mockMvc.perform(MockMvcRequestBuilders.put("/api/admin/1/assign/1")
                         .contentType(MediaType.APPLICATION_JSON))
-                .andExpect(MockMvcResultMatchers.status().isNotFound());
+                .andExpect(MockMvcResultMatchers.status().isNotFound())
+                .andExpect(MockMvcResultMatchers.content().string("Task was not found"));
     }
 
     @Test
+    @WithMockUser(username = "admin@example.com", authorities = "ADMIN")
     public void testDeleteUser_WhenUserGetsDelete_ShouldReturnSuccess() throws Exception {
         doNothing().when(userService).deleteUser(1L);
 
-        mockMvc.perform(MockMvcRequestBuilders.delete("/users/1")
+        mockMvc.perform(MockMvcRequestBuilders.delete("/api/admin/users/1")
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(MockMvcResultMatchers.status().isNoContent());
     }
 
     @Test
+    @WithMockUser(username = "admin@example.com", authorities = "ADMIN")
     public void testDeleteUserNotFound() throws Exception {
         doThrow(new UserNotFoundException("User not found")).when(userService).deleteUser(1L);
 
-        mockMvc.perform(MockMvcRequestBuilders.delete("/users/1")
+        mockMvc.perform(MockMvcRequestBuilders.delete("/api/admin/users/1")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(MockMvcResultMatchers.status().isNotFound())
+                .andExpect(MockMvcResultMatchers.content().string("User was not found"));
+    }
+
+    @Test
+    public void testDeleteUser_WhenNotAuthenticated_ShouldNotDelete() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.delete("/api/admin/users/1")
                         .contentType(MediaType.APPLICATION_JSON))
-                .andExpect(MockMvcResultMatchers.status().isNotFound());
+                .andExpect(MockMvcResultMatchers.status().isForbidden());
+
+        verify(userService, never()).deleteUser(anyLong());
     }
 
     /// Helper
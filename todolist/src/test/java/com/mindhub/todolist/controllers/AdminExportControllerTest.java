@@ -0,0 +1,117 @@
+package com.mindhub.todolist.controllers;
+
+import com.mindhub.todolist.config.JwtUtils;
+import com.mindhub.todolist.config.SecurityUser;
+import com.mindhub.todolist.models.RoleType;
+import com.mindhub.todolist.models.TaskEntity;
+import com.mindhub.todolist.models.UserEntity;
+import com.mindhub.todolist.repositories.TaskEntityRepository;
+import com.mindhub.todolist.repositories.UserEntityRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.List;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+// The exports stream on an async dispatch, which has to be authorized like the request that started it
+@SpringBootTest
+@AutoConfigureMockMvc
+class AdminExportControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtUtils jwtUtils;
+
+    @Autowired
+    private UserEntityRepository userRepository;
+
+    @Autowired
+    private TaskEntityRepository taskRepository;
+
+    private UserEntity admin;
+    private UserEntity user;
+    private TaskEntity task;
+
+    @BeforeEach
+    void setUp() {
+        admin = new UserEntity("export-admin", "password", "export-admin@example.com");
+        admin.setRole(RoleType.ADMIN);
+        admin = userRepository.save(admin);
+        user = new UserEntity("export-user", "password", "export-user@example.com");
+        user.setRole(RoleType.USER);
+        user = userRepository.save(user);
+        task = new TaskEntity("Export, \"quoted\"", "Line one\nline two", TaskEntity.TaskStatus.PENDING);
+        task.setUserEntity(user);
+        task = taskRepository.save(task);
+    }
+
+    @AfterEach
+    void tearDown() {
+        taskRepository.deleteById(task.getId());
+        userRepository.deleteAllById(List.of(admin.getId(), user.getId()));
+    }
+
+    @Test
+    void exportTasks_WhenFormatIsCsv_ShouldStreamEscapedRows() throws Exception {
+        // Act
+        MvcResult started = mockMvc.perform(get("/api/admin/export/tasks")
+                                                    .param("format", "CSV")
+                                                    .header(HttpHeaders.AUTHORIZATION, bearer(admin)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Assert
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=tasks.csv"))
+                .andExpect(content().string(containsString("id,title,description,status,userId\n")))
+                .andExpect(content().string(containsString(task.getId() + ",\"Export, \"\"quoted\"\"\",\"Line one\nline two\",PENDING," + user.getId() + "\n")));
+    }
+
+    @Test
+    void exportUsers_WhenFormatIsNdjson_ShouldStreamOneObjectPerLine() throws Exception {
+        // Act
+        MvcResult started = mockMvc.perform(get("/api/admin/export/users")
+                                                    .header(HttpHeaders.AUTHORIZATION, bearer(admin)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Assert
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("application/x-ndjson"))
+                .andExpect(content().string(containsString("{\"id\":" + user.getId()
+                        + ",\"username\":\"export-user\",\"email\":\"export-user@example.com\",\"role\":\"USER\"}\n")));
+    }
+
+    @Test
+    void exportTasks_WhenCallerIsNotAdmin_ShouldBeForbidden() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/api/admin/export/tasks").header(HttpHeaders.AUTHORIZATION, bearer(user)))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void exportTasks_WhenUnauthenticated_ShouldBeForbidden() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/api/admin/export/tasks"))
+                .andExpect(status().isForbidden());
+    }
+
+    private String bearer(UserEntity userEntity) {
+        return "Bearer " + jwtUtils.generateToken(new SecurityUser(userEntity));
+    }
+}
@@ -0,0 +1,30 @@
+package com.mindhub.todolist.controllers;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ETagsTest {
+
+    @Test
+    void taskVersion_WhenTagNamesTheTask_ShouldReturnItsVersion() {
+        // Act & Assert
+        assertEquals(7L, ETags.taskVersion(ETags.task(3L, 7L), 3L));
+        assertEquals(7L, ETags.taskVersion("\"task-9-1\", " + ETags.task(3L, 7L), 3L));
+        assertEquals(7L, ETags.taskVersion("\"task-3-7-gzip\"", 3L));
+    }
+
+    @Test
+    void list_ShouldBeWeak() {
+        // Act & Assert
+        assertEquals("W/\"tasks-12\"", ETags.list("tasks", "12"));
+    }
+
+    @Test
+    void taskVersion_WhenTagIsForAnotherTaskOrWeak_ShouldReturnNull() {
+        // Act & Assert
+        assertNull(ETags.taskVersion(ETags.task(4L, 7L), 3L));
+        assertNull(ETags.taskVersion("W/" + ETags.task(3L, 7L), 3L));
+        assertNull(ETags.taskVersion("\"task-3-x\"", 3L));
+    }
+}
@@ -0,0 +1,53 @@
+package com.mindhub.todolist.encoding;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompressedResponseCacheTest {
+
+    private final CompressedResponseCache cache = new CompressedResponseCache(100);
+
+    @Test
+    void put_WhenOverTheByteBound_ShouldDropTheLeastRecentlyUsed() {
+        // Arrange
+        cache.put("a", new byte[40]);
+        cache.put("b", new byte[40]);
+        cache.get("a");
+
+        // Act
+        cache.put("c", new byte[40]);
+
+        // Assert
+        assertNotNull(cache.get("a"));
+        assertNull(cache.get("b"));
+        assertNotNull(cache.get("c"));
+        assertEquals(80, cache.bytes());
+    }
+
+    @Test
+    void put_WhenBodyIsLargerThanTheCache_ShouldNotStoreIt() {
+        // Arrange
+        cache.put("a", new byte[40]);
+
+        // Act
+        cache.put("b", new byte[101]);
+
+        // Assert
+        assertNull(cache.get("b"));
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void put_WhenKeyIsReplaced_ShouldCountOnlyTheNewBody() {
+        // Arrange
+        cache.put("a", new byte[40]);
+
+        // Act
+        cache.put("a", new byte[10]);
+
+        // Assert
+        assertEquals(10, cache.bytes());
+        assertEquals(1, cache.size());
+    }
+}
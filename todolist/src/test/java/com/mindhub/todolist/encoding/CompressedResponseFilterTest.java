@@ -0,0 +1,171 @@
+package com.mindhub.todolist.encoding;
+
+import com.mindhub.todolist.dtos.EncodingStatsDTO;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompressedResponseFilterTest {
+
+    private static final String LARGE_BODY = "{\"title\":\"Task\",\"status\":\"PENDING\"}".repeat(100);
+
+    private final EncodingStats stats = new EncodingStats();
+    private final CompressedResponseFilter filter = new CompressedResponseFilter(
+            stats, List.of("/api/admin/tasks"), DataSize.ofBytes(512), DataSize.ofMegabytes(1));
+
+    @Test
+    void doFilter_WhenClientAcceptsGzip_ShouldCompressAndTagTheGzippedBody() throws Exception {
+        // Act
+        MockHttpServletResponse response = get("/api/admin/tasks", "gzip, deflate", LARGE_BODY, "\"tasks-1\"");
+
+        // Assert
+        assertEquals("gzip", response.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertEquals("\"tasks-1-gzip\"", response.getHeader(HttpHeaders.ETAG));
+        assertEquals("application/json", response.getContentType());
+        assertEquals(LARGE_BODY, gunzip(response.getContentAsByteArray()));
+        assertTrue(response.getContentLength() < LARGE_BODY.length());
+    }
+
+    @Test
+    void doFilter_WhenSameETagIsAskedAgain_ShouldServeTheCompressedBodyFromCache() throws Exception {
+        // Arrange
+        byte[] first = get("/api/admin/tasks", "gzip", LARGE_BODY, "\"tasks-1\"").getContentAsByteArray();
+
+        // Act
+        byte[] second = get("/api/admin/tasks", "gzip", LARGE_BODY, "\"tasks-1\"").getContentAsByteArray();
+        get("/api/admin/tasks", "gzip", LARGE_BODY, "\"tasks-2\"");
+
+        // Assert
+        assertArrayEquals(first, second);
+        assertEquals(2, filter.cachedResponses());
+        EncodingStatsDTO json = stats.getStats().get(0);
+        assertEquals("application/json", json.getFormat());
+        assertEquals(3, json.getCompressedResponses());
+        assertEquals(1, json.getCompressionCacheHits());
+    }
+
+    @Test
+    void doFilter_WhenETagIsWeak_ShouldKeepItForTheGzippedBody() throws Exception {
+        // Act
+        MockHttpServletResponse response = get("/api/admin/tasks", "gzip", LARGE_BODY, "W/\"tasks-1\"");
+
+        // Assert
+        assertEquals("gzip", response.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertEquals("W/\"tasks-1\"", response.getHeader(HttpHeaders.ETAG));
+    }
+
+    @Test
+    void doFilter_WhenGzippedCopyIsRevalidated_ShouldCompareTheIdentityTagAndAnswerWithTheGzipOne() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/admin/tasks/1");
+        request.addHeader(HttpHeaders.ACCEPT_ENCODING, "gzip");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"task-1-3-gzip\"");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void doGet(HttpServletRequest req, HttpServletResponse resp) {
+                resp.setHeader(HttpHeaders.ETAG, "\"task-1-3\"");
+                boolean matches = "\"task-1-3\"".equals(req.getHeader(HttpHeaders.IF_NONE_MATCH))
+                        && "\"task-1-3\"".equals(req.getHeaders(HttpHeaders.IF_NONE_MATCH).nextElement());
+                resp.setStatus(matches ? HttpServletResponse.SC_NOT_MODIFIED : HttpServletResponse.SC_OK);
+            }
+        });
+
+        // Act
+        filter.doFilter(request, response, chain);
+
+        // Assert
+        assertEquals(HttpServletResponse.SC_NOT_MODIFIED, response.getStatus());
+        assertEquals("\"task-1-3-gzip\"", response.getHeader(HttpHeaders.ETAG));
+    }
+
+    @Test
+    void doFilter_WhenBodyIsBelowMinimumSize_ShouldSendItUncompressed() throws Exception {
+        // Act
+        MockHttpServletResponse response = get("/api/admin/tasks", "gzip", "{\"title\":\"Task\"}", "\"tasks-1\"");
+
+        // Assert
+        assertNull(response.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertEquals("{\"title\":\"Task\"}", response.getContentAsString());
+        assertEquals(0, filter.cachedResponses());
+    }
+
+    @Test
+    void doFilter_WhenClientDoesNotAcceptGzip_ShouldOnlyAddVaryOnAccept() throws Exception {
+        // Act
+        MockHttpServletResponse response = get("/api/admin/tasks", "gzip;q=0", LARGE_BODY, "\"tasks-1\"");
+
+        // Assert
+        assertNull(response.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(LARGE_BODY, response.getContentAsString());
+        assertEquals(List.of(HttpHeaders.ACCEPT), response.getHeaders(HttpHeaders.VARY));
+    }
+
+    @Test
+    void doFilter_WhenPathIsNotListed_ShouldLeaveTheResponseAlone() throws Exception {
+        // Act
+        MockHttpServletResponse response = get("/api/admin/export/tasks", "gzip", LARGE_BODY, null);
+
+        // Assert
+        assertNull(response.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertNull(response.getHeader(HttpHeaders.VARY));
+        assertEquals(LARGE_BODY, response.getContentAsString());
+    }
+
+    @Test
+    void acceptsGzip_ShouldHonourQualityValues() {
+        // Act & Assert
+        assertTrue(CompressedResponseFilter.acceptsGzip("deflate, gzip;q=0.5"));
+        assertTrue(CompressedResponseFilter.acceptsGzip("*"));
+        assertFalse(CompressedResponseFilter.acceptsGzip("gzip;q=0, br"));
+        assertFalse(CompressedResponseFilter.acceptsGzip("identity"));
+        assertFalse(CompressedResponseFilter.acceptsGzip(null));
+    }
+
+    @Test
+    void gzipTag_ShouldOnlySuffixStrongTags() {
+        // Act & Assert
+        assertEquals("\"task-1-3-gzip\"", CompressedResponseFilter.gzipTag("\"task-1-3\""));
+        assertEquals("\"task-1-3-gzip\"", CompressedResponseFilter.gzipTag("\"task-1-3-gzip\""));
+        assertEquals("W/\"tasks-1\"", CompressedResponseFilter.gzipTag("W/\"tasks-1\""));
+        assertEquals("\"task-1-3\", W/\"tasks-1\"", CompressedResponseFilter.identityTags("\"task-1-3-gzip\", W/\"tasks-1\""));
+    }
+
+    private MockHttpServletResponse get(String uri, String acceptEncoding, String body, String etag) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+        request.addHeader(HttpHeaders.ACCEPT_ENCODING, acceptEncoding);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+                resp.setContentType("application/json");
+                if (etag != null) {
+                    resp.setHeader(HttpHeaders.ETAG, etag);
+                }
+                resp.getOutputStream().write(body.getBytes(StandardCharsets.UTF_8));
+            }
+        });
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+
+    private static String gunzip(byte[] gzipped) throws IOException {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gzipped))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.mindhub.todolist.repositories;
+
+import com.mindhub.todolist.models.RoleType;
+import com.mindhub.todolist.models.TaskEntity;
+import com.mindhub.todolist.models.UserEntity;
+import org.hibernate.Session;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Runs each repository finder, captures the SQL Hibernate generated for it and runs H2's EXPLAIN
+// on that SQL against the Flyway schema
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.mindhub.todolist.repositories.QueryPlanIndexTest$CapturingInspector")
+class QueryPlanIndexTest {
+
+    @Autowired
+    private TaskEntityRepository taskRepository;
+
+    @Autowired
+    private UserEntityRepository userRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    // Statements Hibernate prepared on the test thread, in order
+    public static class CapturingInspector implements StatementInspector {
+
+        static final ThreadLocal<List<String>> STATEMENTS = ThreadLocal.withInitial(ArrayList::new);
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.get().add(sql);
+            return sql;
+        }
+    }
+
+    @FunctionalInterface
+    interface Finder {
+        void call(TaskEntityRepository tasks, UserEntityRepository users, UserEntity owner);
+    }
+
+    static Stream<Arguments> finders() {
+        return Stream.of(
+                Arguments.of("findByStatus", "IDX_TASK_STATUS_ID",
+                             (Finder) (tasks, users, owner) -> tasks.findByStatus(TaskEntity.TaskStatus.PENDING)),
+                Arguments.of("countByStatus", "IDX_TASK_STATUS_ID",
+                             (Finder) (tasks, users, owner) -> tasks.countByStatus(TaskEntity.TaskStatus.PENDING)),
+                Arguments.of("findByStatusAndIdGreaterThanOrderByIdAsc", "IDX_TASK_STATUS_ID",
+                             (Finder) (tasks, users, owner) -> tasks.findByStatusAndIdGreaterThanOrderByIdAsc(
+                                     TaskEntity.TaskStatus.PENDING, 10L, Limit.of(50))),
+                Arguments.of("findByUserEntityAndStatus", "IDX_TASK_USER_STATUS",
+                             (Finder) (tasks, users, owner) -> tasks.findByUserEntityAndStatus(owner, TaskEntity.TaskStatus.PENDING)),
+                Arguments.of("findByTitle", "IDX_TASK_TITLE",
+                             (Finder) (tasks, users, owner) -> tasks.findByTitle("Task")),
+                Arguments.of("findByUsername", "IDX_USER_USERNAME",
+                             (Finder) (tasks, users, owner) -> users.findByUsername("nobody")),
+                Arguments.of("findByRole", "IDX_USER_ROLE_ID",
+                             (Finder) (tasks, users, owner) -> users.findByRole(RoleType.ADMIN)),
+                Arguments.of("findByEmail", "UK_USER_ENTITY_EMAIL",
+                             (Finder) (tasks, users, owner) -> users.findByEmail("nobody@example.com")));
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("finders")
+    void testRepositoryQuery_ShouldUseIndex(String method, String expectedIndex, Finder finder) {
+        // Arrange
+        UserEntity owner = entityManager.persistFlushFind(new UserEntity("johndoe", "password123", "johndoe@example.com"));
+        entityManager.clear();
+        CapturingInspector.STATEMENTS.get().clear();
+
+        // Act
+        finder.call(taskRepository, userRepository, owner);
+        List<String> captured = List.copyOf(CapturingInspector.STATEMENTS.get());
+        assertFalse(captured.isEmpty(), method + " didn't run any SQL");
+        String plan = explain(captured.get(0)).toUpperCase();
+
+        // Assert
+        assertTrue(plan.contains(expectedIndex), method + " should use " + expectedIndex + " but plan was: " + plan);
+        assertFalse(plan.contains("TABLESCAN"), method + " should not scan the table: " + plan);
+    }
+
+    // Parameters are left unbound (NULL), H2 plans index use from the shape of the condition
+    private String explain(String sql) {
+        return entityManager.getEntityManager().unwrap(Session.class).doReturningWork(connection -> {
+            try (PreparedStatement explain = connection.prepareStatement("EXPLAIN " + sql)) {
+                int parameters = explain.getParameterMetaData().getParameterCount();
+                for (int i = 1; i <= parameters; i++) {
+                    explain.setNull(i, Types.NULL);
+                }
+                try (ResultSet plan = explain.executeQuery()) {
+                    plan.next();
+                    return plan.getString(1);
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,116 @@
+package com.mindhub.todolist.repositories;
+
+import com.mindhub.todolist.dtos.TaskFilterDTO;
+import com.mindhub.todolist.models.TaskEntity;
+import com.mindhub.todolist.models.UserEntity;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Each repository call commits on its own here, the cache is only filled by committed transactions
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SecondLevelCacheTest {
+
+    @Autowired
+    private TaskEntityRepository taskRepository;
+
+    @Autowired
+    private UserEntityRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @AfterEach
+    void tearDown() {
+        taskRepository.deleteAll();
+        userRepository.deleteAll();
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @Test
+    void findById_WhenTaskWasReadBefore_ShouldNotHitTheDatabase() {
+        // Arrange
+        TaskEntity task = taskRepository.save(new TaskEntity("Task", "Description", TaskEntity.TaskStatus.PENDING));
+        entityManagerFactory.getCache().evictAll();
+        taskRepository.findById(task.getId());
+        statistics.clear();
+
+        // Act
+        TaskEntity cached = taskRepository.findById(task.getId()).orElseThrow();
+
+        // Assert
+        assertEquals("Task", cached.getTitle());
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getSecondLevelCacheHitCount());
+    }
+
+    @Test
+    void findByEmail_WhenUserWasReadBefore_ShouldResolveThroughTheNaturalIdCache() {
+        // Arrange
+        userRepository.save(new UserEntity("johndoe", "password", "johndoe@example.com"));
+        userRepository.findByEmail("johndoe@example.com");
+        statistics.clear();
+
+        // Act
+        UserEntity cached = userRepository.findByEmail("johndoe@example.com").orElseThrow();
+
+        // Assert
+        assertEquals("johndoe", cached.getUsername());
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getNaturalIdCacheHitCount());
+    }
+
+    @Test
+    void updateStatusByFilter_WhenTaskIsCached_ShouldNotServeTheOldStatus() {
+        // Arrange
+        TaskEntity task = taskRepository.save(new TaskEntity("Task", "Description", TaskEntity.TaskStatus.PENDING));
+        taskRepository.findById(task.getId());
+
+        // Act
+        taskRepository.updateStatusByFilter(new TaskFilterDTO(null, null, List.of(task.getId())),
+                                            TaskEntity.TaskStatus.COMPLETED);
+
+        // Assert
+        assertEquals(TaskEntity.TaskStatus.COMPLETED, taskRepository.findById(task.getId()).orElseThrow().getStatus());
+    }
+
+    @Test
+    void save_WhenTaskChangesOwner_ShouldInvalidateTheCachedTaskCollection() {
+        // Arrange
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        UserEntity user = userRepository.save(new UserEntity("johndoe", "password", "johndoe@example.com"));
+        TaskEntity task = taskRepository.save(new TaskEntity("Task", "Description", TaskEntity.TaskStatus.PENDING));
+        assertEquals(0, (int) transaction.execute(status -> userRepository.findById(user.getId()).orElseThrow().getTask().size()));
+
+        // Act
+        task.setUserEntity(user);
+        taskRepository.save(task);
+
+        // Assert
+        assertEquals(1, (int) transaction.execute(status -> userRepository.findById(user.getId()).orElseThrow().getTask().size()));
+    }
+}
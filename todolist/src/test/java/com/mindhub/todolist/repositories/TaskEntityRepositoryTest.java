@@ -1,13 +1,21 @@
 package com.mindhub.todolist.repositories;
 
+import com.mindhub.todolist.dtos.TaskFilterDTO;
 import com.mindhub.todolist.models.TaskEntity;
 import com.mindhub.todolist.models.UserEntity;
+import com.mindhub.todolist.stats.TaskStatusCount;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.util.List;
+import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -20,6 +28,9 @@ class TaskEntityRepositoryTest {
     @Autowired
     private UserEntityRepository userRepository;
 
+    @Autowired
+    private TaskEntityRepositoryCustomImpl customRepository;
+
     @Test
     void testFindByStatus_WhenGivenStatus_ShouldReturnTrue() {
         // Arrange
@@ -143,4 +154,222 @@ class TaskEntityRepositoryTest {
         // Assert
         assertEquals(0, countPending);
     }
-}
\ No newline at end of file
+
+    @Test
+    void testCountByOwnerAndStatus_WhenTasksAreSpreadOverOwners_ShouldGroupThem() {
+        // Arrange
+        UserEntity owner = userRepository.saveAndFlush(new UserEntity("owner", "password", "owner@email.com"));
+        TaskEntity owned1 = new TaskEntity("Task 1", "Description 1", TaskEntity.TaskStatus.PENDING);
+        TaskEntity owned2 = new TaskEntity("Task 2", "Description 2", TaskEntity.TaskStatus.PENDING);
+        owned1.setUserEntity(owner);
+        owned2.setUserEntity(owner);
+        taskRepository.saveAndFlush(owned1);
+        taskRepository.saveAndFlush(owned2);
+        taskRepository.saveAndFlush(new TaskEntity("Task 3", "Description 3", TaskEntity.TaskStatus.COMPLETED));
+
+        // Act
+        List<TaskStatusCount> result = taskRepository.countByOwnerAndStatus();
+
+        // Assert
+        assertEquals(2, result.size());
+        assertTrue(result.contains(new TaskStatusCount(owner.getId(), TaskEntity.TaskStatus.PENDING, 2)));
+        assertTrue(result.contains(new TaskStatusCount(null, TaskEntity.TaskStatus.COMPLETED, 1)));
+    }
+
+    @Test
+    void testFindByStatusAndIdGreaterThan_WhenSeekingPastCursor_ShouldReturnNextRowsInOrder() {
+        // Arrange
+        TaskEntity task1 = taskRepository.saveAndFlush(new TaskEntity("Task 1", "Description 1", TaskEntity.TaskStatus.PENDING));
+        TaskEntity task2 = taskRepository.saveAndFlush(new TaskEntity("Task 2", "Description 2", TaskEntity.TaskStatus.COMPLETED));
+        TaskEntity task3 = taskRepository.saveAndFlush(new TaskEntity("Task 3", "Description 3", TaskEntity.TaskStatus.PENDING));
+
+        // Act
+        List<TaskEntity> result = taskRepository.findByStatusAndIdGreaterThanOrderByIdAsc(
+                TaskEntity.TaskStatus.PENDING, task1.getId(), Limit.of(10));
+
+        // Assert
+        assertEquals(1, result.size());
+        assertEquals(task3.getId(), result.get(0).getId());
+        assertFalse(result.contains(task2));
+    }
+
+    @Test
+    void testUpdateStatusByFilter_WhenFilteringByStatusAndOwner_ShouldOnlyUpdateMatchingTasks() {
+        // Arrange
+        UserEntity owner = userRepository.saveAndFlush(new UserEntity("owner", "password", "owner@example.com"));
+        TaskEntity owned = new TaskEntity("Task 1", "Description 1", TaskEntity.TaskStatus.IN_PROCESS);
+        owned.setUserEntity(owner);
+        taskRepository.saveAndFlush(owned);
+        TaskEntity unowned = taskRepository.saveAndFlush(
+                new TaskEntity("Task 2", "Description 2", TaskEntity.TaskStatus.IN_PROCESS));
+
+        // Act
+        int affected = taskRepository.updateStatusByFilter(
+                new TaskFilterDTO(TaskEntity.TaskStatus.IN_PROCESS, owner.getId(), null),
+                TaskEntity.TaskStatus.COMPLETED);
+
+        // Assert
+        assertEquals(1, affected);
+        assertEquals(TaskEntity.TaskStatus.COMPLETED, taskRepository.findById(owned.getId()).orElseThrow().getStatus());
+        assertEquals(TaskEntity.TaskStatus.IN_PROCESS, taskRepository.findById(unowned.getId()).orElseThrow().getStatus());
+    }
+
+    @Test
+    void testDeleteByFilter_WhenFilteringByIds_ShouldDeleteOnlyThoseTasks() {
+        // Arrange
+        TaskEntity task1 = taskRepository.saveAndFlush(new TaskEntity("Task 1", "Description 1", TaskEntity.TaskStatus.PENDING));
+        TaskEntity task2 = taskRepository.saveAndFlush(new TaskEntity("Task 2", "Description 2", TaskEntity.TaskStatus.PENDING));
+
+        // Act
+        int affected = taskRepository.deleteByFilter(new TaskFilterDTO(null, null, List.of(task1.getId())));
+
+        // Assert
+        assertEquals(1, affected);
+        assertFalse(taskRepository.existsById(task1.getId()));
+        assertTrue(taskRepository.existsById(task2.getId()));
+    }
+
+    @Test
+    void testUpdateStatusByFilterReturningPrevious_WhenFilteringByIds_ShouldReturnTheRowsAsTheyWere() {
+        // Arrange
+        UserEntity owner = userRepository.saveAndFlush(new UserEntity("owner", "password", "owner@example.com"));
+        TaskEntity owned = new TaskEntity("Task 1", "Description 1", TaskEntity.TaskStatus.PENDING);
+        owned.setUserEntity(owner);
+        taskRepository.saveAndFlush(owned);
+        TaskEntity other = taskRepository.saveAndFlush(new TaskEntity("Task 2", "Description 2", TaskEntity.TaskStatus.IN_PROCESS));
+        TaskEntity untouched = taskRepository.saveAndFlush(new TaskEntity("Task 3", "Description 3", TaskEntity.TaskStatus.PENDING));
+
+        // Act
+        List<TaskRow> previous = taskRepository.updateStatusByFilterReturningPrevious(
+                new TaskFilterDTO(null, null, List.of(owned.getId(), other.getId())), TaskEntity.TaskStatus.COMPLETED);
+        List<TaskRow> deleted = taskRepository.deleteByFilterReturningPrevious(
+                new TaskFilterDTO(TaskEntity.TaskStatus.COMPLETED, owner.getId(), List.of(owned.getId(), other.getId())));
+
+        // Assert
+        assertEquals(2, previous.size());
+        TaskRow ownedBefore = previous.stream().filter(row -> row.id().equals(owned.getId())).findFirst().orElseThrow();
+        assertEquals(TaskEntity.TaskStatus.PENDING, ownedBefore.status());
+        assertEquals(owner.getId(), ownedBefore.ownerId());
+        assertEquals(List.of(owned.getId()), deleted.stream().map(TaskRow::id).toList());
+        assertEquals(TaskEntity.TaskStatus.COMPLETED, deleted.get(0).status());
+        assertEquals(TaskEntity.TaskStatus.COMPLETED, taskRepository.findById(other.getId()).orElseThrow().getStatus());
+        assertEquals(TaskEntity.TaskStatus.PENDING, taskRepository.findById(untouched.getId()).orElseThrow().getStatus());
+    }
+
+    // true runs the H2 OLD TABLE statements, false the locked read and Criteria writes used elsewhere
+    @ParameterizedTest
+    @ValueSource(booleans = {true, false})
+    void testWritesReturningPrevious_ShouldReturnTheRowAsItWasAndCheckTheVersion(boolean oldTable) {
+        // Arrange
+        Object target = AopTestUtils.getTargetObject(customRepository);
+        ReflectionTestUtils.setField(target, "oldTableSupported", oldTable);
+        try {
+            UserEntity owner = userRepository.saveAndFlush(new UserEntity("owner", "password", "owner@example.com"));
+            TaskEntity task = taskRepository.saveAndFlush(new TaskEntity("Task 1", "Description 1", TaskEntity.TaskStatus.PENDING));
+            TaskEntity other = taskRepository.saveAndFlush(new TaskEntity("Task 2", "Description 2", TaskEntity.TaskStatus.PENDING));
+
+            // Act
+            Optional<TaskRow> stale = taskRepository.updateReturningPrevious(task.getId(), 5L, "Stale", null, TaskEntity.TaskStatus.COMPLETED);
+            TaskRow updated = taskRepository.updateReturningPrevious(task.getId(), 0L, "Updated", "Changed",
+                                                                     TaskEntity.TaskStatus.IN_PROCESS).orElseThrow();
+            TaskRow assigned = taskRepository.assignReturningPrevious(task.getId(), owner.getId()).orElseThrow();
+            List<TaskRow> bulk = taskRepository.updateStatusByFilterReturningPrevious(
+                    new TaskFilterDTO(null, owner.getId(), List.of(task.getId(), other.getId())), TaskEntity.TaskStatus.COMPLETED);
+            Optional<TaskRow> staleDelete = taskRepository.deleteReturningPrevious(task.getId(), 0L);
+            TaskRow deleted = taskRepository.deleteReturningPrevious(task.getId(), 3L).orElseThrow();
+
+            // Assert
+            assertTrue(stale.isEmpty());
+            assertEquals("Task 1", updated.title());
+            assertEquals(0L, updated.version());
+            assertNull(assigned.ownerId());
+            assertEquals(TaskEntity.TaskStatus.IN_PROCESS, assigned.status());
+            assertEquals(List.of(task.getId()), bulk.stream().map(TaskRow::id).toList());
+            assertEquals(owner.getId(), bulk.get(0).ownerId());
+            assertTrue(staleDelete.isEmpty());
+            assertEquals(TaskEntity.TaskStatus.COMPLETED, deleted.status());
+            assertFalse(taskRepository.existsById(task.getId()));
+            assertEquals(TaskEntity.TaskStatus.PENDING, taskRepository.findById(other.getId()).orElseThrow().getStatus());
+        } finally {
+            ReflectionTestUtils.setField(target, "oldTableSupported", null);
+        }
+    }
+
+    @Test
+    void testReassignTasks_WhenUserHasTasks_ShouldMoveThemToTheOtherUser() {
+        // Arrange
+        UserEntity from = userRepository.saveAndFlush(new UserEntity("from", "password", "from@example.com"));
+        UserEntity to = userRepository.saveAndFlush(new UserEntity("to", "password", "to@example.com"));
+        TaskEntity task = new TaskEntity("Task 1", "Description 1", TaskEntity.TaskStatus.PENDING);
+        task.setUserEntity(from);
+        taskRepository.saveAndFlush(task);
+
+        // Act
+        int affected = taskRepository.reassignTasks(from, to);
+
+        // Assert
+        assertEquals(1, affected);
+        assertEquals(to.getId(), taskRepository.findById(task.getId()).orElseThrow().getUserEntity().getId());
+    }
+
+    @Test
+    void testUpdateReturningPrevious_WhenVersionMatches_ShouldUpdateAndReturnTheOldRow() {
+        // Arrange
+        TaskEntity task = taskRepository.saveAndFlush(new TaskEntity("Task 1", "Description 1", TaskEntity.TaskStatus.PENDING));
+
+        // Act
+        Optional<TaskRow> previous = taskRepository.updateReturningPrevious(task.getId(), task.getVersion(),
+                "Task 1 edited", "Description 1", TaskEntity.TaskStatus.COMPLETED);
+
+        // Assert
+        assertTrue(previous.isPresent());
+        assertEquals(TaskEntity.TaskStatus.PENDING, previous.get().status());
+        TaskEntity updated = taskRepository.findById(task.getId()).orElseThrow();
+        assertEquals("Task 1 edited", updated.getTitle());
+        assertEquals(TaskEntity.TaskStatus.COMPLETED, updated.getStatus());
+        assertEquals(task.getVersion() + 1, updated.getVersion());
+    }
+
+    @Test
+    void testUpdateReturningPrevious_WhenVersionIsStale_ShouldNotUpdate() {
+        // Arrange
+        TaskEntity task = taskRepository.saveAndFlush(new TaskEntity("Task 1", "Description 1", TaskEntity.TaskStatus.PENDING));
+
+        // Act
+        Optional<TaskRow> previous = taskRepository.updateReturningPrevious(task.getId(), task.getVersion() + 1,
+                "Task 1 edited", "Description 1", TaskEntity.TaskStatus.COMPLETED);
+
+        // Assert
+        assertTrue(previous.isEmpty());
+        assertEquals("Task 1", taskRepository.findById(task.getId()).orElseThrow().getTitle());
+    }
+
+    @Test
+    void testAssignReturningPrevious_ShouldSetTheOwnerAndReturnTheOldOne() {
+        // Arrange
+        UserEntity user = userRepository.saveAndFlush(new UserEntity("owner", "password", "owner@example.com"));
+        TaskEntity task = taskRepository.saveAndFlush(new TaskEntity("Task 1", "Description 1", TaskEntity.TaskStatus.PENDING));
+
+        // Act
+        Optional<TaskRow> previous = taskRepository.assignReturningPrevious(task.getId(), user.getId());
+
+        // Assert
+        assertTrue(previous.isPresent());
+        assertNull(previous.get().ownerId());
+        assertEquals(user.getId(), taskRepository.findById(task.getId()).orElseThrow().getUserEntity().getId());
+    }
+
+    @Test
+    void testDeleteReturningPrevious_ShouldDeleteAndReturnTheDeletedRow() {
+        // Arrange
+        TaskEntity task = taskRepository.saveAndFlush(new TaskEntity("Task 1", "Description 1", TaskEntity.TaskStatus.IN_PROCESS));
+
+        // Act
+        Optional<TaskRow> previous = taskRepository.deleteReturningPrevious(task.getId(), null);
+
+        // Assert
+        assertTrue(previous.isPresent());
+        assertEquals("Task 1", previous.get().title());
+        assertFalse(taskRepository.existsById(task.getId()));
+    }
+}
@@ -1,22 +1,35 @@
 package com.mindhub.todolist.repositories;
 
+import com.mindhub.todolist.dtos.UserEntityDTO;
 import com.mindhub.todolist.models.RoleType;
+import com.mindhub.todolist.models.TaskEntity;
 import com.mindhub.todolist.models.UserEntity;
+import com.mindhub.todolist.sql.SqlStatementCountExtension;
+import com.mindhub.todolist.sql.SqlStatements;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 
 import java.util.List;
 import java.util.Optional;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
-@DataJpaTest
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ExtendWith(SqlStatementCountExtension.class)
 public class UserEntityRepositoryTest {
     @Autowired
     private UserEntityRepository userRepository;
 
+    @Autowired
+    private TestEntityManager entityManager;
+
     @Test
     void testFindByUsername_WhenGivenUsername_ShouldReturnTrue() {
         // Arrange
@@ -163,4 +176,117 @@ public class UserEntityRepositoryTest {
         assertTrue(foundUsers.isEmpty(), "No user with the specified role should be found");
     }
 
+    @Test
+    void testFindAllWithTasks_WhenListingThousandUsers_ShouldIssueSingleStatement() {
+        // Arrange
+        for (int i = 0; i < 1000; i++) {
+            UserEntity user = new UserEntity("user" + i, "password123", "user" + i + "@example.com");
+            entityManager.persist(user);
+            for (int j = 0; j < 3; j++) {
+                TaskEntity task = new TaskEntity("Task " + j, "Description " + j, TaskEntity.TaskStatus.PENDING);
+                user.addTask(task);
+                entityManager.persist(task);
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = entityManager.getEntityManager()
+                .getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+        statistics.clear();
+
+        // Act
+        List<UserEntityDTO> users = userRepository.findAllWithTasks().stream()
+                .map(UserEntityDTO::new)
+                .toList();
+
+        // Assert
+        assertEquals(1000, users.size());
+        assertTrue(users.stream().allMatch(user -> user.getTasks().size() == 3));
+        assertEquals(1, statistics.getPrepareStatementCount(), "Users and tasks should load in one statement");
+    }
+
+    @Test
+    void testFindWithTasksByIdIn_WhenLoadingPage_ShouldIssueSingleStatement() {
+        // Arrange
+        UserEntity first = new UserEntity("first", "password123", "first@example.com");
+        UserEntity second = new UserEntity("second", "password123", "second@example.com");
+        entityManager.persist(first);
+        entityManager.persist(second);
+        TaskEntity task = new TaskEntity("Task", "Description", TaskEntity.TaskStatus.PENDING);
+        first.addTask(task);
+        entityManager.persist(task);
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = entityManager.getEntityManager()
+                .getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+        statistics.clear();
+
+        // Act
+        List<UserEntityDTO> users = userRepository.findWithTasksByIdInOrderByIdAsc(List.of(first.getId(), second.getId()))
+                .stream()
+                .map(UserEntityDTO::new)
+                .toList();
+
+        // Assert
+        assertEquals(2, users.size());
+        assertEquals(1, users.get(0).getTasks().size());
+        assertTrue(users.get(1).getTasks().isEmpty());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void testFindWithTasksById_WhenUserHasTasks_ShouldIssueSingleStatement(SqlStatements.Scope statements) {
+        // Arrange
+        UserEntity user = new UserEntity("johndoe", "password123", "johndoe@example.com");
+        entityManager.persist(user);
+        for (int i = 0; i < 3; i++) {
+            TaskEntity task = new TaskEntity("Task " + i, "Description " + i, TaskEntity.TaskStatus.PENDING);
+            user.addTask(task);
+            entityManager.persist(task);
+        }
+        entityManager.flush();
+        entityManager.clear();
+        entityManager.getEntityManager().getEntityManagerFactory().getCache().evictAll();
+        statements.reset();
+
+        // Act
+        UserEntityDTO found = userRepository.findWithTasksById(user.getId()).map(UserEntityDTO::new).orElseThrow();
+
+        // Assert
+        assertEquals(3, found.getTasks().size());
+        assertEquals(1, statements.getCount());
+        assertTrue(statements.getRepeated(2).isEmpty());
+    }
+
+    @Test
+    void testFindAll_WhenTasksLoadLazily_ShouldRepeatTaskStatementPerBatch(SqlStatements.Scope statements) {
+        // Arrange
+        for (int i = 0; i < 250; i++) {
+            UserEntity user = new UserEntity("user" + i, "password123", "user" + i + "@example.com");
+            entityManager.persist(user);
+            TaskEntity task = new TaskEntity("Task " + i, "Description " + i, TaskEntity.TaskStatus.PENDING);
+            user.addTask(task);
+            entityManager.persist(task);
+        }
+        entityManager.flush();
+        entityManager.clear();
+        entityManager.getEntityManager().getEntityManagerFactory().getCache().evictAll();
+        statements.reset();
+
+        // Act
+        List<UserEntityDTO> users = userRepository.findAll().stream()
+                .map(UserEntityDTO::new)
+                .toList();
+
+        // Assert: one statement for the users, then the tasks in @BatchSize(100) batches
+        assertEquals(250, users.size());
+        assertEquals(4, statements.getCount());
+        assertEquals(1, statements.getRepeated(3).size(), "The batched task load should be flagged as repeated");
+    }
 }
@@ -0,0 +1,134 @@
+package com.mindhub.todolist.search;
+
+import com.mindhub.todolist.dtos.TaskFilterDTO;
+import com.mindhub.todolist.dtos.TaskSearchHitDTO;
+import com.mindhub.todolist.events.TaskBulkChangedEvent;
+import com.mindhub.todolist.events.TaskChangedEvent;
+import com.mindhub.todolist.events.TaskSnapshot;
+import com.mindhub.todolist.models.TaskEntity;
+import com.mindhub.todolist.repositories.TaskEntityRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TaskSearchIndexTest {
+
+    private TaskSearchIndex searchIndex;
+
+    @BeforeEach
+    void setUp() {
+        searchIndex = new TaskSearchIndex();
+        searchIndex.index(new TaskSnapshot(1L, "Fix login bug", "Users can't sign in", TaskEntity.TaskStatus.PENDING, 10L));
+        searchIndex.index(new TaskSnapshot(2L, "Write report", "Quarterly report about the login outage", TaskEntity.TaskStatus.IN_PROCESS, 20L));
+        searchIndex.index(new TaskSnapshot(3L, "Buy milk", "Groceries", TaskEntity.TaskStatus.COMPLETED, 10L));
+    }
+
+    @Test
+    void search_WhenTermIsInTitle_ShouldRankTitleMatchFirst() {
+        // Act
+        List<TaskSearchHitDTO> hits = searchIndex.search("login", null, null, 10);
+
+        // Assert
+        assertEquals(2, hits.size());
+        assertEquals(1L, hits.get(0).getId());
+        assertEquals(2L, hits.get(1).getId());
+        assertTrue(hits.get(0).getScore() > hits.get(1).getScore());
+    }
+
+    @Test
+    void search_WhenFilteringByStatusAndOwner_ShouldOnlyReturnMatchingTasks() {
+        // Act
+        List<TaskSearchHitDTO> byStatus = searchIndex.search("login", TaskEntity.TaskStatus.IN_PROCESS, null, 10);
+        List<TaskSearchHitDTO> byOwner = searchIndex.search("login", null, 10L, 10);
+
+        // Assert
+        assertEquals(List.of(2L), byStatus.stream().map(TaskSearchHitDTO::getId).toList());
+        assertEquals(List.of(1L), byOwner.stream().map(TaskSearchHitDTO::getId).toList());
+    }
+
+    @Test
+    void onTaskChanged_WhenTaskIsUpdatedOrDeleted_ShouldKeepIndexCurrent() {
+        // Arrange
+        TaskSnapshot before = new TaskSnapshot(3L, "Buy milk", "Groceries", TaskEntity.TaskStatus.COMPLETED, 10L);
+        TaskSnapshot after = new TaskSnapshot(3L, "Buy coffee", "Groceries", TaskEntity.TaskStatus.COMPLETED, 10L);
+
+        // Act
+        searchIndex.onTaskChanged(TaskChangedEvent.updated(before, after));
+        searchIndex.onTaskChanged(TaskChangedEvent.deleted(new TaskSnapshot(1L, null, null, null, null)));
+
+        // Assert
+        assertTrue(searchIndex.search("milk", null, null, 10).isEmpty());
+        assertEquals(1, searchIndex.search("coffee", null, null, 10).size());
+        assertEquals(List.of(2L), searchIndex.search("login", null, null, 10).stream().map(TaskSearchHitDTO::getId).toList());
+        assertEquals(2, searchIndex.size());
+    }
+
+    @Test
+    void onTasksBulkChanged_WhenStatusChangesByOwner_ShouldUpdateFilters() {
+        // Act
+        searchIndex.onTasksBulkChanged(TaskBulkChangedEvent.statusChanged(
+                new TaskFilterDTO(null, 10L, null), TaskEntity.TaskStatus.COMPLETED, 2));
+
+        // Assert
+        List<TaskSearchHitDTO> hits = searchIndex.search("login", TaskEntity.TaskStatus.COMPLETED, null, 10);
+        assertEquals(List.of(1L), hits.stream().map(TaskSearchHitDTO::getId).toList());
+    }
+
+    @Test
+    void onTasksBulkChanged_WhenTasksAreReassignedOrDeletedById_ShouldOnlyTouchThoseTasks() {
+        // Act
+        searchIndex.onTasksBulkChanged(TaskBulkChangedEvent.reassigned(10L, 30L, 2));
+        searchIndex.onTasksBulkChanged(TaskBulkChangedEvent.statusChanged(
+                new TaskFilterDTO(null, 10L, null), TaskEntity.TaskStatus.COMPLETED, 0));
+        searchIndex.onTasksBulkChanged(TaskBulkChangedEvent.deleted(new TaskFilterDTO(null, null, List.of(2L, 99L)), 1));
+
+        // Assert
+        List<TaskSearchHitDTO> hits = searchIndex.search("login", null, 30L, 10);
+        assertEquals(List.of(1L), hits.stream().map(TaskSearchHitDTO::getId).toList());
+        assertEquals(TaskEntity.TaskStatus.PENDING, hits.get(0).getStatus());
+        assertEquals(1, searchIndex.search("milk", null, 30L, 10).size());
+        assertEquals(2, searchIndex.size());
+    }
+
+    @Test
+    void rebuild_WhenTasksChangeWhileReading_ShouldKeepThoseChanges() {
+        // Arrange
+        TaskEntityRepository taskRepository = mock(TaskEntityRepository.class);
+        ReflectionTestUtils.setField(searchIndex, "taskRepository", taskRepository);
+        ReflectionTestUtils.setField(searchIndex, "transactionManager", mock(PlatformTransactionManager.class));
+        // The rebuild reads tasks 1 and 2 as they were, task 1 is renamed and task 4 created meanwhile
+        when(taskRepository.streamSnapshots()).thenReturn(Stream.of(
+                new TaskSnapshot(1L, "Fix login bug", "Users can't sign in", TaskEntity.TaskStatus.PENDING, 10L),
+                new TaskSnapshot(2L, "Write report", "Quarterly report", TaskEntity.TaskStatus.IN_PROCESS, 20L)
+        ).peek(read -> {
+            if (read.id() == 1L) {
+                searchIndex.index(new TaskSnapshot(1L, "Fix signup bug", "Users can't sign up", TaskEntity.TaskStatus.PENDING, 10L));
+                searchIndex.index(new TaskSnapshot(4L, "Renew domain", null, TaskEntity.TaskStatus.PENDING, 20L));
+            }
+        }));
+
+        // Act
+        searchIndex.rebuild();
+
+        // Assert
+        assertEquals(3, searchIndex.size());
+        assertEquals(List.of(1L), searchIndex.search("signup", null, null, 10).stream().map(TaskSearchHitDTO::getId).toList());
+        assertTrue(searchIndex.search("login", null, null, 10).isEmpty());
+        assertEquals(1, searchIndex.search("domain", null, null, 10).size());
+        assertTrue(searchIndex.search("milk", null, null, 10).isEmpty());
+    }
+
+    @Test
+    void search_WhenQueryHasOnlyStopWords_ShouldReturnNothing() {
+        // Act & Assert
+        assertTrue(searchIndex.search("the and of", null, null, 10).isEmpty());
+    }
+}
@@ -0,0 +1,145 @@
+package com.mindhub.todolist.services.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mindhub.todolist.models.ExportFormat;
+import com.mindhub.todolist.models.RoleType;
+import com.mindhub.todolist.models.TaskEntity;
+import com.mindhub.todolist.models.UserEntity;
+import com.mindhub.todolist.repositories.TaskEntityRepository;
+import com.mindhub.todolist.repositories.UserEntityRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ExportServiceImplTest {
+
+    @InjectMocks
+    private ExportServiceImpl exportService;
+
+    @Mock
+    private TaskEntityRepository taskRepository;
+
+    @Mock
+    private UserEntityRepository userRepository;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Test
+    void exportTasks_WhenFormatIsNdjson_ShouldWriteOneJsonObjectPerLine() throws Exception {
+        // Arrange
+        UserEntity owner = user(7L, "johndoe", "johndoe@example.com", RoleType.USER);
+        TaskEntity first = task(1L, "Buy milk", null, TaskEntity.TaskStatus.PENDING);
+        first.setUserEntity(owner);
+        TaskEntity second = task(2L, "Say \"hi\"", "Line one\nline two", TaskEntity.TaskStatus.COMPLETED);
+        when(taskRepository.streamAll()).thenReturn(Stream.of(first, second));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        exportService.exportTasks(ExportFormat.NDJSON, out);
+
+        // Assert
+        assertEquals("""
+                {"id":1,"title":"Buy milk","description":null,"status":"PENDING","userId":7}
+                {"id":2,"title":"Say \\"hi\\"","description":"Line one\\nline two","status":"COMPLETED","userId":null}
+                """, out.toString(StandardCharsets.UTF_8));
+        verify(entityManager).detach(first);
+        verify(entityManager).detach(second);
+    }
+
+    @Test
+    void exportTasks_WhenFormatIsCsv_ShouldQuoteCommasQuotesAndNewlines() throws Exception {
+        // Arrange
+        TaskEntity plain = task(1L, "Buy milk", null, TaskEntity.TaskStatus.PENDING);
+        TaskEntity comma = task(2L, "Milk, eggs", "Plain", TaskEntity.TaskStatus.IN_PROCESS);
+        TaskEntity quotes = task(3L, "Say \"hi\"", "Line one\nline two", TaskEntity.TaskStatus.COMPLETED);
+        TaskEntity carriageReturn = task(4L, "Windows\r\nline", "", TaskEntity.TaskStatus.PENDING);
+        when(taskRepository.streamAll()).thenReturn(Stream.of(plain, comma, quotes, carriageReturn));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        exportService.exportTasks(ExportFormat.CSV, out);
+
+        // Assert
+        assertEquals("id,title,description,status,userId\n"
+                             + "1,Buy milk,,PENDING,\n"
+                             + "2,\"Milk, eggs\",Plain,IN_PROCESS,\n"
+                             + "3,\"Say \"\"hi\"\"\",\"Line one\nline two\",COMPLETED,\n"
+                             + "4,\"Windows\r\nline\",,PENDING,\n",
+                     out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void exportUsers_WhenFormatIsCsv_ShouldWriteHeaderAndRows() throws Exception {
+        // Arrange
+        when(userRepository.streamAll()).thenReturn(Stream.of(
+                user(1L, "admin", "admin@example.com", RoleType.ADMIN),
+                user(2L, "doe, john", "john@example.com", RoleType.USER)));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        exportService.exportUsers(ExportFormat.CSV, out);
+
+        // Assert
+        assertEquals("id,username,email,role\n"
+                             + "1,admin,admin@example.com,ADMIN\n"
+                             + "2,\"doe, john\",john@example.com,USER\n",
+                     out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void exportUsers_WhenFormatIsNdjson_ShouldLeaveOutPasswordsAndTasks() throws Exception {
+        // Arrange
+        when(userRepository.streamAll()).thenReturn(Stream.of(user(1L, "admin", "admin@example.com", RoleType.ADMIN)));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        exportService.exportUsers(ExportFormat.NDJSON, out);
+
+        // Assert
+        assertEquals("{\"id\":1,\"username\":\"admin\",\"email\":\"admin@example.com\",\"role\":\"ADMIN\"}\n",
+                     out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void exportTasks_WhenThereAreNoTasks_ShouldWriteOnlyTheCsvHeader() throws Exception {
+        // Arrange
+        when(taskRepository.streamAll()).thenReturn(Stream.empty());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        exportService.exportTasks(ExportFormat.CSV, out);
+
+        // Assert
+        assertEquals("id,title,description,status,userId\n", out.toString(StandardCharsets.UTF_8));
+    }
+
+    private static TaskEntity task(Long id, String title, String description, TaskEntity.TaskStatus status) {
+        TaskEntity task = new TaskEntity(title, description, status);
+        ReflectionTestUtils.setField(task, "id", id);
+        return task;
+    }
+
+    private static UserEntity user(Long id, String username, String email, RoleType role) {
+        UserEntity user = new UserEntity(username, "password", email);
+        user.setRole(role);
+        ReflectionTestUtils.setField(user, "id", id);
+        return user;
+    }
+}
@@ -0,0 +1,63 @@
+package com.mindhub.todolist.services.impl;
+
+import com.mindhub.todolist.dtos.TaskEntityDTO;
+import com.mindhub.todolist.exceptions.TaskNotFoundException;
+import com.mindhub.todolist.models.TaskEntity;
+import com.mindhub.todolist.repositories.TaskReactiveRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveTaskServiceImplTest {
+
+    @InjectMocks
+    private ReactiveTaskServiceImpl reactiveTaskService;
+
+    @Mock
+    private TaskReactiveRepository taskReactiveRepository;
+
+    @Test
+    void getTaskById_WhenTaskIsFound_ShouldEmitIt() {
+        // Arrange
+        TaskEntityDTO task = new TaskEntityDTO(1L, "Task", "Description", TaskEntity.TaskStatus.PENDING, 0L);
+        when(taskReactiveRepository.findById(1L)).thenReturn(Mono.just(task));
+
+        // Act
+        TaskEntityDTO result = reactiveTaskService.getTaskById(1L).block();
+
+        // Assert
+        assertSame(task, result);
+    }
+
+    @Test
+    void getTaskById_WhenTaskIsMissing_ShouldFailWithTaskNotFound() {
+        // Arrange
+        when(taskReactiveRepository.findById(1L)).thenReturn(Mono.empty());
+
+        // Act & Assert
+        assertThrows(TaskNotFoundException.class, () -> reactiveTaskService.getTaskById(1L).block());
+    }
+
+    @Test
+    void getTasks_ShouldPassFiltersThrough() {
+        // Arrange
+        TaskEntityDTO task = new TaskEntityDTO(1L, "Task", "Description", TaskEntity.TaskStatus.COMPLETED, 0L);
+        when(taskReactiveRepository.findAll(TaskEntity.TaskStatus.COMPLETED, 2L)).thenReturn(Flux.just(task));
+
+        // Act
+        List<TaskEntityDTO> result = reactiveTaskService.getTasks(TaskEntity.TaskStatus.COMPLETED, 2L).collectList().block();
+
+        // Assert
+        assertEquals(List.of(task), result);
+    }
+}
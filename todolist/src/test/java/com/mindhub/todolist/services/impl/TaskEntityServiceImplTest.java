@@ -1,25 +1,54 @@
 package com.mindhub.todolist.services.impl;
 
+import com.mindhub.todolist.dtos.BulkTaskResultDTO;
+import com.mindhub.todolist.dtos.CursorPageDTO;
 import com.mindhub.todolist.dtos.NewTaskEntityDTO;
 import com.mindhub.todolist.dtos.TaskEntityDTO;
+import com.mindhub.todolist.dtos.TaskFilterDTO;
+import com.mindhub.todolist.events.TaskBulkChangedEvent;
+import com.mindhub.todolist.events.TaskChangedEvent;
+import com.mindhub.todolist.exceptions.InvalidRequestException;
 import com.mindhub.todolist.exceptions.TaskNotFoundException;
+import com.mindhub.todolist.exceptions.TaskVersionConflictException;
 import com.mindhub.todolist.exceptions.UserNotFoundException;
+import com.mindhub.todolist.models.AuthenticatedUser;
+import com.mindhub.todolist.models.RoleType;
 import com.mindhub.todolist.models.TaskEntity;
 import com.mindhub.todolist.models.UserEntity;
 import com.mindhub.todolist.repositories.TaskEntityRepository;
+import com.mindhub.todolist.repositories.TaskRow;
 import com.mindhub.todolist.repositories.UserEntityRepository;
+import com.mindhub.todolist.sql.SqlStatementCountExtension;
+import com.mindhub.todolist.sql.SqlStatements;
+import com.mindhub.todolist.writebehind.TaskUpdateQueue;
+import jakarta.persistence.CacheStoreMode;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+import org.hibernate.jpa.SpecHints;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.security.core.Authentication;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -34,7 +63,13 @@ class TaskEntityServiceImplTest {
     private UserEntityRepository userRepository;
 
     @Mock
-    private Authentication authentication;
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private EntityManager entityManager;
 
     @InjectMocks
     private TaskEntityServiceImpl taskService;
@@ -118,20 +153,51 @@ class TaskEntityServiceImplTest {
     }
 
     @Test
-    void updateTask_WhenTaskFound_ShouldUpdateTask() {
+    void getTasksPage_WhenMoreRowsThanPageSize_ShouldReturnNextCursor() {
         // Arrange
-        TaskEntity task1 = new TaskEntity("Task 1",
-                "Description of task 1",
-                TaskEntity.TaskStatus.PENDING);
+        ReflectionTestUtils.setField(taskService, "defaultPageSize", 2);
+        ReflectionTestUtils.setField(taskService, "maxPageSize", 10);
 
-        TaskEntity updatedTask = new TaskEntity("Updated Task",
-                "Updated Description",
-                TaskEntity.TaskStatus.COMPLETED);
+        TaskEntity task1 = new TaskEntity("Task 1", "Description 1", TaskEntity.TaskStatus.PENDING);
+        TaskEntity task2 = new TaskEntity("Task 2", "Description 2", TaskEntity.TaskStatus.PENDING);
+        TaskEntity task3 = new TaskEntity("Task 3", "Description 3", TaskEntity.TaskStatus.PENDING);
+        ReflectionTestUtils.setField(task1, "id", 1L);
+        ReflectionTestUtils.setField(task2, "id", 2L);
+        ReflectionTestUtils.setField(task3, "id", 3L);
 
-        TaskEntityDTO updatedTaskDTO = new TaskEntityDTO(updatedTask);
+        when(taskRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(3)))
+                .thenReturn(List.of(task1, task2, task3));
+        when(taskRepository.findByIdGreaterThanOrderByIdAsc(2L, Limit.of(3)))
+                .thenReturn(List.of(task3));
 
-        Mockito.when(taskRepository.findById(1L)).thenReturn(Optional.of(task1));
-        Mockito.when(taskRepository.save(Mockito.any(TaskEntity.class))).thenReturn(updatedTask);
+        // Act
+        CursorPageDTO<TaskEntityDTO> firstPage = taskService.getTasksPage(null, null, null);
+        CursorPageDTO<TaskEntityDTO> secondPage = taskService.getTasksPage(firstPage.getNextCursor(), null, null);
+
+        // Assert
+        assertEquals(2, firstPage.getItems().size());
+        assertNotNull(firstPage.getNextCursor());
+        assertEquals(1, secondPage.getItems().size());
+        assertEquals(3L, secondPage.getItems().get(0).getId());
+        assertNull(secondPage.getNextCursor());
+    }
+
+    @Test
+    void getTasksPage_WhenCursorIsMalformed_ShouldThrowInvalidRequestException() {
+        // Act & Assert
+        assertThrows(InvalidRequestException.class, () -> taskService.getTasksPage("not-a-cursor", 10, null));
+    }
+
+    @Test
+    void updateTask_WhenTaskFound_ShouldUpdateTask() {
+        // Arrange
+        TaskRow before = new TaskRow(1L, "Task 1", "Description of task 1", TaskEntity.TaskStatus.PENDING, 2L, 3L);
+        TaskEntityDTO updatedTaskDTO = new TaskEntityDTO(1L, "Updated Task", "Updated Description",
+                                                         TaskEntity.TaskStatus.COMPLETED, 3L);
+
+        Mockito.when(taskRepository.updateReturningPrevious(1L, 3L, "Updated Task", "Updated Description",
+                                                            TaskEntity.TaskStatus.COMPLETED))
+                .thenReturn(Optional.of(before));
 
         // Act
         TaskEntityDTO result = taskService.updateTask(1L, updatedTaskDTO);
@@ -141,8 +207,37 @@ class TaskEntityServiceImplTest {
         assertEquals("Updated Task", result.getTitle());
         assertEquals("Updated Description", result.getDescription());
         assertEquals(TaskEntity.TaskStatus.COMPLETED, result.getStatus());
+        assertEquals(4L, result.getVersion());
 
-        verify(taskRepository).findById(1L);
+        verify(taskRepository, never()).findById(any());
+        verify(eventPublisher).publishEvent(any(TaskChangedEvent.class));
+    }
+
+    @Test
+    void updateTask_WhenWriteBehindIsEnabled_ShouldReturnTheVersionTheTaskWillHave() {
+        // Arrange
+        TaskUpdateQueue updateQueue = new TaskUpdateQueue(taskRepository, transactionTemplate, eventPublisher,
+                                                          10, 10, Duration.ofMinutes(1), Duration.ZERO, 1);
+        ReflectionTestUtils.setField(taskService, "updateQueue", updateQueue);
+        TaskEntity task = new TaskEntity("Task 1", "Description of task 1", TaskEntity.TaskStatus.PENDING);
+        ReflectionTestUtils.setField(task, "id", 1L);
+        ReflectionTestUtils.setField(task, "version", 3L);
+        Mockito.when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
+
+        // Act
+        TaskEntityDTO first = taskService.updateTask(1L, new TaskEntityDTO(1L, "Task 1", "Description of task 1",
+                                                                           TaskEntity.TaskStatus.IN_PROCESS, 3L));
+        TaskEntityDTO second = taskService.updateTask(1L, new TaskEntityDTO(1L, "Task 1", "Description of task 1",
+                                                                            TaskEntity.TaskStatus.COMPLETED, first.getVersion()));
+
+        // Assert
+        assertEquals(4L, first.getVersion());
+        assertEquals(4L, second.getVersion());
+        assertEquals(4L, taskService.getTaskDTOById(1L).getVersion());
+        // The queued update keeps the version it was made against, for the check when it is written
+        assertEquals(3L, updateQueue.getPending(1L).getVersion());
+        assertThrows(TaskVersionConflictException.class, () -> taskService.updateTask(1L,
+                new TaskEntityDTO(1L, "Task 1", "Description of task 1", TaskEntity.TaskStatus.PENDING, 3L)));
     }
 
     @Test
@@ -152,7 +247,9 @@ class TaskEntityServiceImplTest {
                                                                         "Updated Description",
                                                                         TaskEntity.TaskStatus.COMPLETED));
 
-        Mockito.when(taskRepository.findById(1L)).thenReturn(Optional.empty());
+        Mockito.when(taskRepository.updateReturningPrevious(1L, 0L, "Updated Task", "Updated Description",
+                                                            TaskEntity.TaskStatus.COMPLETED))
+                .thenReturn(Optional.empty());
 
         // Act
         assertThrows(TaskNotFoundException.class, () ->
@@ -160,7 +257,23 @@ class TaskEntityServiceImplTest {
                 ));
 
         // Assert
-        verify(taskRepository).findById(1L);
+        verify(taskRepository).existsById(1L);
+    }
+
+    @Test
+    void updateTask_WhenVersionIsStale_ShouldThrowTaskVersionConflictException() {
+        // Arrange
+        TaskEntityDTO updatedTaskDTO = new TaskEntityDTO(1L, "Updated Task", "Updated Description",
+                                                         TaskEntity.TaskStatus.COMPLETED, 2L);
+
+        Mockito.when(taskRepository.updateReturningPrevious(1L, 2L, "Updated Task", "Updated Description",
+                                                            TaskEntity.TaskStatus.COMPLETED))
+                .thenReturn(Optional.empty());
+        Mockito.when(taskRepository.existsById(1L)).thenReturn(true);
+
+        // Act & Assert
+        assertThrows(TaskVersionConflictException.class, () -> taskService.updateTask(1L, updatedTaskDTO));
+        verifyNoInteractions(eventPublisher);
     }
 
     @Test
@@ -205,106 +318,302 @@ class TaskEntityServiceImplTest {
     }
 
     @Test
-    public void testAssignTask_WhenTaskAssignedToUser_ShouldReturnSucess() throws Exception {
+    void createNewTasks_WhenSomeItemsAreInvalid_ShouldPersistValidItemsInChunks() {
         // Arrange
-        UserEntity user = new UserEntity("John Doe", "12345678", "johndoe@example.com");
-        ReflectionTestUtils.setField(user, "id", 1L);
+        ReflectionTestUtils.setField(taskService, "bulkChunkSize", 2);
+        ReflectionTestUtils.setField(taskService, "bulkMaxItems", 10);
+        ReflectionTestUtils.setField(taskService, "transactionTemplate", transactionTemplate);
+        ReflectionTestUtils.setField(taskService, "entityManager", entityManager);
+        doAnswer(invocation -> {
+            Consumer<TransactionStatus> callback = invocation.getArgument(0);
+            callback.accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+
+        List<NewTaskEntityDTO> newTasks = List.of(
+                new NewTaskEntityDTO("Task 1", "Description 1", TaskEntity.TaskStatus.PENDING),
+                new NewTaskEntityDTO(" ", "Missing title", TaskEntity.TaskStatus.PENDING),
+                new NewTaskEntityDTO("Task 3", "Description 3", TaskEntity.TaskStatus.COMPLETED));
 
-        TaskEntity task = new TaskEntity("Task 1", "Description", TaskEntity.TaskStatus.PENDING);
-        ReflectionTestUtils.setField(task, "id", 1L);
+        // Act
+        List<BulkTaskResultDTO> results = taskService.createNewTasks(newTasks);
 
-        Mockito.when(authentication.getName()).thenReturn(user.getUsername());
-        Mockito.when(userRepository.findByUsername(user.getUsername())).thenReturn(java.util.Optional.of(user));
-        Mockito.when(taskRepository.findById(1L)).thenReturn(java.util.Optional.of(task));
-        Mockito.when(taskRepository.save(Mockito.any(TaskEntity.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        // Assert
+        assertEquals(3, results.size());
+        assertEquals(BulkTaskResultDTO.Outcome.CREATED, results.get(0).getOutcome());
+        assertEquals(BulkTaskResultDTO.Outcome.REJECTED, results.get(1).getOutcome());
+        assertEquals(BulkTaskResultDTO.Outcome.CREATED, results.get(2).getOutcome());
+        verify(transactionTemplate, times(2)).executeWithoutResult(any());
+        verify(entityManager, times(2)).persist(any(TaskEntity.class));
+    }
+
+    @Test
+    void createNewTasks_WhenChunkFails_ShouldStillRestoreTheCacheStoreMode() {
+        // Arrange
+        ReflectionTestUtils.setField(taskService, "bulkChunkSize", 2);
+        ReflectionTestUtils.setField(taskService, "bulkMaxItems", 10);
+        ReflectionTestUtils.setField(taskService, "transactionTemplate", transactionTemplate);
+        ReflectionTestUtils.setField(taskService, "entityManager", entityManager);
+        doAnswer(invocation -> {
+            Consumer<TransactionStatus> callback = invocation.getArgument(0);
+            callback.accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        doThrow(new PersistenceException("Insert failed")).when(entityManager).flush();
 
         // Act
-        TaskEntityDTO assignedTask = taskService.assignTask(authentication, 1L);
+        List<BulkTaskResultDTO> results = taskService.createNewTasks(
+                List.of(new NewTaskEntityDTO("Task 1", "Description 1", TaskEntity.TaskStatus.PENDING)));
 
         // Assert
-        assertNotNull(assignedTask, "Assigned task should not be null");
-        assertEquals(user, task.getUserEntity(), "The task's user should be updated to the authenticated user");
+        assertEquals(BulkTaskResultDTO.Outcome.FAILED, results.get(0).getOutcome());
+        InOrder inOrder = inOrder(entityManager);
+        inOrder.verify(entityManager).setProperty(SpecHints.HINT_SPEC_CACHE_STORE_MODE, CacheStoreMode.BYPASS);
+        inOrder.verify(entityManager).setProperty(SpecHints.HINT_SPEC_CACHE_STORE_MODE, CacheStoreMode.USE);
+    }
+
+    @Test
+    void createNewTasks_WhenListIsEmpty_ShouldThrowInvalidRequestException() {
+        // Act & Assert
+        assertThrows(InvalidRequestException.class, () -> taskService.createNewTasks(List.of()));
     }
 
     @Test
-    public void testAssignTask_WhenUserNotFound_ShouldThrowUserNotFoundException() {
+    public void testAssignTask_WhenTaskAssignedToUser_ShouldReturnSucess() throws Exception {
         // Arrange
-        Mockito.when(authentication.getName()).thenReturn("unknown_user");
-        Mockito.when(userRepository.findByUsername("unknown_user")).thenReturn(java.util.Optional.empty());
+        TaskRow before = new TaskRow(1L, "Task 1", "Description", TaskEntity.TaskStatus.PENDING, null, 0L);
+
+        AuthenticatedUser principal = new AuthenticatedUser(1L, "johndoe@example.com", RoleType.USER);
+        Mockito.when(taskRepository.assignReturningPrevious(1L, 1L)).thenReturn(Optional.of(before));
+
+        // Act
+        TaskEntityDTO assignedTask = taskService.assignTask(principal, 1L);
+
+        // Assert
+        assertNotNull(assignedTask, "Assigned task should not be null");
+        assertEquals(1L, assignedTask.getVersion());
+        verify(eventPublisher).publishEvent(any(TaskChangedEvent.class));
+        verify(userRepository, never()).findByUsername(Mockito.anyString());
+    }
 
+    @Test
+    public void testAssignTask_WhenNoPrincipal_ShouldThrowUserNotFoundException() {
         // Act & Assert
         UserNotFoundException exception = assertThrows(UserNotFoundException.class, () -> {
-            taskService.assignTask(authentication, 1L);
+            taskService.assignTask(null, 1L);
         });
 
-        assertEquals("User with username unknown_user couldn't be found", exception.getMessage());
+        assertEquals("No authenticated user", exception.getMessage());
+        verifyNoInteractions(taskRepository);
     }
 
     @Test
     public void testAssignTaskById_WhenUserExists_ShouldReturnTaskEntityDTO() throws UserNotFoundException {
         // Arrange
-        UserEntity user = new UserEntity("John Doe",
-                                        "12345678",
-                                        "johndoe@example.com");
-
-        ReflectionTestUtils.setField(user, "id", 1L);
-
-        TaskEntity task = new TaskEntity("Test Task",
-                                        "Task Description",
-                                        TaskEntity.TaskStatus.PENDING);
-
-        ReflectionTestUtils.setField(task, "id", 1L);
-        task.setUserEntity(user);
+        TaskRow before = new TaskRow(1L, "Test Task", "Task Description", TaskEntity.TaskStatus.PENDING, 2L, 5L);
 
-        Mockito.when(authentication.getName()).thenReturn(user.getUsername());
-        Mockito.when(userRepository.findByUsername(user.getUsername())).thenReturn(java.util.Optional.of(user));
-        Mockito.when(taskRepository.findById(1L)).thenReturn(java.util.Optional.of(task));
+        AuthenticatedUser principal = new AuthenticatedUser(1L, "johndoe@example.com", RoleType.ADMIN);
+        Mockito.when(taskRepository.assignReturningPrevious(1L, 1L)).thenReturn(Optional.of(before));
 
         // Act
-        TaskEntityDTO result = taskService.assignTaskById(authentication, 1L);
+        TaskEntityDTO result = taskService.assignTaskById(principal, 1L);
 
         // Assert
         assertNotNull(result, "TaskEntityDTO should not be null");
-        assertEquals(task.getId(), result.getId(), "Task IDs should match");
-        assertEquals(task.getTitle(), result.getTitle(), "Task titles should match");
-        assertEquals(task.getDescription(), result.getDescription(), "Task descriptions should match");
-        assertEquals(task.getStatus(), result.getStatus(), "Task statuses should match");
+        assertEquals(before.id(), result.getId(), "Task IDs should match");
+        assertEquals(before.title(), result.getTitle(), "Task titles should match");
+        assertEquals(before.description(), result.getDescription(), "Task descriptions should match");
+        assertEquals(before.status(), result.getStatus(), "Task statuses should match");
     }
 
     @Test
-    public void testAssignTaskById_WhenUserDoesNotExist_ShouldThrowUserNotFoundException() throws TaskNotFoundException {
+    public void testAssignTaskById_WhenTaskNotFound_ShouldThrowTaskNotFoundException() {
         // Arrange
-        String username = "invalid_username";
-        Mockito.when(authentication.getName()).thenReturn(username);
-        Mockito.when(userRepository.findByUsername(username)).thenReturn(java.util.Optional.empty());
+        AuthenticatedUser principal = new AuthenticatedUser(1L, "johndoe@example.com", RoleType.ADMIN);
+        Mockito.when(taskRepository.assignReturningPrevious(1L, 1L)).thenReturn(Optional.empty());
 
         // Act & Assert
-        assertThrows(UserNotFoundException.class, () -> taskService.assignTaskById(authentication, 1L));
+        assertThrows(TaskNotFoundException.class, () -> taskService.assignTaskById(principal, 1L));
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    public void testAssignTaskById_WhenNoPrincipal_ShouldThrowUserNotFoundException() throws TaskNotFoundException {
+        // Act & Assert
+        assertThrows(UserNotFoundException.class, () -> taskService.assignTaskById(null, 1L));
     }
 
     @Test
     void deleteTask_WhenIDFound_ShouldDeleteTask() {
         // Arrange
         Long taskId = 1L;
-        when(taskRepository.existsById(taskId)).thenReturn(true);
+        TaskRow before = new TaskRow(taskId, "Task", "Description", TaskEntity.TaskStatus.PENDING, null, 0L);
+        when(taskRepository.deleteReturningPrevious(taskId, null)).thenReturn(Optional.of(before));
 
         // Act
         taskService.deleteTask(taskId);
 
         // Assert
-        verify(taskRepository, times(1)).deleteById(taskId);
+        verify(taskRepository, never()).findById(any());
+        verify(eventPublisher, times(1)).publishEvent(any(TaskChangedEvent.class));
     }
 
     @Test
     void deleteTask_WhenIDNotFound_ShouldNotDeleteTask() {
         // Arrange
         Long taskId = 1L;
-        when(taskRepository.existsById(taskId)).thenReturn(false);
+        when(taskRepository.deleteReturningPrevious(taskId, null)).thenReturn(Optional.empty());
 
         // Act
         taskService.deleteTask(taskId);
 
         // Assert
-        verify(taskRepository, times(0)).deleteById(taskId);
+        verify(taskRepository, never()).existsById(any());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void deleteTask_WhenVersionIsStale_ShouldThrowTaskVersionConflictException() {
+        // Arrange
+        when(taskRepository.deleteReturningPrevious(1L, 2L)).thenReturn(Optional.empty());
+        when(taskRepository.existsById(1L)).thenReturn(true);
+
+        // Act & Assert
+        assertThrows(TaskVersionConflictException.class, () -> taskService.deleteTask(1L, 2L));
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void updateTasksStatus_WhenFilterIsEmpty_ShouldThrowInvalidRequestException() {
+        // Act & Assert
+        assertThrows(InvalidRequestException.class, () ->
+                taskService.updateTasksStatus(new TaskFilterDTO(null, null, List.of()), TaskEntity.TaskStatus.COMPLETED));
+
+        verifyNoInteractions(taskRepository);
+    }
+
+    @Test
+    void updateTasksStatus_WhenFilterIsGiven_ShouldReturnAffectedCount() {
+        // Arrange
+        TaskFilterDTO filter = new TaskFilterDTO(TaskEntity.TaskStatus.IN_PROCESS, null, null);
+        when(taskRepository.updateStatusByFilter(filter, TaskEntity.TaskStatus.COMPLETED)).thenReturn(3);
+
+        // Act
+        long affected = taskService.updateTasksStatus(filter, TaskEntity.TaskStatus.COMPLETED).getAffected();
+
+        // Assert
+        assertEquals(3, affected);
+    }
+
+    @Test
+    void updateTasksStatus_WhenFilteringByIds_ShouldPublishTheRowsAsTheyWere() {
+        // Arrange
+        TaskFilterDTO filter = new TaskFilterDTO(null, null, List.of(1L, 2L));
+        TaskRow before = new TaskRow(1L, "Task 1", null, TaskEntity.TaskStatus.PENDING, 5L, 0L);
+        when(taskRepository.updateStatusByFilterReturningPrevious(filter, TaskEntity.TaskStatus.COMPLETED))
+                .thenReturn(List.of(before));
+
+        // Act
+        long affected = taskService.updateTasksStatus(filter, TaskEntity.TaskStatus.COMPLETED).getAffected();
+
+        // Assert
+        assertEquals(1, affected);
+        verify(taskRepository, never()).updateStatusByFilter(any(), any());
+        verify(eventPublisher).publishEvent(TaskBulkChangedEvent.statusChanged(filter, TaskEntity.TaskStatus.COMPLETED,
+                                                                               List.of(before.toSnapshot())));
+    }
+
+    @Test
+    void reassignTasks_WhenTargetUserNotFound_ShouldThrowUserNotFoundException() {
+        // Arrange
+        when(userRepository.existsById(1L)).thenReturn(true);
+        when(userRepository.existsById(2L)).thenReturn(false);
+
+        // Act & Assert
+        assertThrows(UserNotFoundException.class, () -> taskService.reassignTasks(1L, 2L));
+        verify(taskRepository, never()).reassignTasks(any(), any());
+    }
+
+    // Exact statement counts of the hot service calls against the real database. A change that adds
+    // a lazy load or a read-before-write shows up here as a count that went up.
+    @Nested
+    @SpringBootTest
+    @ExtendWith(SqlStatementCountExtension.class)
+    class StatementCounts {
+
+        @Autowired
+        private TaskEntityServiceImpl taskService;
+
+        @Autowired
+        private TaskEntityRepository taskRepository;
+
+        private final List<Long> created = new ArrayList<>();
+
+        @BeforeEach
+        void setUp() {
+            for (int i = 1; i <= 3; i++) {
+                created.add(taskRepository.save(new TaskEntity("Counted " + i, "Description " + i,
+                                                                TaskEntity.TaskStatus.PENDING)).getId());
+            }
+        }
+
+        @AfterEach
+        void tearDown() {
+            taskRepository.deleteAllById(created);
+        }
+
+        @Test
+        void getTasksPage_ShouldRunOneStatement(SqlStatements.Scope statements) {
+            // Arrange
+            statements.reset();
+
+            // Act
+            taskService.getTasksPage(null, 2, TaskEntity.TaskStatus.PENDING);
+
+            // Assert
+            assertEquals(1, statements.getCount());
+        }
+
+        @Test
+        void getTaskDTOById_WhenTaskIsCached_ShouldRunNoStatement(SqlStatements.Scope statements) {
+            // Arrange
+            taskService.getTaskDTOById(created.get(0));
+            statements.reset();
+
+            // Act
+            TaskEntityDTO task = taskService.getTaskDTOById(created.get(0));
+
+            // Assert
+            assertEquals("Counted 1", task.getTitle());
+            assertEquals(0, statements.getCount());
+        }
+
+        @Test
+        void updateTask_ShouldRunOneStatement(SqlStatements.Scope statements) {
+            // Arrange
+            statements.reset();
+
+            // Act
+            TaskEntityDTO updated = taskService.updateTask(created.get(0), new TaskEntityDTO(
+                    created.get(0), "Renamed", "Description 1", TaskEntity.TaskStatus.IN_PROCESS, 0L));
+
+            // Assert
+            assertEquals(1L, updated.getVersion());
+            assertEquals(1, statements.getCount());
+        }
+
+        @Test
+        void updateTasksStatus_WhenFilteringByIds_ShouldRunOneStatement(SqlStatements.Scope statements) {
+            // Arrange
+            statements.reset();
+
+            // Act
+            long affected = taskService.updateTasksStatus(new TaskFilterDTO(null, null, created),
+                                                          TaskEntity.TaskStatus.COMPLETED).getAffected();
+
+            // Assert
+            assertEquals(3, affected);
+            assertEquals(1, statements.getCount());
+        }
     }
-}
\ No newline at end of file
+}
@@ -1,18 +1,22 @@
 package com.mindhub.todolist.services.impl;
 
 import com.mindhub.todolist.dtos.UserEntityDTO;
+import com.mindhub.todolist.events.UserChangedEvent;
 import com.mindhub.todolist.exceptions.UserAlreadyExistsException;
 import com.mindhub.todolist.exceptions.UserNotFoundException;
 import com.mindhub.todolist.models.RegisterUser;
+import com.mindhub.todolist.models.RoleType;
 import com.mindhub.todolist.models.UserEntity;
 import com.mindhub.todolist.repositories.UserEntityRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.util.ReflectionTestUtils;
 
@@ -35,6 +39,9 @@ class UserEntityServiceImplTest {
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
@@ -81,7 +88,7 @@ class UserEntityServiceImplTest {
                                           "user2@email.com");
 
         List<UserEntity> users = List.of(user1, user2);
-        when(userRepository.findAll()).thenReturn(users);
+        when(userRepository.findAllWithTasks()).thenReturn(users);
 
         // Act
         List<UserEntityDTO> userDTOs = userEntityService.getAllUsersDTO();
@@ -93,7 +100,7 @@ class UserEntityServiceImplTest {
     @Test
     void testGetAllUsersDTO_WhenNoUsersFound_ReturnEmptyList() {
         // Arrange
-        when(userRepository.findAll()).thenReturn(Collections.emptyList());
+        when(userRepository.findAllWithTasks()).thenReturn(Collections.emptyList());
 
         // Act
         List<UserEntityDTO> userDTOs = userEntityService.getAllUsersDTO();
@@ -137,6 +144,35 @@ class UserEntityServiceImplTest {
         assertThrows(UserNotFoundException.class, () -> userEntityService.updateUser(userId, userDetailsDTO));
     }
 
+    @Test
+    void testUpdateUserRole_WhenUserIsFound_ShouldUpdateRoleAndEvictCachedDetails() throws UserNotFoundException {
+        // Arrange
+        UserEntity user = new UserEntity("test_user",
+                                         "password",
+                                         "test@email.com");
+        ReflectionTestUtils.setField(user, "id", 1L);
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        when(userRepository.save(user)).thenReturn(user);
+
+        // Act
+        userEntityService.updateUserRole(1L, RoleType.ADMIN);
+
+        // Assert
+        assertEquals(RoleType.ADMIN, user.getRole());
+        assertEquals(1, user.getTokenVersion());
+        verify(eventPublisher, times(1)).publishEvent(new UserChangedEvent(1L, "test@email.com"));
+    }
+
+    @Test
+    void testUpdateUserRole_WhenUserNotFound_ShouldThrowException() {
+        // Arrange
+        when(userRepository.findById(1L)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThrows(UserNotFoundException.class, () -> userEntityService.updateUserRole(1L, RoleType.ADMIN));
+        verifyNoInteractions(eventPublisher);
+    }
+
     @Test
     void testDeleteUser_WhenUserIsFound_ShouldDeleteUser() throws UserNotFoundException {
         // Arrange
@@ -225,4 +261,21 @@ class UserEntityServiceImplTest {
         // Act & Assert
         assertThrows(UserAlreadyExistsException.class, () -> userEntityService.registerUser(registerUser));
     }
-}
\ No newline at end of file
+
+    @Test
+    void testRegisterUser_WhenPasswordIsAlreadyEncoded_ShouldSaveWithoutHashing() {
+        // Arrange
+        RegisterUser registerUser = new RegisterUser("username", "test@email.com", "password");
+        when(userRepository.save(any(UserEntity.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        userEntityService.registerUser(registerUser, "hashedPassword");
+
+        // Assert
+        ArgumentCaptor<UserEntity> saved = ArgumentCaptor.forClass(UserEntity.class);
+        verify(userRepository).save(saved.capture());
+        assertEquals("hashedPassword", saved.getValue().getPassword());
+        assertEquals("test@email.com", saved.getValue().getEmail());
+        verifyNoInteractions(passwordEncoder);
+    }
+}
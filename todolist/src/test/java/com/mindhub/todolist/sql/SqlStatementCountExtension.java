@@ -0,0 +1,42 @@
+package com.mindhub.todolist.sql;
+
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.ParameterContext;
+import org.junit.jupiter.api.extension.ParameterResolver;
+
+// Counts the SQL statements a test runs, through the same inspector the app uses. Tests take the scope
+// as a parameter, reset() it once the data is set up and assert on getCount() / getRepeated() after:
+//
+//   @ExtendWith(SqlStatementCountExtension.class)
+//   void test(SqlStatements.Scope statements) { ...; statements.reset(); ...; assertEquals(1, statements.getCount()); }
+//
+// Only statements Hibernate runs on the test's thread count, JdbcTemplate and R2DBC go around it.
+public class SqlStatementCountExtension implements BeforeEachCallback, AfterEachCallback, ParameterResolver {
+
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(SqlStatementCountExtension.class);
+
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        context.getStore(NAMESPACE).put(SqlStatements.Scope.class, SqlStatements.open(context.getDisplayName()));
+    }
+
+    @Override
+    public void afterEach(ExtensionContext context) {
+        SqlStatements.Scope scope = context.getStore(NAMESPACE).remove(SqlStatements.Scope.class, SqlStatements.Scope.class);
+        if (scope != null) {
+            scope.close();
+        }
+    }
+
+    @Override
+    public boolean supportsParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
+        return parameterContext.getParameter().getType() == SqlStatements.Scope.class;
+    }
+
+    @Override
+    public Object resolveParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
+        return extensionContext.getStore(NAMESPACE).get(SqlStatements.Scope.class, SqlStatements.Scope.class);
+    }
+}
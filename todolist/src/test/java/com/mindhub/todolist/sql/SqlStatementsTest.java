@@ -0,0 +1,104 @@
+package com.mindhub.todolist.sql;
+
+import com.mindhub.todolist.exceptions.SqlBudgetExceededException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SqlStatementsTest {
+
+    @AfterEach
+    void tearDown() {
+        while (SqlStatements.current() != null) {
+            SqlStatements.current().close();
+        }
+    }
+
+    @Test
+    void normalize_WhenStatementsDifferOnlyInParameters_ShouldBeEqual() {
+        // Act
+        String first = SqlStatements.normalize("select t.id from task_entity t where t.user_id=1 and t.title='a''b'");
+        String second = SqlStatements.normalize("select t.id  from task_entity t\n where t.user_id=42 and t.title='other'");
+        String inList = SqlStatements.normalize("select u1_0.id from user_entity u1_0 where u1_0.id in (?,?,?)");
+
+        // Assert
+        assertEquals(first, second);
+        assertEquals("select t.id from task_entity t where t.user_id=? and t.title=?", first);
+        assertEquals("select u1_0.id from user_entity u1_0 where u1_0.id in (?...)", inList);
+    }
+
+    @Test
+    void record_WhenScopesAreNested_ShouldCountTowardsEveryOpenScope() {
+        // Arrange
+        SqlStatements.Scope request = SqlStatements.open("GET /api/admin/users");
+
+        // Act
+        SqlStatements.record("select 1");
+        SqlStatements.Scope service = SqlStatements.open("UserEntityServiceImpl.getUsersPage");
+        SqlStatements.record("select 2");
+        SqlStatements.record("select 3");
+        service.close();
+
+        // Assert
+        assertEquals(3, request.getCount());
+        assertEquals(2, service.getCount());
+        assertSame(request, SqlStatements.current());
+        request.close();
+        assertNull(SqlStatements.current());
+    }
+
+    @Test
+    void record_WhenOutsideAnyScope_ShouldIgnoreStatement() {
+        // Act & Assert
+        assertDoesNotThrow(() -> SqlStatements.record("select 1"));
+        assertNull(SqlStatements.current());
+    }
+
+    @Test
+    void getRepeated_WhenSameStatementRunsPerRow_ShouldReportIt() {
+        // Arrange
+        SqlStatements.Scope scope = SqlStatements.open("test");
+        SqlStatements.record("select u.id from user_entity u");
+        for (int i = 0; i < 5; i++) {
+            SqlStatements.record("select t.id from task_entity t where t.user_id=" + i);
+        }
+
+        // Act
+        Map<String, Integer> repeated = scope.getRepeated(3);
+
+        // Assert
+        assertEquals(Map.of("select t.id from task_entity t where t.user_id=?", 5), repeated);
+    }
+
+    @Test
+    void record_WhenRejectingOverBudget_ShouldThrowOnStatementThatGoesOver() {
+        // Arrange
+        SqlStatements.Scope request = SqlStatements.open("GET /api/admin/users/{id}");
+        request.setBudget(2, true);
+        SqlStatements.open("UserEntityServiceImpl.getUserById");
+        SqlStatements.record("select 1");
+        SqlStatements.record("select 2");
+
+        // Act & Assert
+        assertThrows(SqlBudgetExceededException.class, () -> SqlStatements.record("select 3"));
+        assertTrue(request.isOverBudget());
+    }
+
+    @Test
+    void record_WhenOnlyLoggingOverBudget_ShouldNotThrow() {
+        // Arrange
+        SqlStatements.Scope request = SqlStatements.open("GET /api/admin/users/{id}");
+        request.setBudget(1, false);
+
+        // Act
+        SqlStatements.record("select 1");
+        SqlStatements.record("select 2");
+
+        // Assert
+        assertTrue(request.isOverBudget());
+        assertEquals(2, request.getCount());
+    }
+}
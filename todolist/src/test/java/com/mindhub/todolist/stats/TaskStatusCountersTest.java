@@ -0,0 +1,111 @@
+package com.mindhub.todolist.stats;
+
+import com.mindhub.todolist.dtos.TaskFilterDTO;
+import com.mindhub.todolist.dtos.TaskStatsDTO;
+import com.mindhub.todolist.events.TaskBulkChangedEvent;
+import com.mindhub.todolist.events.TaskChangedEvent;
+import com.mindhub.todolist.events.TaskSnapshot;
+import com.mindhub.todolist.models.TaskEntity;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskStatusCountersTest {
+
+    private TaskStatusCounters counters;
+
+    @BeforeEach
+    void setUp() {
+        counters = new TaskStatusCounters();
+        counters.load(List.of(
+                new TaskStatusCount(1L, TaskEntity.TaskStatus.PENDING, 2),
+                new TaskStatusCount(1L, TaskEntity.TaskStatus.COMPLETED, 1),
+                new TaskStatusCount(2L, TaskEntity.TaskStatus.PENDING, 3),
+                new TaskStatusCount(null, TaskEntity.TaskStatus.IN_PROCESS, 4)));
+    }
+
+    @Test
+    void load_WhenGivenGroupedRows_ShouldExposeTotalsAndPerUserCounts() {
+        // Act
+        TaskStatsDTO stats = counters.snapshot();
+
+        // Assert
+        assertEquals(5, stats.getTotals().get(TaskEntity.TaskStatus.PENDING));
+        assertEquals(4, stats.getTotals().get(TaskEntity.TaskStatus.IN_PROCESS));
+        assertEquals(1, stats.getTotals().get(TaskEntity.TaskStatus.COMPLETED));
+        assertEquals(0, stats.getByUser().get(2L).get(TaskEntity.TaskStatus.COMPLETED));
+        assertEquals(Set.of(1L, 2L), stats.getByUser().keySet(), "Unowned tasks only count towards the totals");
+    }
+
+    @Test
+    void onTaskChanged_WhenTaskIsUpdatedAndDeleted_ShouldMoveCounts() {
+        // Arrange
+        TaskSnapshot pending = new TaskSnapshot(7L, "Task", null, TaskEntity.TaskStatus.PENDING, 1L);
+        TaskSnapshot completed = new TaskSnapshot(7L, "Task", null, TaskEntity.TaskStatus.COMPLETED, 2L);
+
+        // Act
+        counters.onTaskChanged(TaskChangedEvent.updated(pending, completed));
+        counters.onTaskChanged(TaskChangedEvent.deleted(new TaskSnapshot(8L, "Other", null, TaskEntity.TaskStatus.IN_PROCESS, null)));
+
+        // Assert
+        TaskStatsDTO stats = counters.snapshot();
+        assertEquals(1, stats.getByUser().get(1L).get(TaskEntity.TaskStatus.PENDING));
+        assertEquals(1, stats.getByUser().get(2L).get(TaskEntity.TaskStatus.COMPLETED));
+        assertEquals(2, counters.count(TaskEntity.TaskStatus.COMPLETED));
+        assertEquals(3, counters.count(TaskEntity.TaskStatus.IN_PROCESS));
+    }
+
+    @Test
+    void onTasksBulkChanged_WhenStatusChangesGlobally_ShouldMoveEveryOwner() {
+        // Act
+        counters.onTasksBulkChanged(TaskBulkChangedEvent.statusChanged(
+                new TaskFilterDTO(TaskEntity.TaskStatus.PENDING, null, null), TaskEntity.TaskStatus.COMPLETED, 5));
+
+        // Assert
+        TaskStatsDTO stats = counters.snapshot();
+        assertEquals(0, stats.getTotals().get(TaskEntity.TaskStatus.PENDING));
+        assertEquals(6, stats.getTotals().get(TaskEntity.TaskStatus.COMPLETED));
+        assertEquals(3, stats.getByUser().get(2L).get(TaskEntity.TaskStatus.COMPLETED));
+    }
+
+    @Test
+    void onTasksBulkChanged_WhenOwnerTasksAreDeletedOrReassigned_ShouldAdjustCounts() {
+        // Act
+        counters.onTasksBulkChanged(TaskBulkChangedEvent.reassigned(2L, 1L, 3));
+        counters.onTasksBulkChanged(TaskBulkChangedEvent.deleted(
+                new TaskFilterDTO(TaskEntity.TaskStatus.PENDING, 1L, null), 5));
+
+        // Assert
+        TaskStatsDTO stats = counters.snapshot();
+        assertFalse(stats.getByUser().containsKey(2L));
+        assertEquals(0, stats.getTotals().get(TaskEntity.TaskStatus.PENDING));
+        assertEquals(1, stats.getByUser().get(1L).get(TaskEntity.TaskStatus.COMPLETED));
+        assertEquals(4, stats.getTotals().get(TaskEntity.TaskStatus.IN_PROCESS));
+    }
+
+    @Test
+    void onTasksBulkChanged_WhenChangedRowsAreKnown_ShouldApplyThemWithoutRecounting() {
+        // Arrange
+        List<TaskSnapshot> previous = List.of(
+                new TaskSnapshot(7L, "Task", null, TaskEntity.TaskStatus.PENDING, 1L),
+                new TaskSnapshot(8L, "Other", null, TaskEntity.TaskStatus.IN_PROCESS, null));
+        TaskFilterDTO filter = new TaskFilterDTO(null, null, List.of(7L, 8L, 99L));
+
+        // Act
+        counters.onTasksBulkChanged(TaskBulkChangedEvent.statusChanged(filter, TaskEntity.TaskStatus.COMPLETED, previous));
+        counters.onTasksBulkChanged(TaskBulkChangedEvent.deleted(filter, List.of(
+                new TaskSnapshot(7L, "Task", null, TaskEntity.TaskStatus.COMPLETED, 1L))));
+
+        // Assert
+        TaskStatsDTO stats = counters.snapshot();
+        assertEquals(4, stats.getTotals().get(TaskEntity.TaskStatus.PENDING));
+        assertEquals(3, stats.getTotals().get(TaskEntity.TaskStatus.IN_PROCESS));
+        assertEquals(2, stats.getTotals().get(TaskEntity.TaskStatus.COMPLETED));
+        assertEquals(1, stats.getByUser().get(1L).get(TaskEntity.TaskStatus.PENDING));
+        assertEquals(1, stats.getByUser().get(1L).get(TaskEntity.TaskStatus.COMPLETED));
+    }
+}
@@ -0,0 +1,63 @@
+package com.mindhub.todolist.stats;
+
+import com.mindhub.todolist.dtos.TaskFilterDTO;
+import com.mindhub.todolist.events.TaskBulkChangedEvent;
+import com.mindhub.todolist.events.TaskChangedEvent;
+import com.mindhub.todolist.events.TaskSnapshot;
+import com.mindhub.todolist.events.UserChangedEvent;
+import com.mindhub.todolist.models.TaskEntity;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserRevisionsTest {
+
+    private final UserRevisions revisions = new UserRevisions();
+
+    @Test
+    void onTaskChanged_WhenTaskMovesBetweenUsers_ShouldChangeBothRevisions() {
+        // Arrange
+        String user1 = revisions.forUser(1L);
+        String user2 = revisions.forUser(2L);
+        String user3 = revisions.forUser(3L);
+        String all = revisions.forAll();
+
+        // Act
+        revisions.onTaskChanged(TaskChangedEvent.updated(
+                new TaskSnapshot(10L, "Task", null, TaskEntity.TaskStatus.PENDING, 1L),
+                new TaskSnapshot(10L, "Task", null, TaskEntity.TaskStatus.PENDING, 2L)));
+
+        // Assert
+        assertNotEquals(user1, revisions.forUser(1L));
+        assertNotEquals(user2, revisions.forUser(2L));
+        assertEquals(user3, revisions.forUser(3L));
+        assertNotEquals(all, revisions.forAll());
+    }
+
+    @Test
+    void onTaskBulkChanged_WhenFilterHasNoOwner_ShouldChangeEveryUserRevision() {
+        // Arrange
+        String user1 = revisions.forUser(1L);
+
+        // Act
+        revisions.onTaskBulkChanged(TaskBulkChangedEvent.statusChanged(
+                new TaskFilterDTO(TaskEntity.TaskStatus.PENDING, null, null), TaskEntity.TaskStatus.COMPLETED, 3));
+
+        // Assert
+        assertNotEquals(user1, revisions.forUser(1L));
+    }
+
+    @Test
+    void onUserChanged_ShouldOnlyChangeThatUsersRevision() {
+        // Arrange
+        String user1 = revisions.forUser(1L);
+        String user2 = revisions.forUser(2L);
+
+        // Act
+        revisions.onUserChanged(new UserChangedEvent(1L, "john@email.com"));
+
+        // Assert
+        assertNotEquals(user1, revisions.forUser(1L));
+        assertEquals(user2, revisions.forUser(2L));
+    }
+}
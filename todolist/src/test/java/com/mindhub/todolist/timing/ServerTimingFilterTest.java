@@ -0,0 +1,107 @@
+package com.mindhub.todolist.timing;
+
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ServerTimingFilterTest {
+
+    private static final String BODY = "{\"title\":\"Task\"}";
+
+    @Test
+    void doFilter_WhenEnabledForPath_ShouldSendPhasesAheadOfTheBody() throws Exception {
+        // Arrange
+        ServerTimingFilter filter = new ServerTimingFilter(true, List.of("/api/admin/tasks"), 0);
+
+        // Act
+        MockHttpServletResponse response = get(filter, "/api/admin/tasks/1", new AtomicBoolean());
+
+        // Assert
+        String header = response.getHeader(ServerTimingFilter.SERVER_TIMING);
+        assertNotNull(header);
+        assertTrue(header.contains("sql;dur=2.000;desc=\"SQL execution\""), header);
+        assertTrue(header.contains("write;dur=1.000;desc=\"Response serialization\""), header);
+        assertTrue(header.matches(".*total;dur=\\d+\\.\\d{3}$"), header);
+        assertEquals(BODY, response.getContentAsString());
+    }
+
+    @Test
+    void doFilter_WhenPathIsNotListed_ShouldNotTimeTheRequest() throws Exception {
+        // Arrange
+        ServerTimingFilter filter = new ServerTimingFilter(true, List.of("/api/admin/tasks"), 0);
+        AtomicBoolean timed = new AtomicBoolean();
+
+        // Act
+        MockHttpServletResponse response = get(filter, "/api/admin/export/tasks", timed);
+
+        // Assert
+        assertFalse(timed.get());
+        assertNull(response.getHeader(ServerTimingFilter.SERVER_TIMING));
+        assertEquals(BODY, response.getContentAsString());
+    }
+
+    @Test
+    void doFilter_WhenOnlySampledForTrace_ShouldTimeWithoutHeader() throws Exception {
+        // Arrange
+        ServerTimingFilter filter = new ServerTimingFilter(false, List.of("/api/admin/tasks"), 1.0);
+        AtomicBoolean timed = new AtomicBoolean();
+
+        // Act
+        MockHttpServletResponse response = get(filter, "/api/admin/tasks", timed);
+
+        // Assert
+        assertTrue(timed.get());
+        assertNull(response.getHeader(ServerTimingFilter.SERVER_TIMING));
+        assertNull(RequestTiming.current());
+    }
+
+    @Test
+    void recordSince_ShouldLeaveOutTheSqlRunMeanwhile() throws Exception {
+        // Arrange
+        RequestTiming timing = RequestTiming.start();
+        try {
+            long start = System.nanoTime();
+            long sqlAtStart = RequestTiming.sqlNanos();
+            Thread.sleep(5);
+            RequestTiming.record(RequestTiming.Phase.SQL, 3_000_000);
+
+            // Act
+            RequestTiming.recordSince(RequestTiming.Phase.MAPPING, start, sqlAtStart);
+
+            // Assert
+            long mapping = timing.getNanos(RequestTiming.Phase.MAPPING);
+            assertTrue(mapping >= 2_000_000, "mapping was " + mapping);
+            assertEquals(3_000_000, timing.getNanos(RequestTiming.Phase.SQL));
+        } finally {
+            RequestTiming.end();
+        }
+    }
+
+    private static MockHttpServletResponse get(ServerTimingFilter filter, String uri, AtomicBoolean timed) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+                timed.set(RequestTiming.current() != null);
+                RequestTiming.record(RequestTiming.Phase.SQL, 2_000_000);
+                RequestTiming.record(RequestTiming.Phase.WRITE, 1_000_000);
+                resp.setContentType("application/json");
+                resp.getOutputStream().write(BODY.getBytes(StandardCharsets.UTF_8));
+            }
+        });
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+}
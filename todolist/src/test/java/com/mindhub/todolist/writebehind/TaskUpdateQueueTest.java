@@ -0,0 +1,185 @@
+package com.mindhub.todolist.writebehind;
+
+import com.mindhub.todolist.dtos.TaskEntityDTO;
+import com.mindhub.todolist.events.TaskChangedEvent;
+import com.mindhub.todolist.models.TaskEntity;
+import com.mindhub.todolist.repositories.TaskEntityRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TaskUpdateQueueTest {
+
+    @Mock
+    private TaskEntityRepository taskRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private TaskUpdateQueue queue;
+
+    @BeforeEach
+    void setUp() {
+        // The flusher thread isn't started, each test flushes explicitly
+        queue = new TaskUpdateQueue(taskRepository, transactionTemplate, eventPublisher,
+                                    2, 10, Duration.ofMinutes(1), Duration.ZERO, 2);
+    }
+
+    @Test
+    void enqueue_WhenTaskUpdatedTwice_ShouldKeepOnlyTheLatestUpdate() {
+        // Act
+        queue.enqueue(new TaskEntityDTO(1L, "First", "Description", TaskEntity.TaskStatus.PENDING, 0L));
+        queue.enqueue(new TaskEntityDTO(1L, "Second", "Description", TaskEntity.TaskStatus.COMPLETED, 0L));
+
+        // Assert
+        assertEquals(1, queue.size());
+        assertEquals(1, queue.getCoalesced());
+        assertEquals("Second", queue.getPending(1L).getTitle());
+        assertEquals(TaskEntity.TaskStatus.COMPLETED, queue.getPending(1L).getStatus());
+    }
+
+    @Test
+    void flush_ShouldWriteTheLatestValuesAndPublishTheChange() {
+        // Arrange
+        TaskEntity task = new TaskEntity("Task", "Description", TaskEntity.TaskStatus.PENDING);
+        ReflectionTestUtils.setField(task, "id", 1L);
+        when(taskRepository.findAllById(any())).thenReturn(List.of(task));
+        doAnswer(invocation -> {
+            Consumer<TransactionStatus> callback = invocation.getArgument(0);
+            callback.accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        queue.enqueue(new TaskEntityDTO(1L, "Task", "Description", TaskEntity.TaskStatus.IN_PROCESS, 0L));
+        queue.enqueue(new TaskEntityDTO(1L, "Task", "Description", TaskEntity.TaskStatus.COMPLETED, 0L));
+
+        // Act
+        queue.flush();
+
+        // Assert
+        assertEquals(TaskEntity.TaskStatus.COMPLETED, task.getStatus());
+        assertEquals(0, queue.size());
+        assertNull(queue.getPending(1L));
+        assertEquals(1, queue.getWritten());
+        verify(transactionTemplate, times(1)).executeWithoutResult(any());
+        verify(eventPublisher).publishEvent(any(TaskChangedEvent.class));
+    }
+
+    @Test
+    void enqueue_WhenQueueIsFull_ShouldRejectNewTasksButStillCoalesce() {
+        // Arrange
+        queue.enqueue(new TaskEntityDTO(1L, "Task 1", null, TaskEntity.TaskStatus.PENDING, 0L));
+        queue.enqueue(new TaskEntityDTO(2L, "Task 2", null, TaskEntity.TaskStatus.PENDING, 0L));
+
+        // Act & Assert
+        assertThrows(RejectedExecutionException.class, () ->
+                queue.enqueue(new TaskEntityDTO(3L, "Task 3", null, TaskEntity.TaskStatus.PENDING, 0L)));
+        queue.enqueue(new TaskEntityDTO(2L, "Task 2", null, TaskEntity.TaskStatus.COMPLETED, 0L));
+        assertEquals(1, queue.getRejected());
+        assertEquals(2, queue.size());
+    }
+
+    @Test
+    void flush_WhenOneRowFailsTheBatch_ShouldWriteTheOthersAndRequeueIt() {
+        // Arrange
+        queue = new TaskUpdateQueue(taskRepository, transactionTemplate, eventPublisher,
+                                    10, 10, Duration.ofMinutes(1), Duration.ZERO, 2);
+        TaskEntity task = new TaskEntity("Task 1", null, TaskEntity.TaskStatus.PENDING);
+        ReflectionTestUtils.setField(task, "id", 1L);
+        // Task 2 was bumped by a direct write, task 3 was deleted
+        when(taskRepository.findAllById(any())).thenAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            if (ids.contains(2L)) {
+                throw new ObjectOptimisticLockingFailureException(TaskEntity.class, 2L);
+            }
+            return ids.contains(1L) ? List.of(task) : List.of();
+        });
+        runTransactions();
+        queue.enqueue(new TaskEntityDTO(1L, "Task 1", null, TaskEntity.TaskStatus.COMPLETED, 0L));
+        queue.enqueue(new TaskEntityDTO(2L, "Task 2", null, TaskEntity.TaskStatus.COMPLETED, 0L));
+        queue.enqueue(new TaskEntityDTO(3L, "Task 3", null, TaskEntity.TaskStatus.COMPLETED, 0L));
+
+        // Act
+        queue.flush();
+
+        // Assert
+        assertEquals(TaskEntity.TaskStatus.COMPLETED, task.getStatus());
+        assertEquals(1, queue.getWritten());
+        assertEquals(1, queue.getRequeued());
+        assertEquals(0, queue.getFailed());
+        assertEquals(1, queue.size());
+        assertNotNull(queue.getPending(2L));
+        assertNull(queue.getPending(3L));
+        verify(eventPublisher, times(1)).publishEvent(any(TaskChangedEvent.class));
+    }
+
+    @Test
+    void flush_WhenWriteKeepsFailingForNonTransientReason_ShouldDropItAfterMaxAttempts() {
+        // Arrange
+        when(taskRepository.findAllById(any())).thenThrow(new DataIntegrityViolationException("Value too long"));
+        runTransactions();
+        queue.enqueue(new TaskEntityDTO(1L, "Task", null, TaskEntity.TaskStatus.COMPLETED, 0L));
+
+        // Act
+        queue.flush();
+        int pendingAfterFirstAttempt = queue.size();
+        queue.flush();
+
+        // Assert
+        assertEquals(1, pendingAfterFirstAttempt);
+        assertEquals(0, queue.size());
+        assertEquals(1, queue.getFailed());
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void flush_WhenTaskChangedSinceTheUpdateWasQueued_ShouldNotOverwriteIt() {
+        // Arrange
+        TaskEntity task = new TaskEntity("Changed elsewhere", "Description", TaskEntity.TaskStatus.IN_PROCESS);
+        ReflectionTestUtils.setField(task, "id", 1L);
+        ReflectionTestUtils.setField(task, "version", 1L);
+        when(taskRepository.findAllById(any())).thenReturn(List.of(task));
+        runTransactions();
+        queue.enqueue(new TaskEntityDTO(1L, "Queued", "Description", TaskEntity.TaskStatus.COMPLETED, 0L));
+
+        // Act
+        queue.flush();
+
+        // Assert
+        assertEquals("Changed elsewhere", task.getTitle());
+        assertEquals(TaskEntity.TaskStatus.IN_PROCESS, task.getStatus());
+        assertEquals(0, queue.size());
+        assertEquals(1, queue.getConflicts());
+        assertEquals(0, queue.getWritten());
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    private void runTransactions() {
+        doAnswer(invocation -> {
+            Consumer<TransactionStatus> callback = invocation.getArgument(0);
+            callback.accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+    }
+}